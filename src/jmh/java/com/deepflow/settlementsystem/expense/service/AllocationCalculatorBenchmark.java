@@ -0,0 +1,58 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// ./gradlew jmh --args="AllocationCalculatorBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationCalculatorBenchmark {
+
+    @Param({"40", "500"})
+    private int items;
+
+    @Param({"6"})
+    private int members;
+
+    private long[] lineAmounts;
+    private int[] lineStart;
+    private int[] participants;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        lineAmounts = new long[items];
+        lineStart = new int[items + 1];
+        participants = new int[items * members];
+        int size = 0;
+        for (int i = 0; i < items; i++) {
+            lineAmounts[i] = 100 + random.nextInt(200_000);
+            for (int k = 0; k < members; k++) {
+                participants[size++] = k;
+            }
+            lineStart[i + 1] = size;
+        }
+    }
+
+    // 큰 영수증(항목 x 인원) 전체 분담금 계산
+    @Benchmark
+    public AllocationCalculator.Shares itemized() {
+        return AllocationCalculator.calculate(lineAmounts, lineStart, participants);
+    }
+}
@@ -0,0 +1,63 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// ./gradlew jmh --args="SettlementPlannerBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettlementPlannerBenchmark {
+
+    @Param({"500"})
+    private int members;
+
+    @Param({"100000"})
+    private int allocations;
+
+    private int[] senders;
+    private int[] receivers;
+    private long[] amounts;
+    private long[] balances;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        senders = new int[allocations];
+        receivers = new int[allocations];
+        amounts = new long[allocations];
+        for (int i = 0; i < allocations; i++) {
+            senders[i] = random.nextInt(members);
+            receivers[i] = random.nextInt(members);
+            amounts[i] = 100 + random.nextInt(200_000);
+        }
+        balances = SettlementPlanner.netBalances(members, senders, receivers, amounts);
+    }
+
+    // 10만 건 allocation -> 순잔액 -> 송금 계획 전체
+    @Benchmark
+    public SettlementPlanner.Plan netAndPlan() {
+        return SettlementPlanner.plan(SettlementPlanner.netBalances(members, senders, receivers, amounts));
+    }
+
+    // 순잔액이 주어졌을 때 송금 계획만
+    @Benchmark
+    public SettlementPlanner.Plan planOnly() {
+        return SettlementPlanner.plan(balances);
+    }
+}
@@ -0,0 +1,60 @@
+package com.deepflow.settlementsystem.common;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 인스턴스 간 Redis 락 (SET NX + TTL)
+ * 락 값으로 임의 토큰을 저장하고, 해제는 토큰이 같을 때만 지웁니다.
+ * (작업이 TTL 보다 오래 걸려 다른 인스턴스가 다시 잡은 락을 풀지 않도록)
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisLock {
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> EXTEND = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * @return 락을 잡았으면 해제에 쓸 토큰, 이미 다른 곳에서 잡고 있으면 null
+     */
+    public String tryLock(String key, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, token, ttl);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    /**
+     * 오래 걸리는 작업 중간에 TTL 을 다시 늘립니다. (짧은 TTL 로 잡아 두고 진행할 때마다 연장)
+     * @return 아직 이 토큰의 락이면 true, 이미 만료되어 잃었으면 false
+     */
+    public boolean extend(String key, String token, Duration ttl) {
+        Long extended = redisTemplate.execute(EXTEND, List.of(key), token, String.valueOf(ttl.toMillis()));
+        return extended != null && extended == 1L;
+    }
+
+    // 토큰이 같을 때만 해제 (이미 만료되어 다른 곳에서 잡은 락은 그대로 둠)
+    public void unlock(String key, String token) {
+        redisTemplate.execute(RELEASE, List.of(key), token);
+    }
+}
@@ -11,6 +11,7 @@ public enum ErrorCode {
     USER_NOT_FOUND("사용자를 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
     GROUP_NOT_FOUND("그룹을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
     ROOM_NOT_FOUND("방을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
+    SETTLEMENT_MESSAGE_NOT_FOUND("정산 요청 메시지를 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
 
     // 400 Bad Request
     INVALID_INPUT("입력값이 올바르지 않습니다.", HttpStatus.BAD_REQUEST),
@@ -35,6 +36,7 @@ public enum ErrorCode {
 
     // 409 Conflict
     DUPLICATE_USER("이미 존재하는 사용자입니다.", HttpStatus.CONFLICT),
+    SETTLEMENT_CONFLICT("정산 상태가 다른 요청에 의해 변경되었습니다. 다시 시도해주세요.", HttpStatus.CONFLICT),
 
     // 50x
     INTERNAL_SERVER_ERROR("서버 내부에 문제가 발생했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
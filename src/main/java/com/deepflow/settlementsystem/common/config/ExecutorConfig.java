@@ -0,0 +1,110 @@
+package com.deepflow.settlementsystem.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    // 기본 비동기 Executor (MVC 비동기 응답 - 지출 내보내기 StreamingResponseBody 등)
+    // 전용 Executor 빈이 있으면 Boot 가 applicationTaskExecutor 를 만들지 않으므로 직접 등록 (없으면 무제한 SimpleAsyncTaskExecutor 로 동작)
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${app.async.pool-size:16}") int poolSize,
+            @Value("${app.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("app-async-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 카카오 정산 메시지 전송 워커 (동시 전송 수 제한)
+    @Bean(name = "settlementMessageExecutor")
+    public ThreadPoolTaskExecutor settlementMessageExecutor(
+            @Value("${settlement.outbox.concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("settlement-msg-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 카카오 친구 디렉터리 백그라운드 갱신 (가득 차면 갱신을 건너뜀)
+    @Bean(name = "kakaoFriendRefreshExecutor")
+    public ThreadPoolTaskExecutor kakaoFriendRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("kakao-friends-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 지출 일괄 가져오기 (동시에 처리하는 파일 수 제한, 가득 차면 503)
+    @Bean(name = "expenseImportExecutor")
+    public ThreadPoolTaskExecutor expenseImportExecutor(
+            @Value("${expense.import.concurrency:2}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("expense-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 영수증 OCR 워커 (ReceiptOcrWorker 가 core-size 만큼만 가져와 실행, 업로드 backpressure 는 작업 스트림 길이 기준)
+    // 큐 길이/활성 스레드는 actuator 가 executor.* 지표(name=ocrTaskExecutor)로 노출하고,
+    // 큐 대기 시간과 실행 시간은 아래 TaskDecorator 에서 기록
+    @Bean(name = "ocrTaskExecutor")
+    public ThreadPoolTaskExecutor ocrTaskExecutor(
+            @Value("${receipt.ocr.executor.core-size:2}") int coreSize,
+            @Value("${receipt.ocr.executor.max-size:4}") int maxSize,
+            @Value("${receipt.ocr.executor.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        Timer waitTimer = Timer.builder("receipt.ocr.queue.wait")
+                .description("OCR 작업 큐 대기 시간").register(meterRegistry);
+        Timer executionTimer = Timer.builder("receipt.ocr.execution")
+                .description("OCR 작업 실행 시간").register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("receipt-ocr-");
+        executor.setTaskDecorator(task -> {
+            long queuedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
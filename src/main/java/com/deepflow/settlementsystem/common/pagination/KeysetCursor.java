@@ -0,0 +1,47 @@
+package com.deepflow.settlementsystem.common.pagination;
+
+import com.deepflow.settlementsystem.common.code.ErrorCode;
+import com.deepflow.settlementsystem.common.exception.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이지네이션 커서 (정렬 시각 DESC, id DESC)
+ * 마지막으로 내려준 행의 (시각, id)를 base64url 문자열로 주고받습니다.
+ * 시각이 null 인 행은 가장 마지막에 정렬되며, 커서에도 null 로 기록됩니다.
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    private static final String NULL_TIMESTAMP = "-";
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = (timestamp != null ? timestamp.toString() : NULL_TIMESTAMP) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor 클라이언트가 보낸 커서, 비어 있으면 첫 페이지
+     * @return 첫 페이지면 null
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new CustomException(ErrorCode.INVALID_INPUT);
+            }
+            String timestampPart = raw.substring(0, separator);
+            LocalDateTime timestamp = NULL_TIMESTAMP.equals(timestampPart) ? null : LocalDateTime.parse(timestampPart);
+            return new KeysetCursor(timestamp, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CustomException(ErrorCode.INVALID_INPUT);
+        }
+    }
+}
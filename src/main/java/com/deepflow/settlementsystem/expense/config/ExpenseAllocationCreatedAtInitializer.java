@@ -0,0 +1,71 @@
+package com.deepflow.settlementsystem.expense.config;
+
+import com.deepflow.settlementsystem.common.RedisLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * expense_allocations.created_at 초기화
+ * 정산 목록 키셋 페이지가 (sender_id | receiver_id, created_at, allocation_id) 인덱스만으로 정렬되도록
+ * created_at 이 비어 있는 기존 행을 지출 생성 시각(없으면 1970-01-01)으로 채우고 컬럼을 NOT NULL 로 바꿉니다.
+ * (ddl-auto: update 는 기존 컬럼의 nullable 을 바꾸지 않음. 이미 NOT NULL 이면 아무것도 하지 않습니다)
+ * 기동 시 실행하면 롤링 배포 중 이전 버전 인스턴스가 채운 뒤 NULL 행을 넣어 ALTER 가 실패하고 기동이 막히므로,
+ * 기동 후 스케줄로 한 인스턴스만 실행하고 실패하면 다음 실행에서 다시 채우고 ALTER 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpenseAllocationCreatedAtInitializer {
+
+    private static final String LOCK_KEY = "EXPENSE_ALLOCATION_CREATED_AT_LOCK";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(10); // 큰 테이블의 UPDATE + ALTER 보다 충분히 길게
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisLock redisLock;
+
+    private volatile boolean done;
+
+    // 여러 인스턴스 중 하나만 실행되도록 Redis 락 사용
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "${expense.allocation.created-at-retry-interval:PT5M}")
+    public void scheduledInitialize() {
+        if (done) {
+            return;
+        }
+        String lockToken = redisLock.tryLock(LOCK_KEY, LOCK_TTL);
+        if (lockToken == null) {
+            return;
+        }
+        try {
+            initialize();
+        } catch (Exception e) {
+            // 이전 버전 인스턴스가 채운 뒤 NULL 행을 넣은 경우 등 (다음 실행에서 다시 채우고 ALTER)
+            log.warn("expense_allocations.created_at NOT NULL 변경 실패, 다음 실행에서 재시도", e);
+        } finally {
+            redisLock.unlock(LOCK_KEY, lockToken);
+        }
+    }
+
+    public void initialize() {
+        String nullable = jdbcTemplate.query(
+                "SELECT IS_NULLABLE FROM information_schema.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'expense_allocations' AND COLUMN_NAME = 'created_at'",
+                rs -> rs.next() ? rs.getString(1) : null);
+        if (!"YES".equals(nullable)) {
+            done = true;
+            return;
+        }
+
+        int backfilled = jdbcTemplate.update("UPDATE expense_allocations ea "
+                + "LEFT JOIN expenses e ON e.expense_id = ea.expense_id "
+                + "SET ea.created_at = COALESCE(e.created_at, TIMESTAMP '1970-01-01 00:00:00') "
+                + "WHERE ea.created_at IS NULL");
+        jdbcTemplate.execute("ALTER TABLE expense_allocations MODIFY created_at DATETIME(6) NOT NULL");
+        done = true;
+        log.info("expense_allocations.created_at NOT NULL 변경 완료 (채운 행: {})", backfilled);
+    }
+}
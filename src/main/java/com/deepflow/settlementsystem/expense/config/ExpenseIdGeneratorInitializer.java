@@ -0,0 +1,54 @@
+package com.deepflow.settlementsystem.expense.config;
+
+import com.deepflow.settlementsystem.expense.entity.ExpenseIdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * id_generators 초기화
+ * 기존 AUTO_INCREMENT 로 쌓인 행과 ID 가 겹치지 않도록, 시작 시 각 생성기 값을 테이블의 MAX(id) 이후로 올립니다.
+ * (이미 더 큰 값이면 그대로 둡니다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpenseIdGeneratorInitializer {
+
+    // 생성기 이름 -> (테이블, ID 컬럼)
+    private static final Map<String, String[]> TARGETS = Map.of(
+            ExpenseIdGenerators.EXPENSE_ITEM, new String[]{"expense_items", "item_id"},
+            ExpenseIdGenerators.EXPENSE_ITEMS_PARTICIPANT, new String[]{"expense_items_participant", "id"},
+            ExpenseIdGenerators.EXPENSE_PARTICIPANT, new String[]{"expense_participant", "id"},
+            ExpenseIdGenerators.EXPENSE_ALLOCATION, new String[]{"expense_allocations", "allocation_id"}
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory; // 스키마 생성(ddl-auto) 이후에 실행되도록 의존
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ExpenseIdGenerators.TABLE + " ("
+                + ExpenseIdGenerators.PK_COLUMN + " VARCHAR(255) NOT NULL PRIMARY KEY, "
+                + ExpenseIdGenerators.VALUE_COLUMN + " BIGINT)");
+
+        // pooled 할당 구간이 (값 - ALLOCATION_SIZE, 값] 이어도 MAX(id) 를 넘도록 여유를 둠
+        for (Map.Entry<String, String[]> target : TARGETS.entrySet()) {
+            String table = target.getValue()[0];
+            String idColumn = target.getValue()[1];
+            jdbcTemplate.update("INSERT INTO " + ExpenseIdGenerators.TABLE
+                            + " (" + ExpenseIdGenerators.PK_COLUMN + ", " + ExpenseIdGenerators.VALUE_COLUMN + ")"
+                            + " SELECT ?, COALESCE(MAX(" + idColumn + "), 0) + ? FROM " + table
+                            + " ON DUPLICATE KEY UPDATE " + ExpenseIdGenerators.VALUE_COLUMN
+                            + " = GREATEST(" + ExpenseIdGenerators.VALUE_COLUMN
+                            + ", VALUES(" + ExpenseIdGenerators.VALUE_COLUMN + "))",
+                    target.getKey(), ExpenseIdGenerators.ALLOCATION_SIZE + 1);
+        }
+        log.info("지출 ID 생성기 초기화 완료: {}", TARGETS.keySet());
+    }
+}
@@ -0,0 +1,105 @@
+package com.deepflow.settlementsystem.expense.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * OCR API 클라이언트 설정
+ * - 커넥션 풀(keep-alive 재사용) + 연결/응답/풀 대기 타임아웃으로 한 호출이 워커 스레드를 무한히 잡지 않도록 함
+ * - 서킷 브레이커: 타임아웃, 5xx, 429 비율이 높으면 일정 시간 호출하지 않고 바로 실패
+ * - 벌크헤드: 동시 호출 수 제한 (한도를 넘으면 기다리지 않고 바로 실패)
+ */
+@Slf4j
+@Configuration
+public class OcrClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient ocrHttpClient(
+            @Value("${receipt.ocr.client.max-connections:20}") int maxConnections,
+            @Value("${receipt.ocr.client.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${receipt.ocr.client.response-timeout-ms:30000}") long responseTimeoutMs,
+            @Value("${receipt.ocr.client.connection-request-timeout-ms:2000}") long connectionRequestTimeoutMs) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections) // OCR 호스트 하나만 호출
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .disableAutomaticRetries() // 재시도는 OCR 워커가 백오프로 처리
+                .build();
+    }
+
+    @Bean
+    public RestTemplate ocrRestTemplate(CloseableHttpClient ocrHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(ocrHttpClient));
+    }
+
+    @Bean
+    public CircuitBreaker ocrCircuitBreaker(
+            @Value("${receipt.ocr.client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${receipt.ocr.client.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${receipt.ocr.client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${receipt.ocr.client.circuit-breaker.slow-call-threshold-ms:15000}") long slowCallThresholdMs,
+            @Value("${receipt.ocr.client.circuit-breaker.open-duration-ms:30000}") long openDurationMs) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallThresholdMs))
+                .slowCallRateThreshold(failureRateThreshold)
+                .waitDurationInOpenState(Duration.ofMillis(openDurationMs))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // OCR 서버 상태와 관련된 실패만 집계 (400 등 요청 문제는 제외)
+                .recordExceptions(ResourceAccessException.class, HttpServerErrorException.class,
+                        HttpClientErrorException.TooManyRequests.class)
+                .build();
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("naverOcr", config);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("OCR 서킷 브레이커 상태 변경: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead ocrBulkhead(@Value("${receipt.ocr.client.max-concurrent-calls:8}") int maxConcurrentCalls) {
+        return Bulkhead.of("naverOcr", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+}
@@ -2,9 +2,17 @@ package com.deepflow.settlementsystem.expense.controller;
 
 import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
 import com.deepflow.settlementsystem.expense.dto.CreateExpenseResponse;
+import com.deepflow.settlementsystem.expense.dto.ExpenseImportResponse;
+import com.deepflow.settlementsystem.expense.dto.ExpenseImportStatusResponse;
+import com.deepflow.settlementsystem.expense.dto.ExpenseTimelineResponse;
 import com.deepflow.settlementsystem.expense.dto.GroupExpenseResponse;
 import com.deepflow.settlementsystem.expense.dto.GroupExpenseTotalResponse;
+import com.deepflow.settlementsystem.expense.dto.GroupSpendingAnalyticsResponse;
+import com.deepflow.settlementsystem.expense.dto.UpdateExpenseResponse;
+import com.deepflow.settlementsystem.expense.service.ExpenseExportService;
+import com.deepflow.settlementsystem.expense.service.ExpenseImportService;
 import com.deepflow.settlementsystem.expense.service.ExpenseService;
+import com.deepflow.settlementsystem.expense.service.GroupSpendingRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,18 +20,26 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -40,6 +56,9 @@ import org.springframework.web.bind.annotation.RestController;
 public class ExpenseController {
 
   private final ExpenseService expenseService;
+  private final ExpenseImportService expenseImportService;
+  private final ExpenseExportService expenseExportService;
+  private final GroupSpendingRollupService groupSpendingRollupService;
 
   @Operation(
           summary = "지출 등록",
@@ -71,13 +90,120 @@ public class ExpenseController {
       return ResponseEntity.status(HttpStatus.CREATED).body(response);
   }
 
+  @GetMapping("/groups/{groupId}/expenses/analytics")
+  @Operation(
+          summary = "그룹 지출 통계",
+          description = "미리 집계해 둔 일별/결제자별/참여자별/가게별 지출을 반환합니다. " +
+                  "startDate/endDate 는 일별 지출과 기간 합계에만 적용되고, 나머지는 전체 기간 기준입니다."
+  )
+  public ResponseEntity<GroupSpendingAnalyticsResponse> getSpendingAnalytics(
+          @PathVariable Long groupId,
+          @Parameter(description = "조회 시작 날짜 (YYYY-MM-DD)", example = "2026-02-01")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+          @Parameter(description = "조회 종료 날짜 (YYYY-MM-DD)", example = "2026-02-07")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+          @Parameter(description = "가게별 상위 개수 (기본 10, 최대 50)", example = "10")
+          @RequestParam(required = false) Integer top
+  ) {
+      return ResponseEntity.ok(groupSpendingRollupService.getAnalytics(groupId, startDate, endDate, top));
+  }
+
+  @GetMapping("/groups/{groupId}/expenses/export")
+  @Operation(
+          summary = "그룹 지출 원장 내보내기",
+          description = "그룹의 모든 지출을 품목/참여자/정산 건과 함께 스트리밍으로 내려받습니다.<br>" +
+                  "ndjson: 지출 1건당 JSON 1줄, csv: 정산 건 1건당 1행"
+  )
+  public ResponseEntity<StreamingResponseBody> exportExpenses(
+          @PathVariable Long groupId,
+          @Parameter(description = "ndjson(기본) 또는 csv", example = "ndjson")
+          @RequestParam(required = false) String format
+  ) {
+      String normalized = ExpenseExportService.normalizeFormat(format);
+      StreamingResponseBody body = expenseExportService.export(groupId, normalized);
+
+      MediaType mediaType = ExpenseExportService.FORMAT_CSV.equals(normalized)
+              ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+              : MediaType.APPLICATION_NDJSON;
+      return ResponseEntity.ok()
+              .contentType(mediaType)
+              .header(HttpHeaders.CONTENT_DISPOSITION,
+                      "attachment; filename=\"group-" + groupId + "-expenses." + normalized + "\"")
+              .body(body);
+  }
+
+  @PostMapping(value = "/groups/{groupId}/expenses/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @Operation(
+          summary = "지출 일괄 가져오기",
+          description = "CSV 또는 JSON 배열 파일로 지출을 한 번에 등록합니다. 작업은 백그라운드에서 처리되며 jobId 로 진행 상황을 조회합니다.<br>" +
+                  "CSV 헤더: title, spentAt, payerUserId, totalAmount, participantUserIds(; 구분), settlementType(선택, N_BBANG)<br>" +
+                  "JSON: 지출 등록 요청 객체의 배열 (품목별 지출 가능)"
+  )
+  public ResponseEntity<ExpenseImportResponse> importExpenses( // 지출 일괄 가져오기
+          @PathVariable Long groupId,
+          @Parameter(
+                  description = "CSV(.csv) 또는 JSON(.json) 파일",
+                  required = true,
+                  content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE,
+                          schema = @Schema(type = "string", format = "binary"))
+          )
+          @RequestParam("file") MultipartFile file
+  ) {
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(expenseImportService.startImport(groupId, file));
+  }
+
+  @GetMapping("/groups/{groupId}/expenses/import/{jobId}")
+  @Operation(
+          summary = "지출 가져오기 진행 상황 조회",
+          description = "처리한 행 수, 저장된 지출 수, 실패한 행과 사유를 반환합니다. 작업 정보는 24시간 보관됩니다."
+  )
+  public ResponseEntity<ExpenseImportStatusResponse> getImportStatus(
+          @PathVariable Long groupId,
+          @PathVariable String jobId
+  ) {
+      return ResponseEntity.ok(expenseImportService.getStatus(groupId, jobId));
+  }
+
+  @PutMapping("/groups/{groupId}/expenses/{expenseId}")
+  @Operation(
+          summary = "지출 수정",
+          description = "지출 등록과 같은 형식으로 지출 전체를 수정합니다. 기존 품목을 유지하려면 items[].itemId 를 넣어야 하며, " +
+                  "바뀐 품목/참여자/정산 건만 반영됩니다. 이미 요청/완료된 정산 건은 바꾸지 않고 차액을 보정 정산 건으로 만듭니다."
+  )
+  public ResponseEntity<UpdateExpenseResponse> updateExpense( // 지출 수정
+          @PathVariable Long groupId,
+          @PathVariable Long expenseId,
+          @RequestBody CreateExpenseRequest request
+  ) {
+      return ResponseEntity.ok(expenseService.updateExpense(groupId, expenseId, request));
+  }
+
+  @DeleteMapping("/groups/{groupId}/expenses/{expenseId}")
+  @Operation(
+          summary = "지출 삭제",
+          description = "지출과 품목/참여자/미정산 건을 삭제합니다. 요청/완료된 정산 건은 남기고 반대 방향 보정 건을 만듭니다. (동시에 정산 요청되면 409)"
+  )
+  public ResponseEntity<Void> deleteExpense( // 지출 삭제
+          @PathVariable Long groupId,
+          @PathVariable Long expenseId
+  ) {
+      expenseService.deleteExpense(groupId, expenseId);
+      return ResponseEntity.noContent().build();
+  }
+
   @GetMapping("/expenses/{groupId}/total") // 그룹별 총 지출 금액
   @Operation(
           summary = "그룹 총 지출 조회",
-          description = "groupId에 해당하는 지출들의 totalAmount 합계를 반환합니다."
+          description = "groupId에 해당하는 지출들의 totalAmount 합계를 반환합니다. 날짜 필터(startDate/endDate)를 지원합니다."
   )
-  public ResponseEntity<GroupExpenseTotalResponse> getGroupTotal(@PathVariable Long groupId) {
-      return ResponseEntity.ok(expenseService.getGroupTotal(groupId));
+  public ResponseEntity<GroupExpenseTotalResponse> getGroupTotal(
+          @PathVariable Long groupId,
+          @Parameter(description = "조회 시작 날짜 (YYYY-MM-DD)", example = "2026-02-01")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+          @Parameter(description = "조회 종료 날짜 (YYYY-MM-DD)", example = "2026-02-07")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+  ) {
+      return ResponseEntity.ok(expenseService.getGroupTotal(groupId, startDate, endDate));
   }
 
   // 그룹 지출내역 조회
@@ -96,5 +222,25 @@ public class ExpenseController {
     return ResponseEntity.ok(expenseService.getGroupExpenses(groupId, startDate, endDate));
   }
 
+  // 그룹 지출 타임라인 (커서 페이지네이션)
+  @GetMapping("/groups/{groupId}/expenses/timeline")
+  @Operation(
+          summary = "그룹 지출 타임라인 조회",
+          description = "지출을 최신순(spentAt DESC, expenseId DESC)으로 size 건씩 반환합니다. " +
+                  "다음 페이지는 응답의 nextCursor 를 cursor 로 전달합니다. " +
+                  "기본은 지출 요약만 반환하고, expand=participants, expand=items 로 참여자/품목을 포함할 수 있습니다."
+  )
+  public ResponseEntity<ExpenseTimelineResponse> getExpenseTimeline(
+          @PathVariable Long groupId,
+          @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+          @RequestParam(required = false) String cursor,
+          @Parameter(description = "페이지 크기 (기본 20, 최대 100)", example = "20")
+          @RequestParam(required = false) Integer size,
+          @Parameter(description = "추가로 포함할 항목 (participants, items)", example = "items")
+          @RequestParam(required = false) List<String> expand
+  ) {
+    return ResponseEntity.ok(expenseService.getExpenseTimeline(groupId, cursor, size, expand));
+  }
+
 
 }
@@ -4,6 +4,7 @@ import com.deepflow.settlementsystem.expense.dto.OcrStatusResponse;
 import com.deepflow.settlementsystem.expense.dto.ReceiptUploadResponse;
 import com.deepflow.settlementsystem.expense.entity.Receipt;
 import com.deepflow.settlementsystem.expense.repository.ReceiptRepository;
+import com.deepflow.settlementsystem.expense.service.ReceiptBlobStore;
 import com.deepflow.settlementsystem.expense.service.ReceiptService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,7 +13,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +31,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -32,8 +42,17 @@ import org.springframework.web.server.ResponseStatusException;
 @SecurityRequirement(name = "Authorization")
 public class ReceiptController {
 
+    // Tomcat sendfile 요청 속성 (커넥터가 지원하면 파일 -> 소켓을 커널에서 바로 복사, 힙을 거치지 않음)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // 이미지는 해시로 저장되어 같은 영수증의 이미지가 바뀌지 않음
+    private static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
     private final ReceiptService receiptService;
     private final ReceiptRepository receiptRepository;
+    private final ReceiptBlobStore receiptBlobStore;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(
@@ -56,11 +75,22 @@ public class ReceiptController {
     @GetMapping("/{receiptId}/status")
     @Operation(
             summary = "영수증 OCR 상태 조회",
-            description = "receiptId로 OCR 상태(예: PENDING/SUCCESS/FAILED)를 조회합니다."
+            description = "receiptId로 OCR 상태(예: PENDING/SUCCESS/FAILED/ERROR)를 조회합니다. ERROR 면 사유와 재시도 가능 여부를 함께 반환합니다."
     )
     public ResponseEntity<OcrStatusResponse> getOcrStatus(@PathVariable Long receiptId) {
         Receipt receipt = findReceipt(receiptId);
-        return ResponseEntity.ok(new OcrStatusResponse(receipt.getOcrStatus()));
+        return ResponseEntity.ok(new OcrStatusResponse(
+                receipt.getOcrStatus(), receipt.getOcrErrorReason(), receipt.getOcrRetryable()));
+    }
+
+    @PostMapping("/{receiptId}/ocr/retry")
+    @Operation(
+            summary = "영수증 OCR 재시도",
+            description = "재시도 가능한 ERROR 상태(OCR 서버 장애 등)의 영수증을 다시 OCR 대기열에 넣습니다."
+    )
+    public ResponseEntity<Void> retryOcr(@PathVariable Long receiptId) {
+        receiptService.retryOcr(receiptId);
+        return ResponseEntity.accepted().build();
     }
 
     @GetMapping("/{receiptId}/analysis")
@@ -91,6 +121,47 @@ public class ReceiptController {
                 .body(receipt.getOcrResult());
     }
 
+    @GetMapping("/{receiptId}/image")
+    @Operation(
+            summary = "영수증 이미지 조회",
+            description = "업로드한 영수증 원본 이미지를 반환합니다. Range 요청과 ETag(If-None-Match)를 지원합니다."
+    )
+    public ResponseEntity<Resource> getReceiptImage(@PathVariable Long receiptId, ServletWebRequest webRequest)
+            throws IOException {
+        Receipt receipt = findReceipt(receiptId);
+        Resource image = receiptBlobStore.open(receipt.getImageHash())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Receipt image not found"));
+        MediaType contentType = receipt.getContentType() != null
+                ? MediaType.parseMediaType(receipt.getContentType())
+                : MediaType.IMAGE_JPEG;
+        String etag = "\"" + receipt.getImageHash() + "\"";
+        long size = image.contentLength();
+
+        // 전체 파일 요청이면 sendfile 로 넘기고, Range 요청이나 sendfile 미지원 환경은 ResourceRegion 스트리밍으로 처리
+        HttpServletRequest request = webRequest.getRequest();
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && image.isFile()
+                && request.getHeader(HttpHeaders.RANGE) == null && HttpMethod.GET.matches(request.getMethod())) {
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            HttpServletResponse response = webRequest.getResponse();
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMAGE_CACHE_CONTROL.getHeaderValue());
+            request.setAttribute(SENDFILE_FILENAME, image.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return null; // 본문은 Tomcat 이 응답 마무리 시 전송
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .contentLength(size)
+                .eTag(etag)
+                .cacheControl(IMAGE_CACHE_CONTROL)
+                .body(image);
+    }
+
     private Receipt findReceipt(Long receiptId) {
         return receiptRepository.findById(receiptId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Receipt not found"));
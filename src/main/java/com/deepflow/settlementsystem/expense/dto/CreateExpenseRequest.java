@@ -49,6 +49,9 @@ public class CreateExpenseRequest {
     @Setter
     @NoArgsConstructor
     public static class Item {
+      @Schema(description = "기존 품목 ID(지출 수정 시 유지할 품목, 새 품목은 생략)", example = "12", nullable = true)
+      private Long itemId;        // 기존 품목 ID (수정 시)
+
       @Schema(description = "품목명", example = "사과")
       private String itemName;    // 품목명
 
@@ -0,0 +1,16 @@
+package com.deepflow.settlementsystem.expense.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ExpenseImportResponse {
+
+    @Schema(description = "가져오기 작업 ID (진행 상황 조회에 사용)", example = "3f2b8c1e-...")
+    private String jobId;
+
+    @Schema(description = "작업 상태 (PENDING, RUNNING, COMPLETED, FAILED)", example = "PENDING")
+    private String status;
+}
@@ -0,0 +1,48 @@
+package com.deepflow.settlementsystem.expense.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpenseImportStatusResponse {
+
+    @Schema(description = "가져오기 작업 ID")
+    private String jobId;
+
+    @Schema(description = "그룹 ID", example = "1")
+    private Long groupId;
+
+    @Schema(description = "작업 상태 (PENDING, RUNNING, COMPLETED, FAILED)", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "지금까지 읽은 행 수", example = "1200")
+    private long processedRows;
+
+    @Schema(description = "저장된 지출 수", example = "1195")
+    private long importedRows;
+
+    @Schema(description = "실패한 행 수", example = "5")
+    private long failedRows;
+
+    @Schema(description = "작업 전체 실패 사유 (FAILED 일 때)", nullable = true)
+    private String message;
+
+    @Schema(description = "행별 오류 (최대 1000건)")
+    private List<RowError> errors;
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        @Schema(description = "데이터 행 번호 (1부터, CSV 헤더 제외)", example = "17")
+        private int row;
+
+        @Schema(description = "오류 내용", example = "users are not members of the group: [42]")
+        private String message;
+    }
+}
@@ -0,0 +1,25 @@
+package com.deepflow.settlementsystem.expense.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpenseTimelineResponse {
+
+    @Schema(description = "그룹 ID", example = "1")
+    private Long groupId;
+
+    @Schema(description = "지출 목록 (spentAt DESC, expenseId DESC)")
+    private List<GroupExpenseResponse.ExpenseResponse> expenses;
+
+    @Schema(description = "다음 페이지 커서 (없으면 null)", nullable = true)
+    private String nextCursor;
+
+    @Schema(description = "다음 페이지 존재 여부", example = "true")
+    private boolean hasNext;
+}
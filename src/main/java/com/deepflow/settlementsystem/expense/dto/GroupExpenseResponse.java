@@ -1,5 +1,6 @@
 package com.deepflow.settlementsystem.expense.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -43,10 +44,12 @@ public class GroupExpenseResponse {
         @Schema(description = "영수증 ID", example = "1", nullable = true)
         private Long receiptId;
 
-        @Schema(description = "지출 참여자 목록")
+        @Schema(description = "지출 참여자 목록 (타임라인은 expand=participants 일 때만)")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         private List<ParticipantResponse> participants;
 
-        @Schema(description = "품목 목록(ITEMIZED일 때만)")
+        @Schema(description = "품목 목록(ITEMIZED일 때만, 타임라인은 expand=items 일 때만)")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         private List<ExpenseItemResponse> items;
     }
 
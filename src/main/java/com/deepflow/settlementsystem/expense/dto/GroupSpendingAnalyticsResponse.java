@@ -0,0 +1,80 @@
+package com.deepflow.settlementsystem.expense.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupSpendingAnalyticsResponse {
+
+    @Schema(description = "그룹 ID", example = "1")
+    private Long groupId;
+
+    @Schema(description = "기간 내 지출 합계 (일별 합계 기준)", example = "152000")
+    private long totalAmount;
+
+    @Schema(description = "기간 내 지출 건수", example = "12")
+    private long expenseCount;
+
+    @Schema(description = "일별 지출 (날짜 오름차순, startDate/endDate 적용)")
+    private List<DailySpending> days;
+
+    @Schema(description = "결제자별 지출 (결제 금액 내림차순, 전체 기간)")
+    private List<MemberSpending> payers;
+
+    @Schema(description = "참여자별 본인 분담금 (내림차순, 전체 기간)")
+    private List<MemberSpending> participants;
+
+    @Schema(description = "가게별 지출 상위 (전체 기간)")
+    private List<MerchantSpending> topMerchants;
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class DailySpending {
+        @Schema(description = "지출일", example = "2026-02-01")
+        private LocalDate date;
+
+        @Schema(description = "지출 합계", example = "32000")
+        private long amount;
+
+        @Schema(description = "지출 건수", example = "3")
+        private long expenseCount;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class MemberSpending {
+        @Schema(description = "사용자 ID", example = "3")
+        private Long userId;
+
+        @Schema(description = "닉네임", example = "홍길동")
+        private String nickname;
+
+        @Schema(description = "금액", example = "54000")
+        private long amount;
+
+        @Schema(description = "지출 건수", example = "5")
+        private long expenseCount;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class MerchantSpending {
+        @Schema(description = "가게명(지출 제목)", example = "스타벅스")
+        private String title;
+
+        @Schema(description = "지출 합계", example = "24000")
+        private long amount;
+
+        @Schema(description = "지출 건수", example = "4")
+        private long expenseCount;
+    }
+}
@@ -10,4 +10,10 @@ public class OcrStatusResponse {
 
     @Schema(description = "OCR 처리 상태", example = "PENDING")
     private String ocrStatus;
+
+    @Schema(description = "OCR 실패 사유 (ERROR 일 때)", example = "OcrUnavailableException: OCR circuit breaker is open")
+    private String errorReason;
+
+    @Schema(description = "다시 시도할 수 있는 실패인지 (ERROR 일 때)", example = "true")
+    private Boolean retryable;
 }
@@ -0,0 +1,17 @@
+package com.deepflow.settlementsystem.expense.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UpdateExpenseResponse {
+
+    private Long expenseId;
+
+    private int createdAllocationCount; // 새로 생성된 정산 건 (보정 건 포함)
+
+    private int updatedAllocationCount; // 금액이 바뀐 정산 건
+
+    private int deletedAllocationCount; // 삭제된 정산 건
+}
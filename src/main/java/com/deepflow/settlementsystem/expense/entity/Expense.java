@@ -9,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -26,7 +27,10 @@ import com.deepflow.settlementsystem.user.entity.User;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+    // 그룹 지출 타임라인 키셋 페이지네이션 (spent_at DESC, expense_id DESC)
+    @Index(name = "idx_expenses_group_spent", columnList = "group_id, spent_at, expense_id")
+})
 public class Expense {
 
   @Id
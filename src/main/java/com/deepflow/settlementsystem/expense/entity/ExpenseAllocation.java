@@ -6,9 +6,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,11 +21,18 @@ import com.deepflow.settlementsystem.user.entity.User;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "expense_allocations")
+@Table(name = "expense_allocations", indexes = {
+    // 정산 목록 키셋 페이지네이션 (방향별)
+    @Index(name = "idx_expense_allocations_sender_created", columnList = "sender_id, created_at, allocation_id"),
+    @Index(name = "idx_expense_allocations_receiver_created", columnList = "receiver_id, created_at, allocation_id")
+})
 public class ExpenseAllocation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "expense_allocation_id")
+    @TableGenerator(name = "expense_allocation_id", table = ExpenseIdGenerators.TABLE,
+            pkColumnName = ExpenseIdGenerators.PK_COLUMN, valueColumnName = ExpenseIdGenerators.VALUE_COLUMN,
+            pkColumnValue = ExpenseIdGenerators.EXPENSE_ALLOCATION, allocationSize = ExpenseIdGenerators.ALLOCATION_SIZE)
     @Column(name = "allocation_id")
     private Long allocationId;
 
@@ -53,6 +62,6 @@ public class ExpenseAllocation {
     @Column(name = "status")
     private SettlementStatus status;              // UNSETTLED, REQUESTED, COMPLETED
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 }
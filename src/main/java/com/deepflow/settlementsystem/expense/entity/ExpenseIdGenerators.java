@@ -0,0 +1,22 @@
+package com.deepflow.settlementsystem.expense.entity;
+
+/**
+ * 지출 하위 엔티티(항목, 항목 참여자, 지출 참여자, 정산 건) ID 생성 설정
+ * IDENTITY 는 INSERT 마다 키를 받아와야 해서 JDBC 배치가 꺼지므로,
+ * id_generators 테이블에서 ALLOCATION_SIZE 개씩 미리 할당받아(pooled) 배치 INSERT 가 가능하게 합니다.
+ */
+public final class ExpenseIdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String PK_COLUMN = "name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String EXPENSE_ITEM = "expense_items";
+    public static final String EXPENSE_ITEMS_PARTICIPANT = "expense_items_participant";
+    public static final String EXPENSE_PARTICIPANT = "expense_participant";
+    public static final String EXPENSE_ALLOCATION = "expense_allocations";
+
+    private ExpenseIdGenerators() {
+    }
+}
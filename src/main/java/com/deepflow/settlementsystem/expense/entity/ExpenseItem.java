@@ -9,6 +9,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,7 +25,10 @@ import lombok.Setter;
 public class ExpenseItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "expense_item_id")
+    @TableGenerator(name = "expense_item_id", table = ExpenseIdGenerators.TABLE,
+            pkColumnName = ExpenseIdGenerators.PK_COLUMN, valueColumnName = ExpenseIdGenerators.VALUE_COLUMN,
+            pkColumnValue = ExpenseIdGenerators.EXPENSE_ITEM, allocationSize = ExpenseIdGenerators.ALLOCATION_SIZE)
     @Column(name = "item_id")
     private Long itemId;
 
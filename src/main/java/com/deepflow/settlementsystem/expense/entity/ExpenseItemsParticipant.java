@@ -14,7 +14,10 @@ import com.deepflow.settlementsystem.user.entity.User;
 @Table(name = "expense_items_participant")
 public class ExpenseItemsParticipant {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "expense_items_participant_id")
+  @TableGenerator(name = "expense_items_participant_id", table = ExpenseIdGenerators.TABLE,
+      pkColumnName = ExpenseIdGenerators.PK_COLUMN, valueColumnName = ExpenseIdGenerators.VALUE_COLUMN,
+      pkColumnValue = ExpenseIdGenerators.EXPENSE_ITEMS_PARTICIPANT, allocationSize = ExpenseIdGenerators.ALLOCATION_SIZE)
   @Column(name = "id")
   private Long id;
 
@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -21,7 +22,10 @@ import com.deepflow.settlementsystem.user.entity.User;
 public class ExpenseParticipant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "expense_participant_id")
+    @TableGenerator(name = "expense_participant_id", table = ExpenseIdGenerators.TABLE,
+            pkColumnName = ExpenseIdGenerators.PK_COLUMN, valueColumnName = ExpenseIdGenerators.VALUE_COLUMN,
+            pkColumnValue = ExpenseIdGenerators.EXPENSE_PARTICIPANT, allocationSize = ExpenseIdGenerators.ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
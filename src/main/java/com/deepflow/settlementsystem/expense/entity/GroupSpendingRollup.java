@@ -0,0 +1,45 @@
+package com.deepflow.settlementsystem.expense.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 그룹 지출 집계 (일별 / 결제자별 / 참여자별 / 가게별)
+ * 지출 등록/수정/삭제 트랜잭션 안에서 GroupSpendingRollupRepository 의 원자적 upsert 로만 갱신합니다.
+ * 통계 화면은 지출/품목/정산 건을 다시 모으지 않고 이 테이블의 행 몇 개만 읽습니다.
+ */
+@Entity
+@Table(name = "group_spending_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_group_spending_rollups_bucket", columnNames = {"group_id", "dimension", "bucket_key"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class GroupSpendingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 20, nullable = false)
+    private SpendingRollupDimension dimension;
+
+    @Column(name = "bucket_key", length = 100, nullable = false)
+    private String bucketKey; // 날짜(yyyy-MM-dd) | 사용자 ID | 가게명
+
+    @Column(name = "total_amount", nullable = false)
+    private Long totalAmount;
+
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -16,7 +17,10 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "receipts")
+@Table(name = "receipts", indexes = {
+    // 같은 이미지 재업로드 조회, 이미지 파일 정리 시 참조 여부 확인
+    @Index(name = "idx_receipts_image_hash", columnList = "image_hash")
+})
 public class Receipt {
 
     @Id
@@ -24,13 +28,25 @@ public class Receipt {
     @Column(name = "id")
     private Long id;
 
-    @Lob
-    @Column(name = "image")
-    private byte[] image; // 영수증 원본 이미지
+    // 원본 이미지는 ReceiptBlobStore 에 저장하고, 여기에는 식별 정보만 둠
+    @Column(name = "image_hash", length = 64)
+    private String imageHash; // 이미지 SHA-256 (hex)
+
+    @Column(name = "image_size")
+    private Long imageSize; // 바이트 수
+
+    @Column(name = "content_type", length = 50)
+    private String contentType; // image/jpeg | image/png ...
 
     @Column(name = "ocr_status", length = 20)
     private String ocrStatus; // SUCCESS | FAILURE | ERROR | PENDING
 
+    @Column(name = "ocr_error_reason", length = 255)
+    private String ocrErrorReason; // ERROR 사유
+
+    @Column(name = "ocr_retryable")
+    private Boolean ocrRetryable; // ERROR 일 때 다시 시도할 수 있는지 (OCR 서버 장애 등 일시적 실패)
+
     @Lob
     @Column(name = "ocr_result")
     private String ocrResult; // OCR 결과 JSON
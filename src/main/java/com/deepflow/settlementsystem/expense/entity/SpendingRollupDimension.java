@@ -0,0 +1,8 @@
+package com.deepflow.settlementsystem.expense.entity;
+
+public enum SpendingRollupDimension { // 그룹 지출 집계 기준
+  DAY,         // 지출일 (yyyy-MM-dd)
+  PAYER,       // 결제자 사용자 ID
+  PARTICIPANT, // 참여자 사용자 ID (본인 분담금 기준)
+  MERCHANT     // 가게명 (지출 제목)
+}
@@ -0,0 +1,87 @@
+package com.deepflow.settlementsystem.expense.repository;
+
+import com.deepflow.settlementsystem.expense.entity.SettlementType;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseSummary;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * 그룹 지출 전체를 MySQL 서버 커서로 읽기 (내보내기용)
+ * useCursorFetch=true 는 커넥션의 모든 쿼리를 서버 prepared statement 로 바꾸므로 공용 URL 에 두지 않고,
+ * 이 커서만 쓰는 작은 전용 풀(빈으로 등록하지 않음)에서만 켭니다. fetch size 만큼씩 가져오므로 결과 전체를 메모리에 올리지 않음
+ */
+@Component
+public class ExpenseExportCursor implements DisposableBean {
+
+    private static final int FETCH_SIZE = 500;
+    private static final String SELECT_SUMMARIES_BY_GROUP_ID =
+            "SELECT e.expense_id, e.title, e.spent_at, e.total_amount, e.settlement_type, "
+                    + "e.payer_user_id, e.receipt_image_id "
+                    + "FROM expenses e WHERE e.group_id = ? ORDER BY e.expense_id";
+
+    private static final RowMapper<ExpenseSummary> ROW_MAPPER = (rs, rowNum) -> {
+        String settlementType = rs.getString("settlement_type");
+        return new Row(
+                rs.getLong("expense_id"),
+                rs.getString("title"),
+                rs.getObject("spent_at", LocalDateTime.class),
+                rs.getObject("total_amount", Integer.class),
+                settlementType != null ? SettlementType.valueOf(settlementType) : null,
+                rs.getObject("payer_user_id", Long.class),
+                rs.getObject("receipt_image_id", Long.class));
+    };
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExpenseExportCursor(DataSourceProperties dataSourceProperties,
+                               @Value("${expense.export.cursor-pool-size:4}") int poolSize) {
+        String url = dataSourceProperties.determineUrl();
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true")
+                .build();
+        this.dataSource.setPoolName("expense-export-cursor");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(0);
+        this.dataSource.setReadOnly(true);
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * 커넥션은 반환된 Stream 을 닫을 때 반납되므로 반드시 try-with-resources 로 사용
+     * (동시 내보내기가 풀 크기를 넘으면 커넥션을 기다림)
+     */
+    public Stream<ExpenseSummary> streamSummariesByGroupId(Long groupId) {
+        return jdbcTemplate.queryForStream(SELECT_SUMMARIES_BY_GROUP_ID, ROW_MAPPER, groupId);
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Row implements ExpenseSummary {
+        private final Long expenseId;
+        private final String title;
+        private final LocalDateTime spentAt;
+        private final Integer totalAmount;
+        private final SettlementType settlementType;
+        private final Long payerUserId;
+        private final Long receiptId;
+    }
+}
@@ -2,22 +2,119 @@ package com.deepflow.settlementsystem.expense.repository;
 
 import com.deepflow.settlementsystem.expense.entity.ExpenseAllocation;
 import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationGroupAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationPairAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationPairStatusAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationStatusAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseAllocationExport;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpensePairAmount;
+import com.deepflow.settlementsystem.settlement.dto.response.SettlementResponse;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ExpenseItemAllocationRepository extends JpaRepository<ExpenseAllocation, Long> {
+
+    // 지출 1건의 정산 건 전체를 잠금 조회 (지출 수정/삭제 시 차이 계산용)
+    // 커밋 전까지 정산 요청/완료의 상태 UPDATE 가 이 행들을 바꾸지 못하도록 FOR UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ea FROM ExpenseAllocation ea WHERE ea.expense.expenseId = :expenseId")
+    List<ExpenseAllocation> findByExpenseIdForUpdate(@Param("expenseId") Long expenseId);
+
+    // 미정산 건 금액 수정 (status 조건으로 그 사이 요청/완료된 건은 바꾸지 않음, 0 이면 충돌)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ExpenseAllocation ea SET ea.shareAmount = :shareAmount " +
+           "WHERE ea.allocationId = :allocationId AND ea.status = :status")
+    int updateShareAmountByIdAndStatus(
+            @Param("allocationId") Long allocationId,
+            @Param("shareAmount") Integer shareAmount,
+            @Param("status") SettlementStatus status
+    );
+
+    // 지출 삭제 시 남는 정산 건(요청/완료 건과 보정 건)의 지출/품목 연결 해제
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ExpenseAllocation ea SET ea.expense = NULL, ea.item = NULL WHERE ea.expense.expenseId = :expenseId")
+    int detachFromExpense(@Param("expenseId") Long expenseId);
+
+    // 미정산 건 삭제 (status 조건으로 그 사이 요청/완료된 건은 지우지 않음, 반환 건수로 충돌 확인)
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ExpenseAllocation ea WHERE ea.allocationId IN :allocationIds AND ea.status = :status")
+    int deleteByIdsAndStatus(
+            @Param("allocationIds") Collection<Long> allocationIds,
+            @Param("status") SettlementStatus status
+    );
+
+    // 그룹의 지출별 sender -> receiver 금액 합계 (그룹 지출 집계 재계산용, 상태 무관)
+    @Query("SELECT ea.expense.expenseId AS expenseId, ea.sender.id AS senderId, ea.receiver.id AS receiverId, " +
+           "SUM(ea.shareAmount) AS amount " +
+           "FROM ExpenseAllocation ea WHERE ea.group.id = :groupId " +
+           "GROUP BY ea.expense.expenseId, ea.sender.id, ea.receiver.id")
+    List<ExpensePairAmount> findExpensePairAmountsByGroupId(@Param("groupId") Long groupId);
+
+    // 여러 지출의 정산 건을 한 번에 조회 (내보내기용)
+    @Query("SELECT ea.expense.expenseId AS expenseId, ea.allocationId AS allocationId, i.itemId AS itemId, " +
+           "ea.sender.id AS senderId, ea.receiver.id AS receiverId, ea.shareAmount AS amount, ea.status AS status " +
+           "FROM ExpenseAllocation ea LEFT JOIN ea.item i " +
+           "WHERE ea.expense.expenseId IN :expenseIds ORDER BY ea.allocationId")
+    List<ExpenseAllocationExport> findExportsByExpenseIds(@Param("expenseIds") Collection<Long> expenseIds);
     
-    @Query("SELECT ea FROM ExpenseAllocation ea " +
-           "LEFT JOIN FETCH ea.sender " +
-           "LEFT JOIN FETCH ea.receiver " +
-           "LEFT JOIN FETCH ea.group " +
-           "LEFT JOIN FETCH ea.expense " +
-           "WHERE ea.sender.id = :userId OR ea.receiver.id = :userId")
-    List<ExpenseAllocation> findByUserId(@Param("userId") Long userId);
+    // 정산 목록 키셋 페이지 (createdAt DESC, allocationId DESC)
+    // OR 조건 대신 방향별로 나눠 (sender_id | receiver_id, created_at, allocation_id) 인덱스를 타도록 함
+    // created_at 은 NOT NULL 이므로 NULLS LAST(MySQL 에서 CASE 식 정렬 -> filesort) 없이 인덱스 순서를 그대로 사용
+    @Query("SELECT new com.deepflow.settlementsystem.settlement.dto.response.SettlementResponse(" +
+           "ea.allocationId, g.id, g.name, e.expenseId, e.title, " +
+           "s.id, s.nickname, r.id, r.nickname, CAST(ea.shareAmount AS Long), ea.status, ea.createdAt) " +
+           "FROM ExpenseAllocation ea " +
+           "LEFT JOIN ea.group g " +
+           "LEFT JOIN ea.expense e " +
+           "LEFT JOIN ea.sender s " +
+           "LEFT JOIN ea.receiver r " +
+           "WHERE ea.sender.id = :userId " +
+           "AND (:status IS NULL OR ea.status = :status) " +
+           "AND (:groupId IS NULL OR ea.group.id = :groupId) " +
+           "AND (:cursorId IS NULL OR ea.createdAt < :cursorCreatedAt " +
+           "  OR (ea.createdAt = :cursorCreatedAt AND ea.allocationId < :cursorId)) " +
+           "ORDER BY ea.createdAt DESC, ea.allocationId DESC")
+    List<SettlementResponse> findSettlementPageBySender(
+            @Param("userId") Long userId,
+            @Param("status") SettlementStatus status,
+            @Param("groupId") Long groupId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    @Query("SELECT new com.deepflow.settlementsystem.settlement.dto.response.SettlementResponse(" +
+           "ea.allocationId, g.id, g.name, e.expenseId, e.title, " +
+           "s.id, s.nickname, r.id, r.nickname, CAST(ea.shareAmount AS Long), ea.status, ea.createdAt) " +
+           "FROM ExpenseAllocation ea " +
+           "LEFT JOIN ea.group g " +
+           "LEFT JOIN ea.expense e " +
+           "LEFT JOIN ea.sender s " +
+           "LEFT JOIN ea.receiver r " +
+           "WHERE ea.receiver.id = :userId " +
+           "AND (:status IS NULL OR ea.status = :status) " +
+           "AND (:groupId IS NULL OR ea.group.id = :groupId) " +
+           "AND (:cursorId IS NULL OR ea.createdAt < :cursorCreatedAt " +
+           "  OR (ea.createdAt = :cursorCreatedAt AND ea.allocationId < :cursorId)) " +
+           "ORDER BY ea.createdAt DESC, ea.allocationId DESC")
+    List<SettlementResponse> findSettlementPageByReceiver(
+            @Param("userId") Long userId,
+            @Param("status") SettlementStatus status,
+            @Param("groupId") Long groupId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
     
     @Query("SELECT ea FROM ExpenseAllocation ea " +
            "LEFT JOIN FETCH ea.sender " +
@@ -27,14 +124,6 @@ public interface ExpenseItemAllocationRepository extends JpaRepository<ExpenseAl
            "WHERE ea.allocationId = :allocationId")
     Optional<ExpenseAllocation> findByIdWithRelations(@Param("allocationId") Long allocationId);
     
-    @Query("SELECT ea FROM ExpenseAllocation ea " +
-           "LEFT JOIN FETCH ea.sender " +
-           "LEFT JOIN FETCH ea.receiver " +
-           "LEFT JOIN FETCH ea.group " +
-           "LEFT JOIN FETCH ea.expense " +
-           "WHERE ea.sender.id = :senderId AND ea.receiver.id = :receiverId")
-    List<ExpenseAllocation> findBySenderIdAndReceiverId(@Param("senderId") Long senderId, @Param("receiverId") Long receiverId);
-    
     @Query("SELECT ea FROM ExpenseAllocation ea " +
            "LEFT JOIN FETCH ea.sender " +
            "LEFT JOIN FETCH ea.receiver " +
@@ -47,4 +136,86 @@ public interface ExpenseItemAllocationRepository extends JpaRepository<ExpenseAl
             @Param("receiverId") Long receiverId,
             @Param("statuses") List<SettlementStatus> statuses
     );
+
+    // 두 사용자 간(양방향) 정산 건을 상태별 금액 합계로 집계
+    @Query("SELECT ea.status AS status, SUM(ea.shareAmount) AS amount " +
+           "FROM ExpenseAllocation ea " +
+           "WHERE (ea.sender.id = :userId AND ea.receiver.id = :targetUserId) " +
+           "OR (ea.sender.id = :targetUserId AND ea.receiver.id = :userId) " +
+           "GROUP BY ea.status")
+    List<AllocationStatusAmount> sumAmountBetweenUsersGroupByStatus(
+            @Param("userId") Long userId,
+            @Param("targetUserId") Long targetUserId
+    );
+
+    // 그룹 내 특정 receiver 가 받을 정산 건 (sender 별, 지출 순)
+    @Query("SELECT ea FROM ExpenseAllocation ea " +
+           "JOIN FETCH ea.sender s " +
+           "LEFT JOIN FETCH ea.expense e " +
+           "LEFT JOIN FETCH ea.item " +
+           "WHERE ea.group.id = :groupId AND ea.receiver.id = :receiverId " +
+           "AND ea.status IN :statuses " +
+           "ORDER BY s.id, e.expenseId, ea.allocationId")
+    List<ExpenseAllocation> findByGroupIdAndReceiverIdAndStatusIn(
+            @Param("groupId") Long groupId,
+            @Param("receiverId") Long receiverId,
+            @Param("statuses") List<SettlementStatus> statuses
+    );
+
+    // 정산 건 상태 일괄 변경 (영속성 컨텍스트는 비움)
+    // 현재 상태가 조회 시점 상태(expectedStatus)인 건만 바꾸므로, 조회 후 다른 요청이 상태를 바꾼 건은 반환 건수에서 빠짐
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ExpenseAllocation ea SET ea.status = :status " +
+           "WHERE ea.allocationId IN :allocationIds AND ea.status = :expectedStatus")
+    int updateStatusByIds(
+            @Param("allocationIds") List<Long> allocationIds,
+            @Param("expectedStatus") SettlementStatus expectedStatus,
+            @Param("status") SettlementStatus status
+    );
+
+    // 정산 건을 sender -> receiver 쌍별 금액 합계로 집계
+    // 같은 트랜잭션에서 UPDATE 한 행은 스냅샷이 아닌 최신 금액으로 읽힘 (상태 변경 후 금액 재확인용)
+    @Query("SELECT ea.sender.id AS senderId, ea.receiver.id AS receiverId, SUM(ea.shareAmount) AS amount " +
+           "FROM ExpenseAllocation ea " +
+           "WHERE ea.allocationId IN :allocationIds " +
+           "GROUP BY ea.sender.id, ea.receiver.id")
+    List<AllocationPairAmount> sumAmountByIdsGroupByPair(@Param("allocationIds") List<Long> allocationIds);
+
+    // sender -> receiver 정산 건 중 특정 상태의 건 ID/그룹/금액 (groupId 가 null 이면 전체 그룹)
+    @Query("SELECT ea.allocationId AS allocationId, ea.group.id AS groupId, CAST(ea.shareAmount AS Long) AS amount " +
+           "FROM ExpenseAllocation ea " +
+           "WHERE ea.sender.id = :senderId AND ea.receiver.id = :receiverId AND ea.status = :status " +
+           "AND (:groupId IS NULL OR ea.group.id = :groupId) " +
+           "ORDER BY ea.allocationId")
+    List<AllocationGroupAmount> findGroupAmountsByPairAndStatus(
+            @Param("senderId") Long senderId,
+            @Param("receiverId") Long receiverId,
+            @Param("status") SettlementStatus status,
+            @Param("groupId") Long groupId
+    );
+
+    // 그룹 내 정산 건을 sender -> receiver 쌍별 금액 합계로 집계
+    @Query("SELECT ea.sender.id AS senderId, ea.receiver.id AS receiverId, SUM(ea.shareAmount) AS amount " +
+           "FROM ExpenseAllocation ea " +
+           "WHERE ea.group.id = :groupId AND ea.status IN :statuses " +
+           "GROUP BY ea.sender.id, ea.receiver.id")
+    List<AllocationPairAmount> sumAmountByGroupIdGroupByPair(
+            @Param("groupId") Long groupId,
+            @Param("statuses") List<SettlementStatus> statuses
+    );
+
+    // 그룹 내 정산 건을 sender -> receiver, 상태별 금액 합계로 집계
+    @Query("SELECT ea.sender.id AS senderId, ea.receiver.id AS receiverId, ea.status AS status, " +
+           "SUM(ea.shareAmount) AS amount " +
+           "FROM ExpenseAllocation ea " +
+           "WHERE ea.group.id = :groupId " +
+           "GROUP BY ea.sender.id, ea.receiver.id, ea.status")
+    List<AllocationPairStatusAmount> sumAmountByGroupIdGroupByPairAndStatus(@Param("groupId") Long groupId);
+
+    // 전체 정산 건을 sender -> receiver, 상태별 금액 합계로 집계 (정산 원장 재계산용)
+    @Query("SELECT ea.sender.id AS senderId, ea.receiver.id AS receiverId, ea.status AS status, " +
+           "SUM(ea.shareAmount) AS amount " +
+           "FROM ExpenseAllocation ea " +
+           "GROUP BY ea.sender.id, ea.receiver.id, ea.status")
+    List<AllocationPairStatusAmount> sumAmountGroupByPairAndStatus();
 }
@@ -2,11 +2,27 @@ package com.deepflow.settlementsystem.expense.repository;
 
 import com.deepflow.settlementsystem.expense.entity.Expense;
 import com.deepflow.settlementsystem.expense.entity.ExpenseItem;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseItemSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ExpenseItemRepository extends JpaRepository<ExpenseItem, Long> {
     void deleteByExpense(Expense expense);
     List<ExpenseItem> findByExpenseExpenseId(Long expenseId);
+
+    // 여러 지출의 품목을 한 번에 조회
+    @Query("SELECT i.expense.expenseId AS expenseId, i.itemId AS itemId, i.itemName AS itemName, " +
+           "i.lineAmount AS lineAmount " +
+           "FROM ExpenseItem i WHERE i.expense.expenseId IN :expenseIds ORDER BY i.itemId")
+    List<ExpenseItemSummary> findSummariesByExpenseIds(@Param("expenseIds") Collection<Long> expenseIds);
+
+    // 그룹의 지출별 품목 금액 합계 (그룹 지출 집계 재계산용)
+    @Query("SELECT i.expense.expenseId AS expenseId, SUM(i.lineAmount) AS amount " +
+           "FROM ExpenseItem i WHERE i.expense.group.id = :groupId GROUP BY i.expense.expenseId")
+    List<ExpenseAmount> findLineTotalsByGroupId(@Param("groupId") Long groupId);
 }
@@ -1,10 +1,22 @@
 package com.deepflow.settlementsystem.expense.repository;
 
 import com.deepflow.settlementsystem.expense.entity.ExpenseItemsParticipant;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseUserRef;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ExpenseItemsParticipantRepository extends JpaRepository<ExpenseItemsParticipant, Long> {
   List<ExpenseItemsParticipant> findByItemItemId(Long itemId);
+
+  // 지출 1건의 품목 참여자 전체 (지출 수정/삭제 시 차이 계산용)
+  List<ExpenseItemsParticipant> findByItemExpenseExpenseId(Long expenseId);
+
+  // 여러 지출의 (품목 ID, 참여자 ID) 를 한 번에 조회
+  @Query("SELECT ip.item.itemId AS parentId, ip.user.id AS userId " +
+         "FROM ExpenseItemsParticipant ip WHERE ip.item.expense.expenseId IN :expenseIds ORDER BY ip.id")
+  List<ExpenseUserRef> findUserRefsByExpenseIds(@Param("expenseIds") Collection<Long> expenseIds);
 }
@@ -1,10 +1,19 @@
 package com.deepflow.settlementsystem.expense.repository;
 
 import com.deepflow.settlementsystem.expense.entity.ExpenseParticipant;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseUserRef;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ExpenseParticipantRepository extends JpaRepository<ExpenseParticipant, Long> {
     List<ExpenseParticipant> findByExpenseExpenseId(Long expenseId);
+
+    // 여러 지출의 (지출 ID, 참여자 ID) 를 한 번에 조회
+    @Query("SELECT p.expense.expenseId AS parentId, p.user.id AS userId " +
+           "FROM ExpenseParticipant p WHERE p.expense.expenseId IN :expenseIds ORDER BY p.id")
+    List<ExpenseUserRef> findUserRefsByExpenseIds(@Param("expenseIds") Collection<Long> expenseIds);
 }
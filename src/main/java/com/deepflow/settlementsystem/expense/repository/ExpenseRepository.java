@@ -1,17 +1,68 @@
 package com.deepflow.settlementsystem.expense.repository;
 
 import com.deepflow.settlementsystem.expense.entity.Expense;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseSpendingSource;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
-    List<Expense> findAllByGroup_Id(Long groupId);
+    // 그룹 지출 합계 (start/end 는 null 이면 조건 없음)
+    @Query("SELECT COALESCE(SUM(e.totalAmount), 0) FROM Expense e " +
+           "WHERE e.group.id = :groupId " +
+           "AND (:start IS NULL OR e.spentAt >= :start) " +
+           "AND (:end IS NULL OR e.spentAt <= :end)")
+    long sumTotalAmountByGroupId(
+            @Param("groupId") Long groupId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
 
-    List<Expense> findAllByGroup_IdAndSpentAtBetween(Long groupId, LocalDateTime start, LocalDateTime end);
+    // 그룹 지출 목록 (start/end 는 null 이면 조건 없음)
+    @Query("SELECT e.expenseId AS expenseId, e.title AS title, e.spentAt AS spentAt, " +
+           "e.totalAmount AS totalAmount, e.settlementType AS settlementType, " +
+           "p.id AS payerUserId, r.id AS receiptId " +
+           "FROM Expense e LEFT JOIN e.payerUser p LEFT JOIN e.receipt r " +
+           "WHERE e.group.id = :groupId " +
+           "AND (:start IS NULL OR e.spentAt >= :start) " +
+           "AND (:end IS NULL OR e.spentAt <= :end) " +
+           "ORDER BY e.expenseId")
+    List<ExpenseSummary> findSummariesByGroupId(
+            @Param("groupId") Long groupId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
 
-    List<Expense> findAllByGroup_IdAndSpentAtGreaterThanEqual(Long groupId, LocalDateTime start);
+    // 그룹 지출 타임라인 키셋 페이지 (spentAt DESC, expenseId DESC)
+    // MySQL 은 DESC 정렬에서 NULL 이 마지막이므로 NULLS LAST 없이 (group_id, spent_at, expense_id) 인덱스 순서를 그대로 사용
+    @Query("SELECT e.expenseId AS expenseId, e.title AS title, e.spentAt AS spentAt, " +
+           "e.totalAmount AS totalAmount, e.settlementType AS settlementType, " +
+           "p.id AS payerUserId, r.id AS receiptId " +
+           "FROM Expense e LEFT JOIN e.payerUser p LEFT JOIN e.receipt r " +
+           "WHERE e.group.id = :groupId " +
+           "AND (:cursorId IS NULL " +
+           "  OR (:cursorSpentAt IS NOT NULL AND (e.spentAt < :cursorSpentAt " +
+           "      OR (e.spentAt = :cursorSpentAt AND e.expenseId < :cursorId) " +
+           "      OR e.spentAt IS NULL)) " +
+           "  OR (:cursorSpentAt IS NULL AND e.spentAt IS NULL AND e.expenseId < :cursorId)) " +
+           "ORDER BY e.spentAt DESC, e.expenseId DESC")
+    List<ExpenseSummary> findTimelinePage(
+            @Param("groupId") Long groupId,
+            @Param("cursorSpentAt") LocalDateTime cursorSpentAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
 
-    List<Expense> findAllByGroup_IdAndSpentAtLessThanEqual(Long groupId, LocalDateTime end);
+    // 그룹 지출 집계 재계산용 (지출당 1행)
+    @Query("SELECT e.expenseId AS expenseId, e.title AS title, e.spentAt AS spentAt, e.createdAt AS createdAt, " +
+           "e.totalAmount AS totalAmount, e.settlementType AS settlementType, p.id AS payerUserId " +
+           "FROM Expense e LEFT JOIN e.payerUser p " +
+           "WHERE e.group.id = :groupId")
+    List<ExpenseSpendingSource> findSpendingSourcesByGroupId(@Param("groupId") Long groupId);
 }
@@ -0,0 +1,59 @@
+package com.deepflow.settlementsystem.expense.repository;
+
+import com.deepflow.settlementsystem.expense.entity.GroupSpendingRollup;
+import com.deepflow.settlementsystem.expense.entity.SpendingRollupDimension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface GroupSpendingRollupRepository extends JpaRepository<GroupSpendingRollup, Long> {
+
+    // 행이 없으면 만들고, 있으면 금액/건수를 더함 (원자적 증감)
+    @Modifying
+    @Query(value = "INSERT INTO group_spending_rollups (group_id, dimension, bucket_key, total_amount, expense_count, updated_at) " +
+                   "VALUES (:groupId, :dimension, :bucketKey, :amount, :count, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "total_amount = total_amount + VALUES(total_amount), " +
+                   "expense_count = expense_count + VALUES(expense_count), " +
+                   "updated_at = NOW()",
+           nativeQuery = true)
+    int addAmounts(
+            @Param("groupId") Long groupId,
+            @Param("dimension") String dimension,
+            @Param("bucketKey") String bucketKey,
+            @Param("amount") long amount,
+            @Param("count") long count
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM group_spending_rollups WHERE group_id = :groupId", nativeQuery = true)
+    int deleteByGroupId(@Param("groupId") Long groupId);
+
+    // 기준별 집계 (start/end 는 null 이면 조건 없음, DAY 의 yyyy-MM-dd 는 문자열 순서 = 날짜 순서)
+    @Query("SELECT r FROM GroupSpendingRollup r " +
+           "WHERE r.groupId = :groupId AND r.dimension = :dimension " +
+           "AND (:start IS NULL OR r.bucketKey >= :start) " +
+           "AND (:end IS NULL OR r.bucketKey <= :end) " +
+           "AND r.expenseCount > 0 " +
+           "ORDER BY r.bucketKey")
+    List<GroupSpendingRollup> findBuckets(
+            @Param("groupId") Long groupId,
+            @Param("dimension") SpendingRollupDimension dimension,
+            @Param("start") String start,
+            @Param("end") String end
+    );
+
+    // 금액 상위 집계 (가게 TOP N 등)
+    @Query("SELECT r FROM GroupSpendingRollup r " +
+           "WHERE r.groupId = :groupId AND r.dimension = :dimension AND r.expenseCount > 0 " +
+           "ORDER BY r.totalAmount DESC, r.bucketKey")
+    List<GroupSpendingRollup> findTopBuckets(
+            @Param("groupId") Long groupId,
+            @Param("dimension") SpendingRollupDimension dimension,
+            Limit limit
+    );
+}
@@ -1,7 +1,11 @@
 package com.deepflow.settlementsystem.expense.repository;
 
 import com.deepflow.settlementsystem.expense.entity.Receipt;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
+
+    // 같은 이미지로 OCR 에 성공한 가장 최근 영수증 (OCR 결과 재사용)
+    Optional<Receipt> findFirstByImageHashAndOcrStatusAndOcrResultIsNotNullOrderByIdDesc(String imageHash, String ocrStatus);
 }
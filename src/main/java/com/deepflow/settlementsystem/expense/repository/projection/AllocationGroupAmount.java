@@ -0,0 +1,10 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+// 정산 건 ID 와 그룹, 금액
+public interface AllocationGroupAmount {
+    Long getAllocationId();
+
+    Long getGroupId();
+
+    Long getAmount();
+}
@@ -0,0 +1,10 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+// sender -> receiver 별 송금 금액 합계
+public interface AllocationPairAmount {
+    Long getSenderId();
+
+    Long getReceiverId();
+
+    Long getAmount();
+}
@@ -0,0 +1,14 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+
+// sender -> receiver, 상태별 송금 금액 합계
+public interface AllocationPairStatusAmount {
+    Long getSenderId();
+
+    Long getReceiverId();
+
+    SettlementStatus getStatus();
+
+    Long getAmount();
+}
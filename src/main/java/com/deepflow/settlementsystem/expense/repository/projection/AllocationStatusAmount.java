@@ -0,0 +1,10 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+
+// 상태별 송금 금액 합계
+public interface AllocationStatusAmount {
+    SettlementStatus getStatus();
+
+    Long getAmount();
+}
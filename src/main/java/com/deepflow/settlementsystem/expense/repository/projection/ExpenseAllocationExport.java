@@ -0,0 +1,20 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+
+// 지출별 정산 건 (내보내기용)
+public interface ExpenseAllocationExport {
+    Long getExpenseId();
+
+    Long getAllocationId();
+
+    Long getItemId();
+
+    Long getSenderId();
+
+    Long getReceiverId();
+
+    Integer getAmount();
+
+    SettlementStatus getStatus();
+}
@@ -0,0 +1,8 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+// 지출별 금액 합계
+public interface ExpenseAmount {
+    Long getExpenseId();
+
+    Long getAmount();
+}
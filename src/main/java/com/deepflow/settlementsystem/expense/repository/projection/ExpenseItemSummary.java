@@ -0,0 +1,12 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+// 지출별 품목
+public interface ExpenseItemSummary {
+    Long getExpenseId();
+
+    Long getItemId();
+
+    String getItemName();
+
+    Integer getLineAmount();
+}
@@ -0,0 +1,12 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+// 지출별 sender -> receiver 송금 금액 합계
+public interface ExpensePairAmount {
+    Long getExpenseId();
+
+    Long getSenderId();
+
+    Long getReceiverId();
+
+    Long getAmount();
+}
@@ -0,0 +1,22 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+import com.deepflow.settlementsystem.expense.entity.SettlementType;
+
+import java.time.LocalDateTime;
+
+// 그룹 지출 집계 재계산용
+public interface ExpenseSpendingSource {
+    Long getExpenseId();
+
+    String getTitle();
+
+    LocalDateTime getSpentAt();
+
+    LocalDateTime getCreatedAt();
+
+    Integer getTotalAmount();
+
+    SettlementType getSettlementType();
+
+    Long getPayerUserId();
+}
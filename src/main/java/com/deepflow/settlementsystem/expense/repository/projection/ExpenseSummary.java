@@ -0,0 +1,22 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+import com.deepflow.settlementsystem.expense.entity.SettlementType;
+
+import java.time.LocalDateTime;
+
+// 지출 목록용 (연관 엔티티 로딩 없이 FK 값만)
+public interface ExpenseSummary {
+    Long getExpenseId();
+
+    String getTitle();
+
+    LocalDateTime getSpentAt();
+
+    Integer getTotalAmount();
+
+    SettlementType getSettlementType();
+
+    Long getPayerUserId();
+
+    Long getReceiptId();
+}
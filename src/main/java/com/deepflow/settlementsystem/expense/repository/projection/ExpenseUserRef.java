@@ -0,0 +1,8 @@
+package com.deepflow.settlementsystem.expense.repository.projection;
+
+// 지출(또는 품목) ID - 참여자 ID
+public interface ExpenseUserRef {
+    Long getParentId();
+
+    Long getUserId();
+}
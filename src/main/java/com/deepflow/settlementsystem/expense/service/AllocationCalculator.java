@@ -0,0 +1,103 @@
+package com.deepflow.settlementsystem.expense.service;
+
+/**
+ * 지출 분담금 계산기
+ * 금액 줄(N빵은 총액 1줄, 품목별은 항목마다 1줄)을 참여자 수로 나누고, 나머지 잔돈은 1원씩 정확히 나눠 배분합니다.
+ * 엔티티 없이 참여자 인덱스와 primitive 배열만 사용합니다.
+ */
+public final class AllocationCalculator {
+
+    private AllocationCalculator() {
+    }
+
+    /**
+     * 금액 하나를 참여자들에게 나눕니다. (N빵)
+     * @param participants 참여자 인덱스
+     */
+    public static Shares split(long amount, int[] participants) {
+        return calculate(new long[]{amount}, new int[]{0, participants.length}, participants);
+    }
+
+    /**
+     * 줄별 분담금을 계산합니다.
+     * line 의 참여자는 participants[lineStart[line] ~ lineStart[line + 1]) 입니다.
+     * 줄마다 (금액 / 인원) 을 기본으로 나누고, 나머지 r 원은 r 명에게 1원씩 더합니다.
+     * 잔돈을 받는 위치는 줄마다 이어서 돌아가므로 한 사람에게 몰리지 않으며, 줄별 분담금 합은 항상 줄 금액과 같습니다.
+     * @return 참여자 1명당 1행 (participants 와 같은 순서, 결제자 포함)
+     */
+    public static Shares calculate(long[] lineAmounts, int[] lineStart, int[] participants) {
+        if (lineStart.length != lineAmounts.length + 1
+                || lineStart[0] != 0 || lineStart[lineAmounts.length] != participants.length) {
+            throw new IllegalArgumentException("lineStart must have lineAmounts.length + 1 offsets covering participants");
+        }
+
+        Shares shares = new Shares(participants.length);
+        int cursor = 0; // 다음 잔돈을 받을 위치
+        for (int line = 0; line < lineAmounts.length; line++) {
+            int from = lineStart[line];
+            int count = lineStart[line + 1] - from;
+            if (count < 0) {
+                throw new IllegalArgumentException("lineStart must be non-decreasing");
+            }
+            long amount = lineAmounts[line];
+            if (count == 0) {
+                if (amount != 0) {
+                    throw new IllegalArgumentException("line " + line + " has an amount but no participants");
+                }
+                continue;
+            }
+
+            long baseShare = Math.floorDiv(amount, count);
+            int remainder = (int) Math.floorMod(amount, (long) count); // 0 <= remainder < count
+            int firstExtra = cursor % count;
+            for (int k = 0; k < count; k++) {
+                int offset = k - firstExtra;
+                if (offset < 0) {
+                    offset += count;
+                }
+                shares.add(line, participants[from + k], offset < remainder ? baseShare + 1 : baseShare);
+            }
+            cursor += remainder;
+        }
+        return shares;
+    }
+
+    /**
+     * 분담금 행 (line[i] 줄에서 participant[i] 가 amount[i] 부담)
+     */
+    public static final class Shares {
+        private final int[] lines;
+        private final int[] participants;
+        private final long[] amounts;
+        private int size;
+
+        private Shares(int capacity) {
+            this.lines = new int[capacity];
+            this.participants = new int[capacity];
+            this.amounts = new long[capacity];
+        }
+
+        private void add(int line, int participant, long amount) {
+            lines[size] = line;
+            participants[size] = participant;
+            amounts[size] = amount;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int line(int i) {
+            return lines[i];
+        }
+
+        public int participant(int i) {
+            return participants[i];
+        }
+
+        public long amount(int i) {
+            return amounts[i];
+        }
+    }
+}
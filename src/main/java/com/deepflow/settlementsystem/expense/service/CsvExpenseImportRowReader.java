@@ -0,0 +1,193 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
+import com.deepflow.settlementsystem.expense.entity.SettlementType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV 가져오기 리더 (첫 줄은 헤더)
+ * 컬럼: title, spentAt, payerUserId, totalAmount, participantUserIds(; 또는 | 구분), settlementType(선택, 기본 N_BBANG)
+ * 품목별 지출은 품목 구조가 필요하므로 JSON 가져오기를 사용합니다.
+ * 따옴표로 감싼 값 안의 쉼표/줄바꿈과 "" 이스케이프를 지원합니다.
+ */
+class CsvExpenseImportRowReader implements ExpenseImportRowReader {
+
+    static final String TITLE = "title";
+    static final String SPENT_AT = "spentat";
+    static final String PAYER_USER_ID = "payeruserid";
+    static final String TOTAL_AMOUNT = "totalamount";
+    static final String PARTICIPANT_USER_IDS = "participantuserids";
+    static final String SETTLEMENT_TYPE = "settlementtype";
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final StringBuilder field = new StringBuilder();
+    private int pushedBack = Integer.MIN_VALUE;
+    private int rowNumber;
+
+    CsvExpenseImportRowReader(Reader reader) throws IOException {
+        this.reader = reader;
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header is required");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) { // UTF-8 BOM
+                name = name.substring(1);
+            }
+            columns.put(name, i);
+        }
+        for (String required : List.of(PAYER_USER_ID, TOTAL_AMOUNT, PARTICIPANT_USER_IDS)) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV column is required: " + required);
+            }
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank()); // 빈 줄은 건너뜀
+
+        rowNumber++;
+        try {
+            return Row.valid(rowNumber, toRequest(record));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Row.invalid(rowNumber, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private CreateExpenseRequest toRequest(List<String> record) {
+        CreateExpenseRequest request = new CreateExpenseRequest();
+        request.setTitle(value(record, TITLE));
+        request.setTotalAmount(value(record, TOTAL_AMOUNT));
+
+        String spentAt = value(record, SPENT_AT);
+        if (spentAt != null) {
+            request.setSpentAt(spentAt.length() == 10 ? LocalDate.parse(spentAt).atStartOfDay() : LocalDateTime.parse(spentAt));
+        }
+
+        String payerUserId = value(record, PAYER_USER_ID);
+        if (payerUserId == null) {
+            throw new IllegalArgumentException("payerUserId is required");
+        }
+        request.setPayerUserId(parseUserId(payerUserId));
+
+        String settlementType = value(record, SETTLEMENT_TYPE);
+        request.setSettlementType(settlementType == null ? SettlementType.N_BBANG
+                : SettlementType.valueOf(settlementType.toUpperCase(Locale.ROOT)));
+
+        List<CreateExpenseRequest.Participant> participants = new ArrayList<>();
+        String participantUserIds = value(record, PARTICIPANT_USER_IDS);
+        if (participantUserIds != null) {
+            for (String userId : participantUserIds.split("[;|]")) {
+                if (userId.isBlank()) {
+                    continue;
+                }
+                CreateExpenseRequest.Participant participant = new CreateExpenseRequest.Participant();
+                participant.setUserId(parseUserId(userId.trim()));
+                participants.add(participant);
+            }
+        }
+        request.setParticipants(participants);
+        return request;
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Long parseUserId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid user id: " + value);
+        }
+    }
+
+    // 레코드 1개 (따옴표 안의 줄바꿈 포함), 파일 끝이면 null
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IllegalArgumentException("unterminated quoted value at row " + (rowNumber + 1));
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == EOF || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                record.add(field.toString());
+                return record;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != Integer.MIN_VALUE) {
+            int c = pushedBack;
+            pushedBack = Integer.MIN_VALUE;
+            return c;
+        }
+        return reader.read();
+    }
+}
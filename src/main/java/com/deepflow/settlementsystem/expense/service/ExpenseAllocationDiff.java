@@ -0,0 +1,187 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.entity.Expense;
+import com.deepflow.settlementsystem.expense.entity.ExpenseAllocation;
+import com.deepflow.settlementsystem.expense.entity.ExpenseItem;
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import com.deepflow.settlementsystem.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지출 1건의 정산 건(expense_allocations) 변경분 계산
+ * (품목, 사용자 쌍) 별로 "있어야 할 금액 - 이미 요청/완료된 금액" 을 미정산 행 1개로 맞춥니다.
+ * - 금액이 같으면 그대로 두고, 다르면 금액만 수정, 필요 없어진 미정산 행은 삭제합니다.
+ *   (수정할 행은 엔티티를 바꾸지 않고 새 금액만 기록합니다. 호출 측이 상태 조건을 건 UPDATE 로 반영)
+ * - REQUESTED/COMPLETED 행은 절대 바꾸지 않고, 초과분은 반대 방향 미정산 행(보정 건)으로 만듭니다.
+ * 새 지출이면 기존 행이 없으므로 생성할 행만 나옵니다.
+ */
+final class ExpenseAllocationDiff {
+
+    private final List<ExpenseAllocation> created = new ArrayList<>();
+    private final List<ExpenseAllocation> updated = new ArrayList<>();
+    private final List<ExpenseAllocation> deleted = new ArrayList<>();
+    private final Map<ExpenseAllocation, Integer> updatedAmounts = new IdentityHashMap<>();
+
+    private ExpenseAllocationDiff() {
+    }
+
+    /**
+     * @param desired  새 상태 기준 sender -> receiver 분담금 (item 은 N빵이면 null)
+     * @param existing 이 지출의 기존 정산 건 전체 (삭제된 품목의 REQUESTED/COMPLETED 행은 item 을 null 로 바꿔서 전달)
+     */
+    static ExpenseAllocationDiff compute(Expense expense, Collection<Desired> desired,
+                                         Collection<ExpenseAllocation> existing, LocalDateTime now) {
+        Map<Key, Long> targets = new LinkedHashMap<>(); // low -> high 방향 금액 (음수면 high -> low)
+        Map<Key, List<ExpenseAllocation>> unsettledByKey = new HashMap<>();
+        Map<Long, User> users = new HashMap<>();
+
+        for (Desired row : desired) {
+            if (row.amount() == 0 || row.sender().getId().equals(row.receiver().getId())) {
+                continue;
+            }
+            users.put(row.sender().getId(), row.sender());
+            users.put(row.receiver().getId(), row.receiver());
+            Key key = Key.of(row.item(), row.sender().getId(), row.receiver().getId());
+            targets.merge(key, key.signed(row.sender().getId(), row.amount()), Long::sum);
+        }
+
+        for (ExpenseAllocation allocation : existing) {
+            Long senderId = allocation.getSender().getId();
+            users.put(senderId, allocation.getSender());
+            users.put(allocation.getReceiver().getId(), allocation.getReceiver());
+            Key key = Key.of(allocation.getItem(), senderId, allocation.getReceiver().getId());
+            if (allocation.getStatus() == SettlementStatus.UNSETTLED) {
+                unsettledByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(allocation);
+                targets.putIfAbsent(key, 0L);
+            } else {
+                targets.merge(key, -key.signed(senderId, allocation.getShareAmount()), Long::sum);
+            }
+        }
+
+        ExpenseAllocationDiff diff = new ExpenseAllocationDiff();
+        for (Map.Entry<Key, Long> entry : targets.entrySet()) {
+            Key key = entry.getKey();
+            long target = entry.getValue();
+            List<ExpenseAllocation> rows = unsettledByKey.getOrDefault(key, List.of());
+            if (target == 0) {
+                diff.deleted.addAll(rows);
+                continue;
+            }
+
+            Long senderId = target > 0 ? key.lowId() : key.highId();
+            Long receiverId = target > 0 ? key.highId() : key.lowId();
+            int amount = Math.toIntExact(Math.abs(target));
+
+            ExpenseAllocation keep = null;
+            for (ExpenseAllocation row : rows) {
+                if (keep == null && row.getSender().getId().equals(senderId)) {
+                    keep = row;
+                } else {
+                    diff.deleted.add(row);
+                }
+            }
+
+            if (keep == null) {
+                ExpenseAllocation allocation = new ExpenseAllocation();
+                allocation.setGroup(expense.getGroup());
+                allocation.setExpense(expense);
+                allocation.setItem(key.item());
+                allocation.setSender(users.get(senderId));
+                allocation.setReceiver(users.get(receiverId));
+                allocation.setShareAmount(amount);
+                allocation.setStatus(SettlementStatus.UNSETTLED);
+                allocation.setCreatedAt(now);
+                diff.created.add(allocation);
+            } else if (keep.getShareAmount() == null || keep.getShareAmount() != amount) {
+                diff.updatedAmounts.put(keep, amount);
+                diff.updated.add(keep);
+            }
+        }
+        return diff;
+    }
+
+    List<ExpenseAllocation> created() {
+        return created;
+    }
+
+    List<ExpenseAllocation> updated() {
+        return updated;
+    }
+
+    List<ExpenseAllocation> deleted() {
+        return deleted;
+    }
+
+    // 수정할 행의 새 금액
+    int updatedAmount(ExpenseAllocation allocation) {
+        return updatedAmounts.get(allocation);
+    }
+
+    // 생성/수정된 행 (알림용, 삭제된 행은 deleted())
+    List<ExpenseAllocation> changed() {
+        List<ExpenseAllocation> changed = new ArrayList<>(created.size() + updated.size());
+        changed.addAll(created);
+        changed.addAll(updated);
+        return changed;
+    }
+
+    /**
+     * 원장(UNSETTLED)에 반영할 sender -> receiver 금액 변화 ([senderId, receiverId] -> delta)
+     */
+    Map<List<Long>, Long> unsettledDeltas() {
+        Map<List<Long>, Long> deltas = new LinkedHashMap<>();
+        for (ExpenseAllocation allocation : created) {
+            deltas.merge(pairOf(allocation), (long) allocation.getShareAmount(), Long::sum);
+        }
+        for (ExpenseAllocation allocation : updated) {
+            deltas.merge(pairOf(allocation), (long) updatedAmounts.get(allocation)
+                    - (allocation.getShareAmount() != null ? allocation.getShareAmount() : 0), Long::sum);
+        }
+        for (ExpenseAllocation allocation : deleted) {
+            deltas.merge(pairOf(allocation),
+                    -(long) (allocation.getShareAmount() != null ? allocation.getShareAmount() : 0), Long::sum);
+        }
+        return deltas;
+    }
+
+    private static List<Long> pairOf(ExpenseAllocation allocation) {
+        return List.of(allocation.getSender().getId(), allocation.getReceiver().getId());
+    }
+
+    /**
+     * 새 상태 기준 분담금 1행 (sender 가 receiver 에게 amount 송금)
+     */
+    record Desired(ExpenseItem item, User sender, User receiver, long amount) {
+    }
+
+    // item 은 엔티티 동일성으로 비교 (같은 영속성 컨텍스트의 인스턴스, 새 품목은 아직 ID 가 없을 수 있음)
+    private record Key(ExpenseItem item, Long lowId, Long highId) {
+
+        static Key of(ExpenseItem item, Long userId, Long otherUserId) {
+            return userId < otherUserId ? new Key(item, userId, otherUserId) : new Key(item, otherUserId, userId);
+        }
+
+        long signed(Long senderId, long amount) {
+            return senderId.equals(lowId) ? amount : -amount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && item == other.item
+                    && lowId.equals(other.lowId) && highId.equals(other.highId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(item) + lowId.hashCode()) + highId.hashCode();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.repository.ExpenseExportCursor;
+import com.deepflow.settlementsystem.expense.repository.ExpenseItemAllocationRepository;
+import com.deepflow.settlementsystem.expense.repository.ExpenseItemRepository;
+import com.deepflow.settlementsystem.expense.repository.ExpenseItemsParticipantRepository;
+import com.deepflow.settlementsystem.expense.repository.ExpenseParticipantRepository;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseAllocationExport;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseItemSummary;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseSummary;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseUserRef;
+import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 그룹 지출 원장 내보내기 (NDJSON / CSV)
+ * 지출은 전용 커넥션의 forward-only 서버 커서(Stream)로 읽고, CHUNK_SIZE 건마다 품목/참여자/정산 건을 IN 쿼리로 붙여 바로 씁니다.
+ * 메모리에는 청크 1개만 올라가고, 첫 청크를 쓰는 즉시 응답이 시작됩니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+    private static final int CHUNK_SIZE = 200;
+    private static final String CSV_HEADER = "expenseId,spentAt,title,totalAmount,settlementType,payerUserId,"
+            + "allocationId,itemId,itemName,senderId,receiverId,amount,status";
+
+    private final GroupRepository groupRepository;
+    private final ExpenseExportCursor expenseExportCursor;
+    private final ExpenseItemRepository expenseItemRepository;
+    private final ExpenseParticipantRepository expenseParticipantRepository;
+    private final ExpenseItemsParticipantRepository expenseItemsParticipantRepository;
+    private final ExpenseItemAllocationRepository expenseItemAllocationRepository;
+    private final ObjectMapper objectMapper;
+
+    public static String normalizeFormat(String format) {
+        String normalized = format == null ? FORMAT_NDJSON : format.toLowerCase(Locale.ROOT);
+        if (!FORMAT_NDJSON.equals(normalized) && !FORMAT_CSV.equals(normalized)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+        }
+        return normalized;
+    }
+
+    /**
+     * 그룹 확인은 응답 시작 전에 하고, 실제 조회/쓰기는 응답 스트림에 쓰면서 진행합니다.
+     */
+    public StreamingResponseBody export(Long groupId, String format) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        String normalized = normalizeFormat(format);
+
+        return outputStream -> {
+            // 지출은 전용 커넥션의 서버 커서로 읽고, 청크별 하위 데이터는 공용 풀에서 조회
+            try (Stream<ExpenseSummary> expenses = expenseExportCursor.streamSummariesByGroupId(groupId)) {
+                if (FORMAT_CSV.equals(normalized)) {
+                    writeCsv(expenses.iterator(), outputStream);
+                } else {
+                    writeNdjson(expenses.iterator(), outputStream);
+                }
+            }
+        };
+    }
+
+    private void writeNdjson(Iterator<ExpenseSummary> expenses, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        List<ExpenseSummary> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (nextChunk(expenses, chunk)) {
+            Children children = loadChildren(chunk);
+            for (ExpenseSummary expense : chunk) {
+                writeJson(generator, expense, children);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+        generator.close();
+    }
+
+    private void writeJson(JsonGenerator generator, ExpenseSummary expense, Children children) throws IOException {
+        Long expenseId = expense.getExpenseId();
+        generator.writeStartObject();
+        generator.writeNumberField("expenseId", expenseId);
+        generator.writeStringField("title", expense.getTitle());
+        generator.writeStringField("spentAt", expense.getSpentAt() != null ? expense.getSpentAt().toString() : null);
+        writeNumberField(generator, "totalAmount", expense.getTotalAmount());
+        generator.writeStringField("settlementType",
+                expense.getSettlementType() != null ? expense.getSettlementType().name() : null);
+        writeNumberField(generator, "payerUserId", expense.getPayerUserId());
+        writeNumberField(generator, "receiptId", expense.getReceiptId());
+
+        writeIds(generator, "participants", children.participants().getOrDefault(expenseId, List.of()));
+
+        generator.writeArrayFieldStart("items");
+        for (ExpenseItemSummary item : children.items().getOrDefault(expenseId, List.of())) {
+            generator.writeStartObject();
+            generator.writeNumberField("itemId", item.getItemId());
+            generator.writeStringField("itemName", item.getItemName());
+            writeNumberField(generator, "lineAmount", item.getLineAmount());
+            writeIds(generator, "participants", children.itemParticipants().getOrDefault(item.getItemId(), List.of()));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("allocations");
+        for (ExpenseAllocationExport allocation : children.allocations().getOrDefault(expenseId, List.of())) {
+            generator.writeStartObject();
+            generator.writeNumberField("allocationId", allocation.getAllocationId());
+            writeNumberField(generator, "itemId", allocation.getItemId());
+            writeNumberField(generator, "senderId", allocation.getSenderId());
+            writeNumberField(generator, "receiverId", allocation.getReceiverId());
+            writeNumberField(generator, "amount", allocation.getAmount());
+            generator.writeStringField("status", allocation.getStatus() != null ? allocation.getStatus().name() : null);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    // 정산 건 1건당 1행 (정산 건이 없는 지출은 지출 정보만 1행)
+    private void writeCsv(Iterator<ExpenseSummary> expenses, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write('\uFEFF'); // 엑셀에서 UTF-8 로 열리도록 BOM
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        List<ExpenseSummary> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (nextChunk(expenses, chunk)) {
+            Children children = loadChildren(chunk);
+            for (ExpenseSummary expense : chunk) {
+                Map<Long, String> itemNames = new HashMap<>();
+                for (ExpenseItemSummary item : children.items().getOrDefault(expense.getExpenseId(), List.of())) {
+                    itemNames.put(item.getItemId(), item.getItemName());
+                }
+
+                String expenseColumns = String.join(",",
+                        csv(expense.getExpenseId()), csv(expense.getSpentAt()), csv(expense.getTitle()),
+                        csv(expense.getTotalAmount()), csv(expense.getSettlementType()), csv(expense.getPayerUserId()));
+                List<ExpenseAllocationExport> allocations = children.allocations().getOrDefault(expense.getExpenseId(), List.of());
+                if (allocations.isEmpty()) {
+                    writer.write(expenseColumns);
+                    writer.write(",,,,,,,\n");
+                    continue;
+                }
+                for (ExpenseAllocationExport allocation : allocations) {
+                    writer.write(expenseColumns);
+                    writer.write(',');
+                    writer.write(String.join(",",
+                            csv(allocation.getAllocationId()), csv(allocation.getItemId()),
+                            csv(itemNames.get(allocation.getItemId())), csv(allocation.getSenderId()),
+                            csv(allocation.getReceiverId()), csv(allocation.getAmount()), csv(allocation.getStatus())));
+                    writer.write('\n');
+                }
+            }
+            writer.flush();
+        }
+        writer.flush();
+    }
+
+    // 커서에서 다음 청크를 채움, 더 없으면 false
+    private static boolean nextChunk(Iterator<ExpenseSummary> expenses, List<ExpenseSummary> chunk) {
+        chunk.clear();
+        while (chunk.size() < CHUNK_SIZE && expenses.hasNext()) {
+            chunk.add(expenses.next());
+        }
+        return !chunk.isEmpty();
+    }
+
+    // 청크의 지출 참여자 / 품목 / 품목 참여자 / 정산 건 (청크당 쿼리 4번)
+    private Children loadChildren(List<ExpenseSummary> chunk) {
+        List<Long> expenseIds = chunk.stream().map(ExpenseSummary::getExpenseId).toList();
+
+        Map<Long, List<Long>> participants = new HashMap<>();
+        for (ExpenseUserRef ref : expenseParticipantRepository.findUserRefsByExpenseIds(expenseIds)) {
+            participants.computeIfAbsent(ref.getParentId(), k -> new ArrayList<>()).add(ref.getUserId());
+        }
+        Map<Long, List<ExpenseItemSummary>> items = new HashMap<>();
+        for (ExpenseItemSummary item : expenseItemRepository.findSummariesByExpenseIds(expenseIds)) {
+            items.computeIfAbsent(item.getExpenseId(), k -> new ArrayList<>()).add(item);
+        }
+        Map<Long, List<Long>> itemParticipants = new HashMap<>();
+        for (ExpenseUserRef ref : expenseItemsParticipantRepository.findUserRefsByExpenseIds(expenseIds)) {
+            itemParticipants.computeIfAbsent(ref.getParentId(), k -> new ArrayList<>()).add(ref.getUserId());
+        }
+        Map<Long, List<ExpenseAllocationExport>> allocations = new HashMap<>();
+        for (ExpenseAllocationExport allocation : expenseItemAllocationRepository.findExportsByExpenseIds(expenseIds)) {
+            allocations.computeIfAbsent(allocation.getExpenseId(), k -> new ArrayList<>()).add(allocation);
+        }
+        return new Children(participants, items, itemParticipants, allocations);
+    }
+
+    private static void writeNumberField(JsonGenerator generator, String name, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value.longValue());
+        }
+    }
+
+    private static void writeIds(JsonGenerator generator, String name, List<Long> ids) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (Long id : ids) {
+            generator.writeNumber(id);
+        }
+        generator.writeEndArray();
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private record Children(Map<Long, List<Long>> participants,
+                            Map<Long, List<ExpenseItemSummary>> items,
+                            Map<Long, List<Long>> itemParticipants,
+                            Map<Long, List<ExpenseAllocationExport>> allocations) {
+    }
+}
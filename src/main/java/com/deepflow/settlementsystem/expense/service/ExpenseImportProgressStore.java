@@ -0,0 +1,119 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.dto.ExpenseImportStatusResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 지출 가져오기 진행 상황
+ * Redis 해시 EXPENSE_IMPORT:{jobId} 에 상태/건수를, 리스트 EXPENSE_IMPORT_ERRORS:{jobId} 에 행별 오류를 저장합니다.
+ * 여러 인스턴스 중 어디로 조회가 와도 같은 값을 보도록 서버 메모리가 아닌 Redis 에 둡니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpenseImportProgressStore {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String JOB_PREFIX = "EXPENSE_IMPORT:";
+    private static final String ERRORS_PREFIX = "EXPENSE_IMPORT_ERRORS:";
+    private static final String GROUP_ID = "groupId";
+    private static final String STATUS = "status";
+    private static final String PROCESSED = "processedRows";
+    private static final String IMPORTED = "importedRows";
+    private static final String FAILED = "failedRows";
+    private static final String MESSAGE = "message";
+    private static final int MAX_ERRORS = 1000;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${expense.import.progress-ttl-hours:24}")
+    private long ttlHours;
+
+    public void create(String jobId, Long groupId) {
+        String key = JOB_PREFIX + jobId;
+        redisTemplate.opsForHash().putAll(key, Map.of(
+                GROUP_ID, String.valueOf(groupId),
+                STATUS, STATUS_PENDING,
+                PROCESSED, "0",
+                IMPORTED, "0",
+                FAILED, "0"));
+        redisTemplate.expire(key, Duration.ofHours(ttlHours));
+    }
+
+    public void markRunning(String jobId) {
+        redisTemplate.opsForHash().put(JOB_PREFIX + jobId, STATUS, STATUS_RUNNING);
+    }
+
+    /**
+     * 청크 1개 처리 결과를 누적합니다.
+     */
+    public void addProgress(String jobId, int processed, int imported, List<ExpenseImportStatusResponse.RowError> errors) {
+        String key = JOB_PREFIX + jobId;
+        redisTemplate.opsForHash().increment(key, PROCESSED, processed);
+        redisTemplate.opsForHash().increment(key, IMPORTED, imported);
+        if (errors.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForHash().increment(key, FAILED, errors.size());
+
+        String errorsKey = ERRORS_PREFIX + jobId;
+        Long size = redisTemplate.opsForList().size(errorsKey);
+        int remaining = MAX_ERRORS - (size != null ? size.intValue() : 0);
+        if (remaining <= 0) {
+            return;
+        }
+        List<String> values = new ArrayList<>();
+        for (ExpenseImportStatusResponse.RowError error : errors.subList(0, Math.min(remaining, errors.size()))) {
+            values.add(error.getRow() + ":" + error.getMessage());
+        }
+        redisTemplate.opsForList().rightPushAll(errorsKey, values);
+        redisTemplate.expire(errorsKey, Duration.ofHours(ttlHours));
+    }
+
+    public void finish(String jobId, String status, String message) {
+        String key = JOB_PREFIX + jobId;
+        redisTemplate.opsForHash().put(key, STATUS, status);
+        if (message != null) {
+            redisTemplate.opsForHash().put(key, MESSAGE, message);
+        }
+    }
+
+    public Optional<ExpenseImportStatusResponse> find(String jobId) {
+        Map<String, String> values = redisTemplate.<String, String>opsForHash().entries(JOB_PREFIX + jobId);
+        if (values.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<ExpenseImportStatusResponse.RowError> errors = new ArrayList<>();
+        List<String> storedErrors = redisTemplate.opsForList().range(ERRORS_PREFIX + jobId, 0, MAX_ERRORS - 1);
+        if (storedErrors != null) {
+            for (String storedError : storedErrors) {
+                int separator = storedError.indexOf(':');
+                errors.add(new ExpenseImportStatusResponse.RowError(
+                        Integer.parseInt(storedError.substring(0, separator)), storedError.substring(separator + 1)));
+            }
+        }
+
+        return Optional.of(new ExpenseImportStatusResponse(
+                jobId,
+                Long.valueOf(values.get(GROUP_ID)),
+                values.get(STATUS),
+                Long.parseLong(values.getOrDefault(PROCESSED, "0")),
+                Long.parseLong(values.getOrDefault(IMPORTED, "0")),
+                Long.parseLong(values.getOrDefault(FAILED, "0")),
+                values.get(MESSAGE),
+                errors));
+    }
+}
@@ -0,0 +1,34 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 가져오기 파일을 한 행(지출 1건)씩 읽는 리더
+ * 파일 전체를 메모리에 올리지 않고 스트림에서 필요한 만큼만 읽습니다.
+ */
+interface ExpenseImportRowReader extends Closeable {
+
+    /**
+     * 다음 행, 더 없으면 null
+     * 행 하나의 값이 잘못된 경우는 error 가 채워진 Row 를 반환하고, 파일 형식 자체가 깨진 경우만 예외를 던집니다.
+     */
+    Row next() throws IOException;
+
+    /**
+     * @param rowNumber 데이터 행 번호 (1부터, CSV 헤더 제외)
+     * @param request   지출 등록 요청 (error 가 있으면 null)
+     */
+    record Row(int rowNumber, CreateExpenseRequest request, String error) {
+
+        static Row valid(int rowNumber, CreateExpenseRequest request) {
+            return new Row(rowNumber, request, null);
+        }
+
+        static Row invalid(int rowNumber, String error) {
+            return new Row(rowNumber, null, error);
+        }
+    }
+}
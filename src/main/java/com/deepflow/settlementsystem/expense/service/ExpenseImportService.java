@@ -0,0 +1,276 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
+import com.deepflow.settlementsystem.expense.dto.ExpenseImportResponse;
+import com.deepflow.settlementsystem.expense.dto.ExpenseImportStatusResponse;
+import com.deepflow.settlementsystem.expense.entity.SettlementType;
+import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import com.deepflow.settlementsystem.group.repository.MemberRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 지출 일괄 가져오기 (CSV / JSON 배열)
+ * 업로드 파일을 임시 파일로 옮긴 뒤 백그라운드에서 한 행씩 스트리밍으로 읽고,
+ * chunk-size 행마다 트랜잭션 1개로 저장합니다. (ExpenseService.createExpenses: 사용자 조회 1번, 하위 행은 청크 전체를 JDBC 배치 INSERT)
+ * - 그룹 멤버 검증은 청크당 쿼리 1번으로 미리 걸러 청크 롤백을 줄이고
+ * - 그래도 청크가 실패하면 그 청크만 행 단위 트랜잭션으로 다시 저장해 실패 행만 골라냅니다.
+ * 진행 상황과 행별 오류는 ExpenseImportProgressStore 로 조회합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseImportService {
+
+    private static final String FORMAT_CSV = "csv";
+    private static final String FORMAT_JSON = "json";
+
+    private final ExpenseService expenseService;
+    private final ExpenseImportProgressStore progressStore;
+    private final GroupRepository groupRepository;
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor expenseImportExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${expense.import.chunk-size:200}")
+    private int chunkSize;
+
+    /**
+     * 가져오기 작업 시작 (파일을 임시 파일로 옮기고 바로 jobId 반환)
+     */
+    public ExpenseImportResponse startImport(Long groupId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "import file is required");
+        }
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        String format = resolveFormat(file);
+
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("expense-import-", "." + format);
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store import file");
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        progressStore.create(jobId, groupId);
+        try {
+            expenseImportExecutor.execute(() -> runImport(jobId, groupId, format, tempFile));
+        } catch (TaskRejectedException e) {
+            deleteQuietly(tempFile);
+            progressStore.finish(jobId, ExpenseImportProgressStore.STATUS_FAILED, "too many imports in progress");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many imports in progress, retry later");
+        }
+        return new ExpenseImportResponse(jobId, ExpenseImportProgressStore.STATUS_PENDING);
+    }
+
+    public ExpenseImportStatusResponse getStatus(Long groupId, String jobId) {
+        return progressStore.find(jobId)
+                .filter(status -> status.getGroupId().equals(groupId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found"));
+    }
+
+    private void runImport(String jobId, Long groupId, String format, Path file) {
+        progressStore.markRunning(jobId);
+        try (ExpenseImportRowReader reader = openReader(format, file)) {
+            List<ExpenseImportRowReader.Row> chunk = new ArrayList<>(chunkSize);
+            ExpenseImportRowReader.Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(jobId, groupId, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(jobId, groupId, chunk);
+            }
+            progressStore.finish(jobId, ExpenseImportProgressStore.STATUS_COMPLETED, null);
+
+        } catch (Exception e) {
+            // 파일 형식 오류 등: 이미 저장된 청크는 유지하고 작업만 실패 처리
+            log.warn("Expense import failed. jobId={}, groupId={}", jobId, groupId, e);
+            progressStore.finish(jobId, ExpenseImportProgressStore.STATUS_FAILED, messageOf(e));
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private ExpenseImportRowReader openReader(String format, Path file) throws IOException {
+        if (FORMAT_CSV.equals(format)) {
+            return new CsvExpenseImportRowReader(
+                    new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)));
+        }
+        return new JsonExpenseImportRowReader(objectMapper, new BufferedInputStream(Files.newInputStream(file)));
+    }
+
+    // 청크 1개 검증 + 저장 후 진행 상황 반영
+    private void importChunk(String jobId, Long groupId, List<ExpenseImportRowReader.Row> rows) {
+        List<ExpenseImportStatusResponse.RowError> errors = new ArrayList<>();
+        List<ExpenseImportRowReader.Row> validRows = validate(groupId, rows, errors);
+        int imported = persist(groupId, validRows, errors);
+
+        errors.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        progressStore.addProgress(jobId, rows.size(), imported, errors);
+    }
+
+    // 청크의 모든 사용자 ID 를 모아 그룹 멤버 여부를 쿼리 1번으로 확인
+    private List<ExpenseImportRowReader.Row> validate(Long groupId, List<ExpenseImportRowReader.Row> rows,
+                                                      List<ExpenseImportStatusResponse.RowError> errors) {
+        List<ExpenseImportRowReader.Row> candidates = new ArrayList<>();
+        List<Set<Long>> candidateUserIds = new ArrayList<>();
+        Set<Long> chunkUserIds = new HashSet<>();
+        for (ExpenseImportRowReader.Row row : rows) {
+            if (row.error() != null) {
+                errors.add(new ExpenseImportStatusResponse.RowError(row.rowNumber(), row.error()));
+                continue;
+            }
+            Set<Long> userIds = userIdsOf(row.request());
+            if (userIds == null) {
+                errors.add(new ExpenseImportStatusResponse.RowError(row.rowNumber(), "payerUserId and participant userIds are required"));
+                continue;
+            }
+            candidates.add(row);
+            candidateUserIds.add(userIds);
+            chunkUserIds.addAll(userIds);
+        }
+        if (chunkUserIds.isEmpty()) {
+            return candidates;
+        }
+
+        Set<Long> memberUserIds = new HashSet<>(memberRepository.findUserIdsByGroupIdAndUserIdIn(groupId, chunkUserIds));
+        List<ExpenseImportRowReader.Row> validRows = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            List<Long> nonMemberUserIds = candidateUserIds.get(i).stream().filter(id -> !memberUserIds.contains(id)).toList();
+            if (nonMemberUserIds.isEmpty()) {
+                validRows.add(candidates.get(i));
+            } else {
+                errors.add(new ExpenseImportStatusResponse.RowError(candidates.get(i).rowNumber(),
+                        "users are not members of the group: " + nonMemberUserIds));
+            }
+        }
+        return validRows;
+    }
+
+    // 결제자 + 지출 참여자 + 품목 참여자, ID 가 빠져 있으면 null
+    private Set<Long> userIdsOf(CreateExpenseRequest request) {
+        if (request.getPayerUserId() == null) {
+            return null;
+        }
+        Set<Long> userIds = new LinkedHashSet<>();
+        userIds.add(request.getPayerUserId());
+        List<CreateExpenseRequest.Participant> participants = new ArrayList<>();
+        if (request.getParticipants() != null) {
+            participants.addAll(request.getParticipants());
+        }
+        if (request.getSettlementType() == SettlementType.ITEMIZED && request.getItems() != null) {
+            for (CreateExpenseRequest.Item item : request.getItems()) {
+                if (item.getItemParticipants() != null) {
+                    participants.addAll(item.getItemParticipants());
+                }
+            }
+        }
+        for (CreateExpenseRequest.Participant participant : participants) {
+            if (participant.getUserId() == null) {
+                return null;
+            }
+            userIds.add(participant.getUserId());
+        }
+        return userIds;
+    }
+
+    // 청크 전체를 트랜잭션 1개로 저장, 실패하면 행 단위 트랜잭션으로 다시 저장 (실패 행만 골라냄)
+    private int persist(Long groupId, List<ExpenseImportRowReader.Row> rows,
+                        List<ExpenseImportStatusResponse.RowError> errors) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            transactionTemplate.executeWithoutResult(status -> expenseService.createExpenses(groupId,
+                    rows.stream().map(ExpenseImportRowReader.Row::request).toList()));
+            return rows.size();
+        } catch (RuntimeException chunkError) {
+            log.debug("Expense import chunk rolled back, retrying row by row. groupId={}", groupId, chunkError);
+        }
+
+        int imported = 0;
+        for (ExpenseImportRowReader.Row row : rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> expenseService.createExpense(groupId, row.request()));
+                imported++;
+            } catch (RuntimeException e) {
+                errors.add(new ExpenseImportStatusResponse.RowError(row.rowNumber(), messageOf(e)));
+            }
+        }
+        return imported;
+    }
+
+    private String resolveFormat(MultipartFile file) {
+        String contentType = file.getContentType();
+        if (contentType != null) {
+            if (contentType.startsWith("text/csv")) {
+                return FORMAT_CSV;
+            }
+            if (contentType.startsWith("application/json")) {
+                return FORMAT_JSON;
+            }
+        }
+
+        String filename = file.getOriginalFilename();
+        if (filename != null) {
+            String lower = filename.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".csv")) {
+                return FORMAT_CSV;
+            }
+            if (lower.endsWith(".json")) {
+                return FORMAT_JSON;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "import file must be CSV or JSON");
+    }
+
+    private static String messageOf(Exception e) {
+        if (e instanceof ResponseStatusException responseStatusException && responseStatusException.getReason() != null) {
+            return responseStatusException.getReason();
+        }
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete import temp file {}", file, e);
+        }
+    }
+}
@@ -2,15 +2,27 @@ package com.deepflow.settlementsystem.expense.service;
 
 import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
 import com.deepflow.settlementsystem.expense.dto.CreateExpenseResponse;
+import com.deepflow.settlementsystem.expense.dto.ExpenseTimelineResponse;
 import com.deepflow.settlementsystem.expense.dto.GroupExpenseResponse;
 import com.deepflow.settlementsystem.expense.dto.GroupExpenseTotalResponse;
+import com.deepflow.settlementsystem.expense.dto.UpdateExpenseResponse;
 import java.time.LocalDate;
+import java.util.List;
 
 public interface ExpenseService {
 
   CreateExpenseResponse createExpense(Long groupId, CreateExpenseRequest request);
 
-  GroupExpenseTotalResponse getGroupTotal(Long groupId);
+  // 여러 지출을 한 트랜잭션으로 등록 (가져오기 청크용), 요청 순서대로 지출 ID 반환
+  List<Long> createExpenses(Long groupId, List<CreateExpenseRequest> requests);
+
+  UpdateExpenseResponse updateExpense(Long groupId, Long expenseId, CreateExpenseRequest request);
+
+  void deleteExpense(Long groupId, Long expenseId);
+
+  GroupExpenseTotalResponse getGroupTotal(Long groupId, LocalDate startDate, LocalDate endDate);
 
   GroupExpenseResponse getGroupExpenses(Long groupId, LocalDate startDate, LocalDate endDate);
+
+  ExpenseTimelineResponse getExpenseTimeline(Long groupId, String cursor, Integer size, List<String> expand);
 }
@@ -1,25 +1,44 @@
 package com.deepflow.settlementsystem.expense.service;
 
 import com.deepflow.settlementsystem.common.NumberParser;
+import com.deepflow.settlementsystem.common.pagination.KeysetCursor;
 import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
 import com.deepflow.settlementsystem.expense.dto.CreateExpenseResponse;
+import com.deepflow.settlementsystem.expense.dto.ExpenseTimelineResponse;
 import com.deepflow.settlementsystem.expense.dto.GroupExpenseResponse;
 import com.deepflow.settlementsystem.expense.dto.GroupExpenseTotalResponse;
+import com.deepflow.settlementsystem.expense.dto.UpdateExpenseResponse;
 import com.deepflow.settlementsystem.expense.entity.*;
 import com.deepflow.settlementsystem.expense.repository.*;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseItemSummary;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseSummary;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseUserRef;
 import com.deepflow.settlementsystem.group.entity.Group;
 import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import com.deepflow.settlementsystem.group.repository.MemberRepository;
+import com.deepflow.settlementsystem.settlement.event.SettlementStatusChangedEvent;
+import com.deepflow.settlementsystem.settlement.service.PairBalanceLedger;
 import com.deepflow.settlementsystem.user.entity.User;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import com.deepflow.settlementsystem.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,8 +47,15 @@ import org.springframework.web.server.ResponseStatusException;
 @Service
 @RequiredArgsConstructor
 public class ExpenseServiceImpl implements ExpenseService {
-  
+
+  private static final int IN_QUERY_CHUNK_SIZE = 1000;
+  private static final int DEFAULT_PAGE_SIZE = 20;
+  private static final int MAX_PAGE_SIZE = 100;
+  private static final String EXPAND_PARTICIPANTS = "participants";
+  private static final String EXPAND_ITEMS = "items";
+
   private final GroupRepository groupRepository;
+  private final MemberRepository memberRepository;
   private final ExpenseRepository expenseRepository;
   private final ExpenseItemRepository expenseItemRepository;
   private final ExpenseParticipantRepository expenseParticipantRepository;
@@ -38,6 +64,10 @@ public class ExpenseServiceImpl implements ExpenseService {
   private final NumberParser numberParser;
   private final UserRepository userRepository;
   private final ExpenseItemAllocationRepository expenseItemAllocationRepository;
+  private final PairBalanceLedger pairBalanceLedger;
+  private final GroupExpenseTotalCounter groupExpenseTotalCounter;
+  private final GroupSpendingRollupService groupSpendingRollupService;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   @Transactional
@@ -47,251 +77,576 @@ public class ExpenseServiceImpl implements ExpenseService {
       1. N빵 -> ExpenseItem에 데이터 저장 X, expense.totalAmount가 총 금액
       2. 품목별
      */
+    return new CreateExpenseResponse(createExpenses(groupId, List.of(request)).get(0));
+  }
 
+  /**
+   * 지출 여러 건 등록 (가져오기 청크용)
+   * 그룹/사용자/멤버 조회는 전체 요청에 대해 1번만 하고, 하위 행은 지출을 모두 저장한 뒤 테이블별로 모아 저장합니다.
+   * 원장/그룹 지출 합계/집계 upsert 는 청크 전체 증감을 합쳐 마지막에 1번씩 실행하므로 flush 도 1번입니다.
+   * (지출 행은 IDENTITY 라 건마다 INSERT)
+   */
+  @Override
+  @Transactional
+  public List<Long> createExpenses(Long groupId, List<CreateExpenseRequest> requests) {
     LocalDateTime now = LocalDateTime.now();
 
     // 그룹 찾기
     Group group = groupRepository.findById(groupId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
 
-    // 결제자 정보 찾기
-    Long payerUserId = request.getPayerUserId();
-    if (payerUserId == null) {
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "payerUserId is required");
-    }
-    User payerUser = userRepository.findById(payerUserId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Payer user not found"));
-
+    // 요청에 등장하는 모든 사용자를 한 번에 조회 (결제자 + 지출 참여자 + 항목 참여자)
+    Map<Long, User> users = resolveGroupUsers(groupId, requests);
 
-    // 지출 등록
-    Expense expense = new Expense();
+    List<Long> expenseIds = new ArrayList<>(requests.size());
+    List<ExpenseItem> expenseItems = new ArrayList<>();
+    List<ExpenseItemsParticipant> expenseItemsParticipants = new ArrayList<>();
+    List<ExpenseParticipant> participants = new ArrayList<>();
+    List<ExpenseAllocation> allocations = new ArrayList<>();
+    List<ExpenseSpending> spendings = new ArrayList<>(requests.size());
+    long totalAmount = 0;
+
+    for (CreateExpenseRequest request : requests) {
+      // 지출 등록
+      Expense expense = new Expense();
+      expense.setGroup(group);
+      applyExpenseFields(expense, request, users);
+      expense.setCreatedAt(now);
+      expense.setUpdatedAt(now);
+
+      Expense savedExpense = expenseRepository.save(expense);
+      expenseIds.add(savedExpense.getExpenseId());
+      totalAmount += savedExpense.getTotalAmount();
+
+
+      // 품목별 지출인 경우 데이터 저장
+      List<ShareLine> lines = new ArrayList<>();
+      if (savedExpense.getSettlementType() == SettlementType.ITEMIZED) {
+        // 1. 각 항목별 저장
+        for (CreateExpenseRequest.Item item : emptyIfNull(request.getItems())) {
+          ExpenseItem expenseItem = new ExpenseItem();
+          expenseItem.setExpense(savedExpense);
+          expenseItem.setItemName(item.getItemName());
+          expenseItem.setLineAmount(parseItemPrice(item));
+          expenseItem.setCreatedAt(now);
+          expenseItem.setUpdatedAt(now);
+
+          // 1.2. 각 항목의 결제 참여자 저장
+          List<User> itemUsers = itemUsers(item, expenseItem.getLineAmount(), users);
+          for (User user : itemUsers) {
+            ExpenseItemsParticipant expenseItemsParticipant = new ExpenseItemsParticipant();
+            expenseItemsParticipant.setItem(expenseItem);
+            expenseItemsParticipant.setUser(user);
+            expenseItemsParticipants.add(expenseItemsParticipant);
+          }
 
-    expense.setGroup(group);
-    expense.setPayerUser(payerUser);
-    expense.setSpentAt(request.getSpentAt());
-    expense.setTitle(request.getTitle());
+          expenseItems.add(expenseItem);
+          lines.add(new ShareLine(expenseItem, expenseItem.getLineAmount(), itemUsers));
+        }
+      }
 
-    Integer totalAmount = numberParser.parseInt(request.getTotalAmount());
-    if (totalAmount == null) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Total amount is required");
-    }
-    expense.setTotalAmount(totalAmount); // 총 금액
 
-    // 영수증 연결 (선택)
-    if (request.getReceiptImageId() != null) {
-      Receipt receipt = receiptRepository.findById(request.getReceiptImageId())
-              .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Receipt not found"));
-      expense.setReceipt(receipt);
-    }
-
-    // 지출 타입 저장
-    SettlementType settlementType = request.getSettlementType();
-    if (settlementType == null || (settlementType != SettlementType.N_BBANG && settlementType != SettlementType.ITEMIZED)) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "settlement type is required");
-    }
-    expense.setSettlementType(request.getSettlementType());
+      // 지출 참여자 등록 (ExpenseParticipant)
+      List<User> participantUsers = participantUsers(request, users);
+      for (User user : participantUsers) {
+        ExpenseParticipant participant = new ExpenseParticipant();
+        participant.setExpense(savedExpense);
+        participant.setUser(user);
+        participants.add(participant);
+      }
 
-    expense.setCreatedAt(now);
-    expense.setUpdatedAt(now);
+      if (savedExpense.getSettlementType() == SettlementType.N_BBANG) {
+        lines.add(nBbangLine(savedExpense, participantUsers));
+      }
 
-    Expense savedExpense = expenseRepository.save(expense);
 
+      // 각 참여자당 결제자에게 얼마를 줘야할지 계산 (저장한 행을 다시 조회하지 않고 메모리에서 계산)
+      List<ExpenseAllocationDiff.Desired> desired = desiredAllocations(savedExpense, lines);
+      allocations.addAll(ExpenseAllocationDiff.compute(savedExpense, desired, List.of(), now).created());
+      spendings.add(spendingOf(savedExpense, lines, desired));
+    }
 
-    // 품목별 지출인 경우 데이터 저장
-    if (settlementType == settlementType.ITEMIZED) {
-      // 1. 각 항목별 저장
-      List<CreateExpenseRequest.Item> items = request.getItems();
-      List<ExpenseItem> expenseItems = new ArrayList<>();
+    // 항목 -> 항목 참여자 -> 지출 참여자 -> 정산 건 순서로 저장 (지출 INSERT 가 끝난 뒤라 flush 시 테이블별 배치 INSERT)
+    expenseItemRepository.saveAll(expenseItems);
+    expenseItemsParticipantRepository.saveAll(expenseItemsParticipants);
+    expenseParticipantRepository.saveAll(participants);
+    expenseItemAllocationRepository.saveAll(allocations);
 
-      for (CreateExpenseRequest.Item item : items) {
-        ExpenseItem expenseItem = new ExpenseItem();
-        expenseItem.setExpense(savedExpense);
-        expenseItem.setItemName(item.getItemName());
+    // 합계/원장/집계는 전체 증감을 합쳐서 갱신 (쌍/상태별, 집계 행별 upsert 1번)
+    groupExpenseTotalCounter.add(groupId, totalAmount);
+    pairBalanceLedger.addAll(allocations);
+    groupSpendingRollupService.applyAll(groupId, spendings);
+    publishAllocationsChanged(allocations, false);
 
-        Integer itemPrice = numberParser.parseInt(item.getPrice());
-        if (itemPrice == null) {
-          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "item price is required");
-        }
-        expenseItem.setLineAmount(itemPrice);
+    return expenseIds;
+  }
 
-        expenseItem.setCreatedAt(now);
-        expenseItem.setUpdatedAt(now);
+  /**
+   * 지출 수정
+   * 요청을 새 상태로 보고 기존 품목/품목 참여자/지출 참여자/정산 건과의 차이만 반영합니다.
+   * - 품목은 itemId 로 기존 품목과 매칭하고, 바뀐 필드와 참여자만 수정합니다. (itemId 가 없으면 새 품목)
+   * - 정산 건은 ExpenseAllocationDiff 로 바뀐 행만 생성/수정/삭제하며, REQUESTED/COMPLETED 행은 보정 건으로 맞춥니다.
+   * 삽입과 품목 수정은 JDBC 배치로, 삭제는 테이블별 IN 삭제 1번으로 처리합니다.
+   * 정산 건은 잠금 조회하고, 금액 수정/삭제는 status = UNSETTLED 조건으로 실행합니다. (정산 요청과 겹치면 409)
+   */
+  @Override
+  @Transactional
+  public UpdateExpenseResponse updateExpense(Long groupId, Long expenseId, CreateExpenseRequest request) {
+    LocalDateTime now = LocalDateTime.now();
+    Expense expense = findGroupExpense(groupId, expenseId);
+    Map<Long, User> users = resolveGroupUsers(groupId, request);
 
-        // 1.2. 각 항목의 결제 참여자 저장
-        // ========================================================================================================================
-        List<CreateExpenseRequest.Participant> itemParticipants = item.getItemParticipants();
-        List<ExpenseItemsParticipant> expenseItemsParticipants = new ArrayList<>();
+    // 수정 전 값 (그룹 지출 집계에서 뺄 값)
+    List<ExpenseAllocation> allocations = expenseItemAllocationRepository.findByExpenseIdForUpdate(expenseId);
+    List<ExpenseItem> existingItems = expenseItemRepository.findByExpenseExpenseId(expenseId);
+    ExpenseSpending previousSpending = spendingOf(expense, existingItems, allocations);
 
-        for (CreateExpenseRequest.Participant participant : itemParticipants) {
-          ExpenseItemsParticipant expenseItemsParticipant = new ExpenseItemsParticipant();
-          expenseItemsParticipant.setItem(expenseItem);
+    long previousTotal = expense.getTotalAmount() != null ? expense.getTotalAmount() : 0;
+    applyExpenseFields(expense, request, users);
+    expense.setUpdatedAt(now);
+    groupExpenseTotalCounter.add(groupId, expense.getTotalAmount() - previousTotal);
+
+    // 지출 참여자 (사용자 기준으로 추가/삭제)
+    List<User> participantUsers = participantUsers(request, users);
+    Map<Long, ExpenseParticipant> currentParticipants = new HashMap<>();
+    List<Long> deletedParticipantIds = new ArrayList<>();
+    for (ExpenseParticipant participant : expenseParticipantRepository.findByExpenseExpenseId(expenseId)) {
+      if (currentParticipants.putIfAbsent(participant.getUser().getId(), participant) != null) {
+        deletedParticipantIds.add(participant.getId()); // 중복 행 정리
+      }
+    }
+    List<ExpenseParticipant> newParticipants = new ArrayList<>();
+    Set<Long> participantUserIds = new HashSet<>();
+    for (User user : participantUsers) {
+      if (participantUserIds.add(user.getId()) && !currentParticipants.containsKey(user.getId())) {
+        ExpenseParticipant participant = new ExpenseParticipant();
+        participant.setExpense(expense);
+        participant.setUser(user);
+        newParticipants.add(participant);
+      }
+    }
+    currentParticipants.forEach((userId, participant) -> {
+      if (!participantUserIds.contains(userId)) {
+        deletedParticipantIds.add(participant.getId());
+      }
+    });
 
-          User user = userRepository.findById(participant.getUserId())
-                  .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "expense item user not found"));
-          expenseItemsParticipant.setUser(user);
+    // 품목 + 품목 참여자
+    Map<Long, ExpenseItem> currentItems = new LinkedHashMap<>();
+    for (ExpenseItem item : existingItems) {
+      currentItems.put(item.getItemId(), item);
+    }
+    Map<Long, List<ExpenseItemsParticipant>> currentItemParticipants = new HashMap<>();
+    for (ExpenseItemsParticipant participant : expenseItemsParticipantRepository.findByItemExpenseExpenseId(expenseId)) {
+      currentItemParticipants.computeIfAbsent(participant.getItem().getItemId(), k -> new ArrayList<>()).add(participant);
+    }
 
-          expenseItemsParticipants.add(expenseItemsParticipant);
+    List<ShareLine> lines = new ArrayList<>();
+    List<ExpenseItem> newItems = new ArrayList<>();
+    List<ExpenseItemsParticipant> newItemParticipants = new ArrayList<>();
+    List<Long> deletedItemParticipantIds = new ArrayList<>();
+    Set<ExpenseItem> keptItems = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    if (expense.getSettlementType() == SettlementType.ITEMIZED) {
+      for (CreateExpenseRequest.Item requestItem : emptyIfNull(request.getItems())) {
+        Integer price = parseItemPrice(requestItem);
+        List<User> itemUsers = itemUsers(requestItem, price, users);
+
+        ExpenseItem item;
+        if (requestItem.getItemId() != null) {
+          item = currentItems.get(requestItem.getItemId());
+          if (item == null || !keptItems.add(item)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid itemId: " + requestItem.getItemId());
+          }
+          if (!Objects.equals(item.getItemName(), requestItem.getItemName()) || !Objects.equals(item.getLineAmount(), price)) {
+            item.setItemName(requestItem.getItemName());
+            item.setLineAmount(price);
+            item.setUpdatedAt(now);
+          }
+        } else {
+          item = new ExpenseItem();
+          item.setExpense(expense);
+          item.setItemName(requestItem.getItemName());
+          item.setLineAmount(price);
+          item.setCreatedAt(now);
+          item.setUpdatedAt(now);
+          newItems.add(item);
         }
 
-        expenseItemsParticipantRepository.saveAll(expenseItemsParticipants);
-        // ========================================================================================================================
-
-        expenseItems.add(expenseItem);
+        // 품목 참여자 (사용자 기준으로 추가/삭제)
+        Set<Long> itemUserIds = new HashSet<>();
+        for (User user : itemUsers) {
+          itemUserIds.add(user.getId());
+        }
+        Set<Long> remainingUserIds = new HashSet<>();
+        for (ExpenseItemsParticipant participant : currentItemParticipants.getOrDefault(item.getItemId(), List.of())) {
+          if (!itemUserIds.contains(participant.getUser().getId())
+                  || !remainingUserIds.add(participant.getUser().getId())) {
+            deletedItemParticipantIds.add(participant.getId());
+          }
+        }
+        for (User user : itemUsers) {
+          if (remainingUserIds.add(user.getId())) {
+            ExpenseItemsParticipant participant = new ExpenseItemsParticipant();
+            participant.setItem(item);
+            participant.setUser(user);
+            newItemParticipants.add(participant);
+          }
+        }
 
+        lines.add(new ShareLine(item, price, itemUsers));
       }
+    }
 
-      expenseItemRepository.saveAll(expenseItems);
+    // 요청에 없는 기존 품목은 삭제
+    List<ExpenseItem> removedItems = new ArrayList<>();
+    for (ExpenseItem item : currentItems.values()) {
+      if (!keptItems.contains(item)) {
+        removedItems.add(item);
+        for (ExpenseItemsParticipant participant : currentItemParticipants.getOrDefault(item.getItemId(), List.of())) {
+          deletedItemParticipantIds.add(participant.getId());
+        }
+      }
     }
 
+    if (expense.getSettlementType() == SettlementType.N_BBANG) {
+      lines.add(nBbangLine(expense, participantUsers));
+    }
 
-    // 지출 참여자 등록 (ExpenseParticipant)
-    List<CreateExpenseRequest.Participant> expenseParticipants = emptyIfNull(request.getParticipants());
+    // 정산 건 변경분 계산
+    // 삭제되는 품목에 걸린 REQUESTED/COMPLETED 건은 금액/상태는 그대로 두고 품목 연결만 끊음 (지출 단위 보정 대상)
+    Set<ExpenseItem> removedItemSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    removedItemSet.addAll(removedItems);
+    for (ExpenseAllocation allocation : allocations) {
+      if (allocation.getStatus() != SettlementStatus.UNSETTLED && removedItemSet.contains(allocation.getItem())) {
+        allocation.setItem(null);
+      }
+    }
+    List<ExpenseAllocationDiff.Desired> desired = desiredAllocations(expense, lines);
+    ExpenseAllocationDiff diff = ExpenseAllocationDiff.compute(expense, desired, allocations, now);
+
+    // 1) 새 행 저장 후 flush (배치 INSERT/UPDATE) -> 2) FK 순서대로 테이블별 IN 삭제
+    expenseItemRepository.saveAll(newItems);
+    expenseItemsParticipantRepository.saveAll(newItemParticipants);
+    expenseParticipantRepository.saveAll(newParticipants);
+    expenseItemAllocationRepository.saveAll(diff.created());
+    expenseItemAllocationRepository.flush();
+
+    applyUnsettledChanges(diff);
+    expenseItemsParticipantRepository.deleteAllByIdInBatch(deletedItemParticipantIds);
+    expenseItemRepository.deleteAllByIdInBatch(removedItems.stream().map(ExpenseItem::getItemId).toList());
+    expenseParticipantRepository.deleteAllByIdInBatch(deletedParticipantIds);
+
+    diff.unsettledDeltas().forEach((pair, delta) ->
+            pairBalanceLedger.add(pair.get(0), pair.get(1), SettlementStatus.UNSETTLED, delta));
+    groupSpendingRollupService.apply(groupId, previousSpending, spendingOf(expense, lines, desired));
+    publishAllocationsChanged(diff.changed(), false);
+    publishAllocationsChanged(diff.deleted(), true);
+
+    return new UpdateExpenseResponse(expenseId, diff.created().size(), diff.updated().size(), diff.deleted().size());
+  }
 
-    List<ExpenseParticipant> participants = new ArrayList<>();
-    if (!expenseParticipants.isEmpty()) {
+  /**
+   * 지출 삭제
+   * 새 분담금이 0 인 수정과 같게 처리합니다. 미정산 건은 삭제하고, 이미 요청/완료된 건은 그대로 두면서
+   * 같은 금액의 반대 방향 보정 건(미정산)을 만듭니다.
+   * 남는 정산 건과 보정 건은 지출/품목 연결을 끊은(NULL) 뒤 지출과 하위 행을 삭제합니다.
+   */
+  @Override
+  @Transactional
+  public void deleteExpense(Long groupId, Long expenseId) {
+    Expense expense = findGroupExpense(groupId, expenseId);
+
+    List<ExpenseAllocation> allocations = expenseItemAllocationRepository.findByExpenseIdForUpdate(expenseId);
+    List<ExpenseItem> items = expenseItemRepository.findByExpenseExpenseId(expenseId);
+    groupSpendingRollupService.apply(groupId, spendingOf(expense, items, allocations), null);
+
+    // 보정 건은 지울 지출/품목에 연결하지 않음
+    ExpenseAllocationDiff diff = ExpenseAllocationDiff.compute(expense, List.of(), allocations, LocalDateTime.now());
+    for (ExpenseAllocation allocation : diff.created()) {
+      allocation.setExpense(null);
+      allocation.setItem(null);
+    }
+    diff.unsettledDeltas().forEach((pair, delta) ->
+            pairBalanceLedger.add(pair.get(0), pair.get(1), SettlementStatus.UNSETTLED, delta));
+
+    // 보정 건 저장 -> 미정산 건 삭제 -> 남는 건 연결 해제 -> 자식 테이블부터 IN 삭제
+    expenseItemAllocationRepository.saveAll(diff.created());
+    applyUnsettledChanges(diff);
+    expenseItemAllocationRepository.detachFromExpense(expenseId);
+    expenseItemsParticipantRepository.deleteAllByIdInBatch(
+            expenseItemsParticipantRepository.findByItemExpenseExpenseId(expenseId).stream()
+                    .map(ExpenseItemsParticipant::getId).toList());
+    expenseItemRepository.deleteAllByIdInBatch(items.stream().map(ExpenseItem::getItemId).toList());
+    expenseParticipantRepository.deleteAllByIdInBatch(
+            expenseParticipantRepository.findByExpenseExpenseId(expenseId).stream()
+                    .map(ExpenseParticipant::getId).toList());
+    expenseRepository.delete(expense);
+
+    groupExpenseTotalCounter.add(groupId, -(long) (expense.getTotalAmount() != null ? expense.getTotalAmount() : 0));
+    publishAllocationsChanged(diff.created(), false);
+    publishAllocationsChanged(diff.deleted(), true);
+  }
 
+  // 미정산 건 금액 수정/삭제 (status = UNSETTLED 조건이라 그 사이 요청/완료된 건은 건드리지 않고, 건수가 다르면 409)
+  // 엔티티를 고쳐 flush 하면 status 까지 전체 컬럼을 덮어쓰므로 쿼리로 직접 반영
+  private void applyUnsettledChanges(ExpenseAllocationDiff diff) {
+    for (ExpenseAllocation allocation : diff.updated()) {
+      int updated = expenseItemAllocationRepository.updateShareAmountByIdAndStatus(
+              allocation.getAllocationId(), diff.updatedAmount(allocation), SettlementStatus.UNSETTLED);
+      if (updated != 1) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "settlement was requested concurrently");
+      }
+    }
 
-        for (CreateExpenseRequest.Participant expenseParticipant : expenseParticipants) {
-            Long userId = expenseParticipant.getUserId();
-            if (userId == null) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "participant.userId is required");
-            }
+    List<Long> deletedIds = diff.deleted().stream().map(ExpenseAllocation::getAllocationId).toList();
+    if (!deletedIds.isEmpty()
+            && expenseItemAllocationRepository.deleteByIdsAndStatus(deletedIds, SettlementStatus.UNSETTLED) != deletedIds.size()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "settlement was requested concurrently");
+    }
+  }
 
-            ExpenseParticipant participant = new ExpenseParticipant();
-              participant.setExpense(savedExpense);
-              participant.setUser(userRepository.getReferenceById(userId));
-            participants.add(participant);
-        }
-        expenseParticipantRepository.saveAll(participants);
+  private Expense findGroupExpense(Long groupId, Long expenseId) {
+    Expense expense = expenseRepository.findById(expenseId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Expense not found"));
+    if (expense.getGroup() == null || !expense.getGroup().getId().equals(groupId)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Expense not found");
     }
+    return expense;
+  }
 
+  // 결제자/제목/날짜/총액/영수증/정산 타입 검증 후 반영 (등록, 수정 공통)
+  private void applyExpenseFields(Expense expense, CreateExpenseRequest request, Map<Long, User> users) {
+    expense.setPayerUser(users.get(request.getPayerUserId()));
+    expense.setSpentAt(request.getSpentAt());
+    expense.setTitle(request.getTitle());
 
-    // 각 참여자당 결제자에게 얼마를 줘야할지 계산
-    // N빵인 경우
-    // =========================================================================================================================
-    if (savedExpense.getSettlementType() == SettlementType.N_BBANG) {
+    Integer totalAmount = numberParser.parseInt(request.getTotalAmount());
+    if (totalAmount == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Total amount is required");
+    }
+    expense.setTotalAmount(totalAmount); // 총 금액
 
-      Integer total = savedExpense.getTotalAmount();
-      if (total == null) {
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "totalAmount is required for N_BBANG");
-      }
+    // 영수증 연결 (선택)
+    Long currentReceiptId = expense.getReceipt() != null ? expense.getReceipt().getId() : null;
+    if (request.getReceiptImageId() == null) {
+      expense.setReceipt(null);
+    } else if (!request.getReceiptImageId().equals(currentReceiptId)) {
+      Receipt receipt = receiptRepository.findById(request.getReceiptImageId())
+              .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Receipt not found"));
+      expense.setReceipt(receipt);
+    }
 
-      int count = participants.size();
-      if (count == 0) {
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "participants are required for N_BBANG");
-      }
+    // 지출 타입 저장
+    SettlementType settlementType = request.getSettlementType();
+    if (settlementType == null || (settlementType != SettlementType.N_BBANG && settlementType != SettlementType.ITEMIZED)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "settlement type is required");
+    }
+    expense.setSettlementType(settlementType);
+  }
 
-      int baseShare = total / count;
-      int remainder = total % count; // 나머지 잔돈
+  private Integer parseItemPrice(CreateExpenseRequest.Item item) {
+    Integer itemPrice = numberParser.parseInt(item.getPrice());
+    if (itemPrice == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "item price is required");
+    }
+    return itemPrice;
+  }
 
-      User payer = savedExpense.getPayerUser(); // 결제자
+  private List<User> itemUsers(CreateExpenseRequest.Item item, Integer price, Map<Long, User> users) {
+    List<CreateExpenseRequest.Participant> itemParticipants = emptyIfNull(item.getItemParticipants());
+    if (itemParticipants.isEmpty() && price != 0) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "itemParticipants are required");
+    }
+    List<User> itemUsers = new ArrayList<>(itemParticipants.size());
+    for (CreateExpenseRequest.Participant participant : itemParticipants) {
+      itemUsers.add(users.get(participant.getUserId()));
+    }
+    return itemUsers;
+  }
 
-      List<ExpenseAllocation> allocations = new ArrayList<>();
-      for (ExpenseParticipant participant : participants) {
-        User sender = participant.getUser(); // 송금자
+  private List<User> participantUsers(CreateExpenseRequest request, Map<Long, User> users) {
+    List<User> participantUsers = new ArrayList<>();
+    for (CreateExpenseRequest.Participant participant : emptyIfNull(request.getParticipants())) {
+      participantUsers.add(users.get(participant.getUserId()));
+    }
+    return participantUsers;
+  }
 
-        if (sender == payer) { // 결제자가 자신에게 보내는 경우는 제외
-          continue;
-        }
+  // N빵은 총액 1줄
+  private ShareLine nBbangLine(Expense expense, List<User> participantUsers) {
+    if (participantUsers.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "participants are required for N_BBANG");
+    }
+    return new ShareLine(null, expense.getTotalAmount(), participantUsers);
+  }
 
-        ExpenseAllocation expenseAllocation = new ExpenseAllocation();
-        expenseAllocation.setGroup(savedExpense.getGroup());
-        expenseAllocation.setExpense(savedExpense);
-        expenseAllocation.setItem(null);
-        expenseAllocation.setSender(sender);
-        expenseAllocation.setReceiver(payer);
-        expenseAllocation.setShareAmount(baseShare);
-        expenseAllocation.setStatus(SettlementStatus.UNSETTLED);
-        expenseAllocation.setCreatedAt(now);
-
-        allocations.add(expenseAllocation);
-      }
+  // 줄(N빵 총액 / 품목)별 분담금 계산 -> 결제자에게 보낼 금액 (결제자 본인 몫은 제외)
+  private List<ExpenseAllocationDiff.Desired> desiredAllocations(Expense expense, List<ShareLine> lines) {
+    long[] lineAmounts = new long[lines.size()];
+    int[] lineStart = new int[lines.size() + 1];
+    List<User> shareUsers = new ArrayList<>();
+    for (int i = 0; i < lines.size(); i++) {
+      ShareLine line = lines.get(i);
+      lineAmounts[i] = line.amount();
+      lineStart[i + 1] = lineStart[i] + line.users().size();
+      shareUsers.addAll(line.users());
+    }
 
-      if (remainder != 0) { // 가격이 남을 경우, 모든 인원이 나머지를 지불
-        for (ExpenseAllocation expenseAllocation : allocations) {
-          expenseAllocation.setShareAmount(baseShare + remainder);
-        }
+    int[] shareIndexes = new int[shareUsers.size()];
+    for (int i = 0; i < shareIndexes.length; i++) {
+      shareIndexes[i] = i;
+    }
+    AllocationCalculator.Shares shares = AllocationCalculator.calculate(lineAmounts, lineStart, shareIndexes);
+
+    User payer = expense.getPayerUser(); // 결제자
+    List<ExpenseAllocationDiff.Desired> desired = new ArrayList<>(shares.size());
+    for (int i = 0; i < shares.size(); i++) {
+      User sender = shareUsers.get(shares.participant(i)); // 송금자
+      if (sender.getId().equals(payer.getId())) { // 결제자가 자신에게 보내는 경우는 제외
+        continue;
       }
+      desired.add(new ExpenseAllocationDiff.Desired(lines.get(shares.line(i)).item(), sender, payer, shares.amount(i)));
+    }
+    return desired;
+  }
 
-      expenseItemAllocationRepository.saveAll(allocations);
-
+  // 그룹 지출 집계에 더할 값 (새로 계산한 분담금 기준)
+  private ExpenseSpending spendingOf(Expense expense, List<ShareLine> lines, List<ExpenseAllocationDiff.Desired> desired) {
+    long lineTotal = 0;
+    for (ShareLine line : lines) {
+      lineTotal += line.amount();
     }
-    // 항목별인 경우
-    // =========================================================================================================================
-    else if (savedExpense.getSettlementType() == SettlementType.ITEMIZED) {
-      User payer = savedExpense.getPayerUser(); // 결제자
+    Long payerId = expense.getPayerUser().getId();
+    Map<Long, Long> owedToPayer = new HashMap<>();
+    for (ExpenseAllocationDiff.Desired row : desired) {
+      ExpenseSpending.addOwed(owedToPayer, payerId, row.sender().getId(), row.receiver().getId(), row.amount());
+    }
+    return ExpenseSpending.of(ExpenseSpending.dayOf(expense.getSpentAt(), expense.getCreatedAt()), payerId,
+            expense.getTitle(), expense.getTotalAmount(), lineTotal, owedToPayer);
+  }
 
-      List<ExpenseItem> items = expenseItemRepository.findByExpenseExpenseId(savedExpense.getExpenseId()); // 각 항목들
+  // 그룹 지출 집계에서 뺄 값 (수정/삭제 전 정산 건 기준)
+  private ExpenseSpending spendingOf(Expense expense, List<ExpenseItem> items, List<ExpenseAllocation> allocations) {
+    long totalAmount = expense.getTotalAmount() != null ? expense.getTotalAmount() : 0;
+    long lineTotal = totalAmount;
+    if (expense.getSettlementType() == SettlementType.ITEMIZED) {
+      lineTotal = 0;
       for (ExpenseItem item : items) {
+        lineTotal += item.getLineAmount() != null ? item.getLineAmount() : 0;
+      }
+    }
+    return ExpenseSpending.fromAllocations(ExpenseSpending.dayOf(expense.getSpentAt(), expense.getCreatedAt()),
+            expense.getPayerUser() != null ? expense.getPayerUser().getId() : null,
+            expense.getTitle(), totalAmount, lineTotal, allocations);
+  }
 
-        Integer lineAmount = item.getLineAmount(); // 각 항목의 가격
-
-        // 각 항목의 구매 참여자
-        List<ExpenseItemsParticipant> itemParticipants = expenseItemsParticipantRepository.findByItemItemId(item.getItemId());
-
-        int count = itemParticipants.size();
-
-        int baseShare = lineAmount / count;
-        int remainder = lineAmount % count;
+  // 정산 건 생성/수정/삭제 알림 (커밋 후 SSE push, 그룹 정산 현황 캐시 무효화)
+  // 삭제된 건은 deleted 이벤트로 따로 보냄 (UNSETTLED 상태 변경으로 보이지 않도록)
+  private void publishAllocationsChanged(List<ExpenseAllocation> allocations, boolean deleted) {
+    Map<List<Long>, List<Long>> allocationIdsByKey = new LinkedHashMap<>();
+    for (ExpenseAllocation allocation : allocations) {
+      List<Long> key = List.of(allocation.getGroup().getId(),
+              allocation.getSender().getId(), allocation.getReceiver().getId());
+      allocationIdsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(allocation.getAllocationId());
+    }
 
-        List<ExpenseAllocation> allocations = new ArrayList<>();
-        for (ExpenseItemsParticipant itemParticipant : itemParticipants) {
+    LocalDateTime now = LocalDateTime.now();
+    allocationIdsByKey.forEach((key, allocationIds) -> eventPublisher.publishEvent(
+            new SettlementStatusChangedEvent(key.get(0), key.get(1), key.get(2), allocationIds,
+                    SettlementStatus.UNSETTLED, now, deleted)));
+  }
 
-          User sender = itemParticipant.getUser();
+  // 분담금을 나눌 금액 1줄 (N빵이면 item 은 null)
+  private record ShareLine(ExpenseItem item, long amount, List<User> users) {
+  }
 
-          if (sender == payer) {
-            continue;
-          }
+  // 요청의 사용자 ID 를 모아 findAllById 1번 + 그룹 멤버 조회 1번으로 검증 (영수증 크기와 무관하게 쿼리 수 고정)
+  private Map<Long, User> resolveGroupUsers(Long groupId, CreateExpenseRequest request) {
+    return resolveGroupUsers(groupId, List.of(request));
+  }
 
-          ExpenseAllocation expenseAllocation = new ExpenseAllocation();
-          expenseAllocation.setGroup(savedExpense.getGroup());
-          expenseAllocation.setExpense(savedExpense);
-          expenseAllocation.setItem(item);
-          expenseAllocation.setSender(sender);
-          expenseAllocation.setReceiver(payer);
-          expenseAllocation.setShareAmount(baseShare);
-          expenseAllocation.setStatus(SettlementStatus.UNSETTLED);
-          expenseAllocation.setCreatedAt(now);
-
-          allocations.add(expenseAllocation);
+  // 여러 요청의 사용자를 모아 조회 1번, 멤버 확인 1번
+  private Map<Long, User> resolveGroupUsers(Long groupId, List<CreateExpenseRequest> requests) {
+    Set<Long> userIds = new LinkedHashSet<>();
+    Set<Long> payerUserIds = new LinkedHashSet<>();
+    for (CreateExpenseRequest request : requests) {
+      if (request.getPayerUserId() == null) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "payerUserId is required");
+      }
+      userIds.add(request.getPayerUserId());
+      payerUserIds.add(request.getPayerUserId());
+      for (CreateExpenseRequest.Participant participant : emptyIfNull(request.getParticipants())) {
+        if (participant.getUserId() == null) {
+          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "participant.userId is required");
         }
-
-        if (remainder != 0) { // 가격이 남을 경우, 모든 인원이 나머지를 지불
-          for (ExpenseAllocation expenseAllocation : allocations) {
-            expenseAllocation.setShareAmount(baseShare + remainder);
+        userIds.add(participant.getUserId());
+      }
+      if (request.getSettlementType() == SettlementType.ITEMIZED) {
+        for (CreateExpenseRequest.Item item : emptyIfNull(request.getItems())) {
+          for (CreateExpenseRequest.Participant participant : emptyIfNull(item.getItemParticipants())) {
+            if (participant.getUserId() == null) {
+              throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "itemParticipant.userId is required");
+            }
+            userIds.add(participant.getUserId());
           }
         }
-
-        expenseItemAllocationRepository.saveAll(allocations);
-
       }
     }
 
-    return new CreateExpenseResponse(savedExpense.getExpenseId());
+    Map<Long, User> users = new HashMap<>();
+    for (User user : userRepository.findAllById(userIds)) {
+      users.put(user.getId(), user);
+    }
+    if (!users.keySet().containsAll(payerUserIds)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Payer user not found");
+    }
+    List<Long> missingUserIds = userIds.stream().filter(id -> !users.containsKey(id)).toList();
+    if (!missingUserIds.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "user not found: " + missingUserIds);
+    }
+
+    Set<Long> memberUserIds = new HashSet<>(memberRepository.findUserIdsByGroupIdAndUserIdIn(groupId, userIds));
+    List<Long> nonMemberUserIds = userIds.stream().filter(id -> !memberUserIds.contains(id)).toList();
+    if (!nonMemberUserIds.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "users are not members of the group: " + nonMemberUserIds);
+    }
+    return users;
   }
 
   private static <T> List<T> emptyIfNull(List<T> list) {
       return list == null ? List.of() : list;
   }
 
+  /**
+   * 그룹 총 지출 금액
+   * 기간 조건이 없으면 그룹의 합계 카운터를 읽고, 있으면 (group_id, spent_at) 인덱스 범위를 SQL SUM 으로 집계합니다.
+   */
   @Override
   @Transactional(readOnly = true)
-  public GroupExpenseTotalResponse getGroupTotal(Long groupId) {
-      groupRepository.findById(groupId)
-              .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
-      long totalAmount = expenseRepository.findAllByGroup_Id(groupId).stream()
-              .map(Expense::getTotalAmount)
-              .filter(Objects::nonNull)
-              .mapToLong(Integer::longValue)
-              .sum();
+  public GroupExpenseTotalResponse getGroupTotal(Long groupId, LocalDate startDate, LocalDate endDate) {
+      if (!groupRepository.existsById(groupId)) {
+          throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+      }
+      if (startDate == null && endDate == null) {
+          return new GroupExpenseTotalResponse(groupId, groupExpenseTotalCounter.get(groupId));
+      }
+
+      if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate must be before endDate");
+      }
+      LocalDateTime startDateTime = startDate != null ? startDate.atStartOfDay() : null;
+      LocalDateTime endDateTime = endDate != null ? endDate.atTime(LocalTime.MAX) : null;
+      long totalAmount = expenseRepository.sumTotalAmountByGroupId(groupId, startDateTime, endDateTime);
       return new GroupExpenseTotalResponse(groupId, totalAmount);
   }
 
   @Override
   @Transactional(readOnly = true)
   public GroupExpenseResponse getGroupExpenses(Long groupId, LocalDate startDate, LocalDate endDate) { // 그룹의 총 지출내역 조회
-      groupRepository.findById(groupId)
-              .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
+      if (!groupRepository.existsById(groupId)) {
+          throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+      }
 
       if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
           throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate must be before endDate");
@@ -300,55 +655,102 @@ public class ExpenseServiceImpl implements ExpenseService {
       LocalDateTime startDateTime = startDate != null ? startDate.atStartOfDay() : null;
       LocalDateTime endDateTime = endDate != null ? endDate.atTime(LocalTime.MAX) : null;
 
-      // 그룹에 속한 모든 지출을 조회해서, 연관 테이블을 JSON 형태로 묶어 반환
-      List<Expense> expenses;
-      if (startDateTime != null && endDateTime != null) {
-          expenses = expenseRepository.findAllByGroup_IdAndSpentAtBetween(groupId, startDateTime, endDateTime);
-      } else if (startDateTime != null) {
-          expenses = expenseRepository.findAllByGroup_IdAndSpentAtGreaterThanEqual(groupId, startDateTime);
-      } else if (endDateTime != null) {
-          expenses = expenseRepository.findAllByGroup_IdAndSpentAtLessThanEqual(groupId, endDateTime);
-      } else {
-          expenses = expenseRepository.findAllByGroup_Id(groupId);
+      // 지출 목록 1번 + 참여자/품목/품목 참여자를 IN (:expenseIds) 로 1번씩 조회해 메모리에서 조립
+      // (지출 수와 무관하게 쿼리 수 고정, IN 목록은 IN_QUERY_CHUNK_SIZE 단위로 나눔)
+      List<ExpenseSummary> expenses = expenseRepository.findSummariesByGroupId(groupId, startDateTime, endDateTime);
+      return new GroupExpenseResponse(groupId, toExpenseResponses(expenses, true, true));
+  }
+
+  /**
+   * 그룹 지출 타임라인 (키셋 페이지네이션)
+   * spentAt DESC, expenseId DESC 순으로 size 건씩 조회하며, 응답의 nextCursor 로 다음 페이지를 요청합니다.
+   * 기본은 지출 요약만 내려주고, expand=participants / expand=items 일 때만 해당 페이지의 참여자/품목을 추가로 조회합니다.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public ExpenseTimelineResponse getExpenseTimeline(Long groupId, String cursor, Integer size, List<String> expand) {
+      if (!groupRepository.existsById(groupId)) {
+          throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
       }
-      List<GroupExpenseResponse.ExpenseResponse> expenseResponses = new ArrayList<>();
-
-      for (Expense expense : expenses) {
-          // 지출 참여자 목록
-          List<GroupExpenseResponse.ParticipantResponse> participantResponses = new ArrayList<>();
-          List<ExpenseParticipant> participants = expenseParticipantRepository.findByExpenseExpenseId(expense.getExpenseId());
-          for (ExpenseParticipant participant : participants) {
-              participantResponses.add(new GroupExpenseResponse.ParticipantResponse(
-                      participant.getUser().getId()
-              ));
+
+      int pageSize = (size == null) ? DEFAULT_PAGE_SIZE : size;
+      if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+      }
+
+      boolean includeParticipants = false;
+      boolean includeItems = false;
+      for (String field : emptyIfNull(expand)) {
+          switch (field.trim().toLowerCase()) {
+              case EXPAND_PARTICIPANTS -> includeParticipants = true;
+              case EXPAND_ITEMS -> includeItems = true;
+              default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown expand: " + field);
           }
+      }
+
+      KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+      List<ExpenseSummary> expenses = expenseRepository.findTimelinePage(groupId,
+              keysetCursor != null ? keysetCursor.timestamp() : null,
+              keysetCursor != null ? keysetCursor.id() : null,
+              Limit.of(pageSize + 1)); // 다음 페이지 존재 여부 확인용 +1
+
+      boolean hasNext = expenses.size() > pageSize;
+      if (hasNext) {
+          expenses = expenses.subList(0, pageSize);
+      }
+      ExpenseSummary last = expenses.isEmpty() ? null : expenses.get(expenses.size() - 1);
+      String nextCursor = hasNext ? new KeysetCursor(last.getSpentAt(), last.getExpenseId()).encode() : null;
 
-          List<GroupExpenseResponse.ExpenseItemResponse> itemResponses = new ArrayList<>();
+      return new ExpenseTimelineResponse(groupId,
+              toExpenseResponses(expenses, includeParticipants, includeItems), nextCursor, hasNext);
+  }
+
+  // 지출 요약 목록에 참여자와 품목/품목 참여자를 붙여 응답으로 변환 (포함하지 않는 목록은 null)
+  private List<GroupExpenseResponse.ExpenseResponse> toExpenseResponses(List<ExpenseSummary> expenses,
+                                                                        boolean includeParticipants, boolean includeItems) {
+      List<Long> expenseIds = new ArrayList<>(expenses.size());
+      List<Long> itemizedExpenseIds = new ArrayList<>();
+      for (ExpenseSummary expense : expenses) {
+          expenseIds.add(expense.getExpenseId());
           if (expense.getSettlementType() == SettlementType.ITEMIZED) {
-              // 품목별 정산일 때만 항목과 항목 참여자를 포함
-              List<ExpenseItem> items = expenseItemRepository.findByExpenseExpenseId(expense.getExpenseId());
-              for (ExpenseItem item : items) {
-                  List<GroupExpenseResponse.ItemParticipantResponse> itemParticipantResponses = new ArrayList<>();
-                  List<ExpenseItemsParticipant> itemParticipants =
-                          expenseItemsParticipantRepository.findByItemItemId(item.getItemId());
-                  for (ExpenseItemsParticipant itemParticipant : itemParticipants) {
-                      itemParticipantResponses.add(new GroupExpenseResponse.ItemParticipantResponse(
-                              itemParticipant.getUser().getId()
-                      ));
-                  }
-
-                  itemResponses.add(new GroupExpenseResponse.ExpenseItemResponse(
-                          item.getItemId(),
-                          item.getItemName(),
-                          item.getLineAmount(),
-                          itemParticipantResponses
-                  ));
-              }
+              itemizedExpenseIds.add(expense.getExpenseId());
           }
+      }
 
-          Long receiptId = expense.getReceipt() != null ? expense.getReceipt().getId() : null;
-          Long payerUserId = expense.getPayerUser() != null ? expense.getPayerUser().getId() : null;
+      // 지출 참여자 목록
+      Map<Long, List<GroupExpenseResponse.ParticipantResponse>> participantsByExpenseId = new HashMap<>();
+      for (List<Long> chunk : includeParticipants ? chunks(expenseIds) : List.<List<Long>>of()) {
+          for (ExpenseUserRef ref : expenseParticipantRepository.findUserRefsByExpenseIds(chunk)) {
+              participantsByExpenseId.computeIfAbsent(ref.getParentId(), k -> new ArrayList<>())
+                      .add(new GroupExpenseResponse.ParticipantResponse(ref.getUserId()));
+          }
+      }
+
+      // 품목별 정산일 때만 항목과 항목 참여자를 포함
+      Map<Long, List<GroupExpenseResponse.ExpenseItemResponse>> itemsByExpenseId = new HashMap<>();
+      if (includeItems) {
+          Map<Long, List<GroupExpenseResponse.ItemParticipantResponse>> participantsByItemId = new HashMap<>();
+          List<ExpenseItemSummary> items = new ArrayList<>();
+          for (List<Long> chunk : chunks(itemizedExpenseIds)) {
+              for (ExpenseUserRef ref : expenseItemsParticipantRepository.findUserRefsByExpenseIds(chunk)) {
+                  participantsByItemId.computeIfAbsent(ref.getParentId(), k -> new ArrayList<>())
+                          .add(new GroupExpenseResponse.ItemParticipantResponse(ref.getUserId()));
+              }
+              items.addAll(expenseItemRepository.findSummariesByExpenseIds(chunk));
+          }
+          for (ExpenseItemSummary item : items) {
+              itemsByExpenseId.computeIfAbsent(item.getExpenseId(), k -> new ArrayList<>())
+                      .add(new GroupExpenseResponse.ExpenseItemResponse(
+                              item.getItemId(),
+                              item.getItemName(),
+                              item.getLineAmount(),
+                              participantsByItemId.getOrDefault(item.getItemId(), new ArrayList<>())
+                      ));
+          }
+      }
 
+      List<GroupExpenseResponse.ExpenseResponse> expenseResponses = new ArrayList<>(expenses.size());
+      for (ExpenseSummary expense : expenses) {
           // 지출 1건의 응답 DTO 구성
           expenseResponses.add(new GroupExpenseResponse.ExpenseResponse(
                   expense.getExpenseId(),
@@ -356,13 +758,20 @@ public class ExpenseServiceImpl implements ExpenseService {
                   expense.getSpentAt(),
                   expense.getTotalAmount(),
                   expense.getSettlementType().name(),
-                  payerUserId,
-                  receiptId,
-                  participantResponses,
-                  itemResponses
+                  expense.getPayerUserId(),
+                  expense.getReceiptId(),
+                  includeParticipants ? participantsByExpenseId.getOrDefault(expense.getExpenseId(), new ArrayList<>()) : null,
+                  includeItems ? itemsByExpenseId.getOrDefault(expense.getExpenseId(), new ArrayList<>()) : null
           ));
       }
+      return expenseResponses;
+  }
 
-      return new GroupExpenseResponse(groupId, expenseResponses);
+  private static List<List<Long>> chunks(List<Long> ids) {
+      List<List<Long>> chunks = new ArrayList<>();
+      for (int from = 0; from < ids.size(); from += IN_QUERY_CHUNK_SIZE) {
+          chunks.add(ids.subList(from, Math.min(from + IN_QUERY_CHUNK_SIZE, ids.size())));
+      }
+      return chunks;
   }
 }
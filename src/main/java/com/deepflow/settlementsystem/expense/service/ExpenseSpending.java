@@ -0,0 +1,75 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.entity.ExpenseAllocation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 지출 1건이 그룹 지출 집계에 더하는 값
+ * 참여자 분담금은 "결제자에게 보낼 금액" 이고, 결제자 본인 몫은 분담 대상 금액(lineTotal)에서 나머지를 뺀 값입니다.
+ * 등록/수정 시에는 계산한 분담금으로, 수정/삭제 전 기존 값은 정산 건의 쌍별 합계로 만들어
+ * 두 값이 항상 같도록 합니다. (REQUESTED/COMPLETED 보정 건이 있어도 쌍별 합계는 분담금과 같음)
+ *
+ * @param day     지출일 (spentAt, 없으면 등록일)
+ * @param shares  사용자 ID -> 본인 분담금 (0 인 사용자는 없음)
+ */
+record ExpenseSpending(LocalDate day, Long payerId, String merchant, long totalAmount, Map<Long, Long> shares) {
+
+    static LocalDate dayOf(LocalDateTime spentAt, LocalDateTime createdAt) {
+        if (spentAt != null) {
+            return spentAt.toLocalDate();
+        }
+        return createdAt != null ? createdAt.toLocalDate() : null;
+    }
+
+    /**
+     * @param owedToPayer 결제자가 아닌 사용자 ID -> 결제자에게 보낼 금액
+     * @param lineTotal   분담 대상 금액 (N빵은 총액, 품목별은 품목 금액 합계)
+     */
+    static ExpenseSpending of(LocalDate day, Long payerId, String merchant, long totalAmount,
+                              long lineTotal, Map<Long, Long> owedToPayer) {
+        Map<Long, Long> shares = new HashMap<>();
+        long othersTotal = 0;
+        for (Map.Entry<Long, Long> entry : owedToPayer.entrySet()) {
+            if (entry.getValue() != 0) {
+                shares.put(entry.getKey(), entry.getValue());
+                othersTotal += entry.getValue();
+            }
+        }
+        if (payerId != null && lineTotal - othersTotal != 0) {
+            shares.put(payerId, lineTotal - othersTotal);
+        }
+        return new ExpenseSpending(day, payerId, merchant, totalAmount, shares);
+    }
+
+    /**
+     * 기존 정산 건으로 만든 값 (결제자 기준 쌍별 순합계)
+     */
+    static ExpenseSpending fromAllocations(LocalDate day, Long payerId, String merchant, long totalAmount,
+                                           long lineTotal, Collection<ExpenseAllocation> allocations) {
+        Map<Long, Long> owedToPayer = new HashMap<>();
+        for (ExpenseAllocation allocation : allocations) {
+            if (allocation.getShareAmount() == null || allocation.getSender() == null || allocation.getReceiver() == null) {
+                continue;
+            }
+            addOwed(owedToPayer, payerId, allocation.getSender().getId(), allocation.getReceiver().getId(),
+                    allocation.getShareAmount());
+        }
+        return of(day, payerId, merchant, totalAmount, lineTotal, owedToPayer);
+    }
+
+    static void addOwed(Map<Long, Long> owedToPayer, Long payerId, Long senderId, Long receiverId, long amount) {
+        if (payerId == null) {
+            return;
+        }
+        if (receiverId.equals(payerId) && !senderId.equals(payerId)) {
+            owedToPayer.merge(senderId, amount, Long::sum);
+        } else if (senderId.equals(payerId) && !receiverId.equals(payerId)) {
+            owedToPayer.merge(receiverId, -amount, Long::sum); // 보정 건 (결제자 -> 참여자)
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 파일시스템 영수증 이미지 저장소
+ * {root}/ab/cd/abcd...(64자) 형태로 해시 앞 4자리를 2단계 디렉터리로 나눠 저장합니다.
+ * 임시 파일(같은 파일시스템의 {root}/tmp)에 쓰면서 해시를 계산하고, fsync 후 원자적 rename 으로 공개하므로
+ * 읽는 쪽에서 쓰다 만 파일을 볼 일이 없습니다.
+ */
+@Slf4j
+@Component
+public class FileSystemReceiptBlobStore implements ReceiptBlobStore {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path root;
+    private final Path tempDir;
+
+    public FileSystemReceiptBlobStore(@Value("${receipt.storage.root:./data/receipts}") Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tempDir = Files.createDirectories(this.root.resolve("tmp"));
+    }
+
+    @Override
+    public StoredBlob store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        try {
+            long size;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 OutputStream out = Channels.newOutputStream(channel)) {
+                size = new DigestInputStream(content, digest).transferTo(out);
+                channel.force(true);
+            }
+
+            String hash = HEX.formatHex(digest.digest());
+            Path target = pathOf(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                // 동시에 같은 이미지가 올라와도 내용이 같으므로 어느 쪽 rename 이 이기든 상관없음
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredBlob(hash, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> open(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(hash);
+        if (!Files.isRegularFile(path)) {
+            log.warn("영수증 이미지 파일 없음: {}", path);
+            return Optional.empty();
+        }
+        return Optional.of(new FileSystemResource(path));
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
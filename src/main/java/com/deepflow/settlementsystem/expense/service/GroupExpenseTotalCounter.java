@@ -0,0 +1,59 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.repository.ExpenseRepository;
+import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 그룹 지출 합계 카운터 (user_groups.expense_total)
+ * 지출 등록/수정/삭제 트랜잭션 안에서 원자적으로 증감하고, 조회는 컬럼 하나만 읽습니다.
+ * 기존 그룹처럼 값이 비어 있으면 첫 조회 때 SUM 으로 한 번 초기화합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class GroupExpenseTotalCounter {
+
+    private final GroupRepository groupRepository;
+    private final ExpenseRepository expenseRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 그룹 지출 합계에 delta 를 더합니다. (음수면 차감)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long groupId, long delta) {
+        if (groupId == null || delta == 0) {
+            return;
+        }
+        groupRepository.addExpenseTotal(groupId, delta);
+    }
+
+    public long get(Long groupId) {
+        Long total = groupRepository.findExpenseTotal(groupId);
+        return total != null ? total : initialize(groupId);
+    }
+
+    // 그룹 행을 잠근 새 트랜잭션에서 SUM -> 저장
+    // 잠금 이후 첫 일반 조회(SUM)가 스냅샷을 만들므로, 먼저 커밋된 지출은 합계에, 나중 지출은 증감으로 반영됨
+    private long initialize(Long groupId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Long total = transactionTemplate.execute(status -> {
+            Long current = groupRepository.lockExpenseTotal(groupId);
+            if (current != null) {
+                return current;
+            }
+            long sum = expenseRepository.sumTotalAmountByGroupId(groupId, null, null);
+            groupRepository.setExpenseTotal(groupId, sum);
+            return sum;
+        });
+        return total != null ? total : 0L;
+    }
+}
@@ -0,0 +1,229 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.dto.GroupSpendingAnalyticsResponse;
+import com.deepflow.settlementsystem.expense.entity.GroupSpendingRollup;
+import com.deepflow.settlementsystem.expense.entity.SettlementType;
+import com.deepflow.settlementsystem.expense.entity.SpendingRollupDimension;
+import com.deepflow.settlementsystem.expense.repository.ExpenseItemAllocationRepository;
+import com.deepflow.settlementsystem.expense.repository.ExpenseItemRepository;
+import com.deepflow.settlementsystem.expense.repository.ExpenseRepository;
+import com.deepflow.settlementsystem.expense.repository.GroupSpendingRollupRepository;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpensePairAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.ExpenseSpendingSource;
+import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import com.deepflow.settlementsystem.user.entity.User;
+import com.deepflow.settlementsystem.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 그룹 지출 집계(group_spending_rollups) 갱신/조회
+ * 갱신은 지출 등록/수정/삭제 트랜잭션 안에서 바뀐 값만 원자적으로 더하고,
+ * 조회는 그룹당 집계 행 몇 개만 읽습니다.
+ * 기존 그룹처럼 아직 집계를 만든 적이 없으면 첫 조회 때 지출/품목/정산 건으로 한 번 재계산합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class GroupSpendingRollupService {
+
+    public static final int DEFAULT_TOP_MERCHANTS = 10;
+    public static final int MAX_TOP_MERCHANTS = 50;
+    private static final int MAX_BUCKET_KEY_LENGTH = 100;
+
+    private final GroupSpendingRollupRepository rollupRepository;
+    private final GroupRepository groupRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseItemRepository expenseItemRepository;
+    private final ExpenseItemAllocationRepository expenseItemAllocationRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 지출 1건의 이전 값(removed)을 빼고 새 값(added)을 더합니다. (등록은 removed, 삭제는 added 가 null)
+     * 같은 집계 행의 증감은 합쳐서 바뀐 행만 갱신합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long groupId, ExpenseSpending removed, ExpenseSpending added) {
+        Map<Bucket, long[]> deltas = new LinkedHashMap<>();
+        collect(deltas, removed, -1);
+        collect(deltas, added, 1);
+        write(groupId, deltas);
+    }
+
+    /**
+     * 여러 지출을 새로 더합니다. (가져오기 청크) 같은 집계 행의 증감은 청크 전체에서 합쳐 1번만 갱신합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(Long groupId, List<ExpenseSpending> added) {
+        Map<Bucket, long[]> deltas = new LinkedHashMap<>();
+        for (ExpenseSpending spending : added) {
+            collect(deltas, spending, 1);
+        }
+        write(groupId, deltas);
+    }
+
+    public GroupSpendingAnalyticsResponse getAnalytics(Long groupId, LocalDate startDate, LocalDate endDate, Integer top) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        int topMerchants = top == null ? DEFAULT_TOP_MERCHANTS : Math.min(Math.max(top, 1), MAX_TOP_MERCHANTS);
+        ensureBuilt(groupId);
+
+        List<GroupSpendingAnalyticsResponse.DailySpending> days = new ArrayList<>();
+        long totalAmount = 0;
+        long expenseCount = 0;
+        for (GroupSpendingRollup rollup : rollupRepository.findBuckets(groupId, SpendingRollupDimension.DAY,
+                startDate != null ? startDate.toString() : null, endDate != null ? endDate.toString() : null)) {
+            days.add(new GroupSpendingAnalyticsResponse.DailySpending(
+                    LocalDate.parse(rollup.getBucketKey()), rollup.getTotalAmount(), rollup.getExpenseCount()));
+            totalAmount += rollup.getTotalAmount();
+            expenseCount += rollup.getExpenseCount();
+        }
+
+        List<GroupSpendingRollup> payers = rollupRepository.findBuckets(groupId, SpendingRollupDimension.PAYER, null, null);
+        List<GroupSpendingRollup> participants = rollupRepository.findBuckets(groupId, SpendingRollupDimension.PARTICIPANT, null, null);
+
+        // 닉네임은 한 번에 조회
+        Set<Long> userIds = new HashSet<>();
+        for (GroupSpendingRollup rollup : payers) {
+            userIds.add(Long.valueOf(rollup.getBucketKey()));
+        }
+        for (GroupSpendingRollup rollup : participants) {
+            userIds.add(Long.valueOf(rollup.getBucketKey()));
+        }
+        Map<Long, String> nicknames = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            nicknames.put(user.getId(), user.getNickname());
+        }
+
+        List<GroupSpendingAnalyticsResponse.MerchantSpending> merchants = new ArrayList<>();
+        for (GroupSpendingRollup rollup : rollupRepository.findTopBuckets(
+                groupId, SpendingRollupDimension.MERCHANT, Limit.of(topMerchants))) {
+            merchants.add(new GroupSpendingAnalyticsResponse.MerchantSpending(
+                    rollup.getBucketKey(), rollup.getTotalAmount(), rollup.getExpenseCount()));
+        }
+
+        return new GroupSpendingAnalyticsResponse(groupId, totalAmount, expenseCount, days,
+                toMemberSpending(payers, nicknames), toMemberSpending(participants, nicknames), merchants);
+    }
+
+    private List<GroupSpendingAnalyticsResponse.MemberSpending> toMemberSpending(
+            List<GroupSpendingRollup> rollups, Map<Long, String> nicknames) {
+        List<GroupSpendingAnalyticsResponse.MemberSpending> result = new ArrayList<>(rollups.size());
+        for (GroupSpendingRollup rollup : rollups) {
+            Long userId = Long.valueOf(rollup.getBucketKey());
+            result.add(new GroupSpendingAnalyticsResponse.MemberSpending(
+                    userId, nicknames.get(userId), rollup.getTotalAmount(), rollup.getExpenseCount()));
+        }
+        result.sort(Comparator.comparingLong(GroupSpendingAnalyticsResponse.MemberSpending::getAmount).reversed());
+        return result;
+    }
+
+    // 그룹 행을 잠근 새 트랜잭션에서 기존 집계 삭제 -> 재계산 -> 완료 표시
+    // 삭제(잠금 읽기)가 끝난 뒤 첫 일반 조회가 스냅샷을 만들므로, 진행 중이던 지출 변경은 커밋 후 재계산에 포함되고
+    // 이후 변경은 집계 행 잠금에 막혔다가 재계산 결과 위에 증감으로 반영됨
+    private void ensureBuilt(Long groupId) {
+        if (groupRepository.findSpendingRollupsBuiltAt(groupId) != null) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (groupRepository.lockSpendingRollupsBuilt(groupId) > 0) {
+                return;
+            }
+            rollupRepository.deleteByGroupId(groupId);
+
+            Map<Long, Long> lineTotals = new HashMap<>();
+            for (ExpenseAmount lineTotal : expenseItemRepository.findLineTotalsByGroupId(groupId)) {
+                lineTotals.put(lineTotal.getExpenseId(), lineTotal.getAmount());
+            }
+            Map<Long, List<ExpensePairAmount>> pairAmounts = new HashMap<>();
+            for (ExpensePairAmount pairAmount : expenseItemAllocationRepository.findExpensePairAmountsByGroupId(groupId)) {
+                pairAmounts.computeIfAbsent(pairAmount.getExpenseId(), k -> new ArrayList<>()).add(pairAmount);
+            }
+
+            Map<Bucket, long[]> totals = new LinkedHashMap<>();
+            for (ExpenseSpendingSource source : expenseRepository.findSpendingSourcesByGroupId(groupId)) {
+                long totalAmount = source.getTotalAmount() != null ? source.getTotalAmount() : 0;
+                long lineTotal = source.getSettlementType() == SettlementType.ITEMIZED
+                        ? lineTotals.getOrDefault(source.getExpenseId(), 0L) : totalAmount;
+
+                Map<Long, Long> owedToPayer = new HashMap<>();
+                for (ExpensePairAmount pairAmount : pairAmounts.getOrDefault(source.getExpenseId(), List.of())) {
+                    ExpenseSpending.addOwed(owedToPayer, source.getPayerUserId(),
+                            pairAmount.getSenderId(), pairAmount.getReceiverId(), pairAmount.getAmount());
+                }
+                collect(totals, ExpenseSpending.of(ExpenseSpending.dayOf(source.getSpentAt(), source.getCreatedAt()),
+                        source.getPayerUserId(), source.getTitle(), totalAmount, lineTotal, owedToPayer), 1);
+            }
+
+            write(groupId, totals);
+            groupRepository.markSpendingRollupsBuilt(groupId);
+        });
+    }
+
+    // 집계 행별 [금액, 건수] 증감
+    private static void collect(Map<Bucket, long[]> deltas, ExpenseSpending spending, int sign) {
+        if (spending == null) {
+            return;
+        }
+        if (spending.day() != null) {
+            add(deltas, SpendingRollupDimension.DAY, spending.day().toString(), sign * spending.totalAmount(), sign);
+        }
+        if (spending.payerId() != null) {
+            add(deltas, SpendingRollupDimension.PAYER, spending.payerId().toString(), sign * spending.totalAmount(), sign);
+        }
+        String merchant = merchantKey(spending.merchant());
+        if (merchant != null) {
+            add(deltas, SpendingRollupDimension.MERCHANT, merchant, sign * spending.totalAmount(), sign);
+        }
+        spending.shares().forEach((userId, share) ->
+                add(deltas, SpendingRollupDimension.PARTICIPANT, userId.toString(), sign * share, sign));
+    }
+
+    private static void add(Map<Bucket, long[]> deltas, SpendingRollupDimension dimension, String key, long amount, int count) {
+        long[] delta = deltas.computeIfAbsent(new Bucket(dimension, key), k -> new long[2]);
+        delta[0] += amount;
+        delta[1] += count;
+    }
+
+    private void write(Long groupId, Map<Bucket, long[]> deltas) {
+        deltas.forEach((bucket, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                rollupRepository.addAmounts(groupId, bucket.dimension().name(), bucket.key(), delta[0], delta[1]);
+            }
+        });
+    }
+
+    private static String merchantKey(String title) {
+        if (title == null || title.isBlank()) {
+            return null;
+        }
+        String trimmed = title.trim();
+        return trimmed.length() > MAX_BUCKET_KEY_LENGTH ? trimmed.substring(0, MAX_BUCKET_KEY_LENGTH) : trimmed;
+    }
+
+    private record Bucket(SpendingRollupDimension dimension, String key) {
+    }
+}
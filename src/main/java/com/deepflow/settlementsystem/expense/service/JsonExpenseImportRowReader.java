@@ -0,0 +1,56 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * JSON 가져오기 리더 (지출 등록 요청 형식 객체의 배열)
+ * 스트리밍 파서로 배열 원소를 하나씩 읽어 변환하므로 파일 크기와 무관하게 원소 1개만 메모리에 올립니다.
+ * 원소 값이 요청 형식과 맞지 않으면 그 행만 실패로 처리하고, JSON 문법 오류는 파일 전체 실패입니다.
+ */
+class JsonExpenseImportRowReader implements ExpenseImportRowReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private int rowNumber;
+
+    JsonExpenseImportRowReader(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(inputStream);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IllegalArgumentException("JSON import must be an array of expenses");
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+
+        rowNumber++;
+        JsonNode node = objectMapper.readTree(parser); // 원소 하나만 트리로 읽음 (문법 오류는 예외)
+        if (!node.isObject()) {
+            return Row.invalid(rowNumber, "expense must be a JSON object");
+        }
+        try {
+            return Row.valid(rowNumber, objectMapper.treeToValue(node, CreateExpenseRequest.class));
+        } catch (JsonProcessingException e) {
+            return Row.invalid(rowNumber, e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -1,12 +1,17 @@
 package com.deepflow.settlementsystem.expense.service;
 
 import com.deepflow.settlementsystem.expense.dto.ReceiptOcrResult;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -14,15 +19,23 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class NaverOcrClient implements OcrClient {
 
     private static final String VERSION = "V2";
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // 커넥션 풀/타임아웃, 서킷 브레이커, 벌크헤드는 OcrClientConfig 참고
+    private final RestTemplate ocrRestTemplate;
+    private final CircuitBreaker ocrCircuitBreaker;
+    private final Bulkhead ocrBulkhead;
+
     @Value("${naver.ocr.url}")
     private String apiUrl;
 
@@ -36,11 +49,21 @@ public class NaverOcrClient implements OcrClient {
         Map<String, Object> payload = buildPayload(format, name, base64); // http body
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, buildHeaders()); // body + header
 
-        // API 요청, dto로 받아오기
-        ResponseEntity<ReceiptOcrResult> response = restTemplate.postForEntity(apiUrl, entity, ReceiptOcrResult.class);
-        ReceiptOcrResult dto = response.getBody(); // 응답에서 body 가져오기
-
-        return dto;
+        // API 요청, dto로 받아오기 (동시 호출 한도 -> 서킷 브레이커 -> HTTP 순)
+        try {
+            return Bulkhead.decorateSupplier(ocrBulkhead, CircuitBreaker.decorateSupplier(ocrCircuitBreaker, () -> {
+                ResponseEntity<ReceiptOcrResult> response = ocrRestTemplate.postForEntity(apiUrl, entity, ReceiptOcrResult.class);
+                return response.getBody(); // 응답에서 body 가져오기
+            })).get();
+        } catch (CallNotPermittedException e) {
+            throw new OcrUnavailableException("OCR circuit breaker is open", e);
+        } catch (BulkheadFullException e) {
+            throw new OcrUnavailableException("too many concurrent OCR calls", e);
+        } catch (ResourceAccessException e) {
+            throw new OcrUnavailableException("OCR request failed: " + e.getMessage(), e);
+        } catch (HttpServerErrorException | HttpClientErrorException.TooManyRequests e) {
+            throw new OcrUnavailableException("OCR API responded " + e.getStatusCode().value(), e);
+        }
     }
 
     private HttpHeaders buildHeaders() { // 요청 헤더 생성
@@ -0,0 +1,12 @@
+package com.deepflow.settlementsystem.expense.service;
+
+/**
+ * OCR API 를 일시적으로 사용할 수 없음 (타임아웃, 5xx/429, 서킷 오픈, 동시 호출 한도 초과)
+ * 잠시 후 다시 시도하면 성공할 수 있는 실패입니다.
+ */
+public class OcrUnavailableException extends RuntimeException {
+
+    public OcrUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
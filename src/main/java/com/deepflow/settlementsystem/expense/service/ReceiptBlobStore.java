@@ -0,0 +1,28 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * 영수증 이미지 저장소 (내용 주소 기반)
+ * 이미지는 SHA-256 해시로 식별하며, 같은 이미지는 한 번만 저장됩니다.
+ * DB(receipts)에는 해시/크기/Content-Type 만 남깁니다.
+ */
+public interface ReceiptBlobStore {
+
+    /**
+     * 스트림을 끝까지 읽어 저장합니다. (이미 같은 해시가 있으면 새로 쓰지 않음)
+     */
+    StoredBlob store(InputStream content) throws IOException;
+
+    /**
+     * 해시에 해당하는 이미지 (없으면 empty)
+     */
+    Optional<Resource> open(String hash);
+
+    record StoredBlob(String hash, long size) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.common.RedisLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기존 receipts.image(@Lob) 이미지를 ReceiptBlobStore 로 옮기는 작업
+ * 엔티티에서는 image 컬럼 매핑을 뺐으므로 JDBC 로 직접 읽고, 옮긴 행은 image 를 NULL 로 비웁니다.
+ * 옮길 행이 없으면 더 이상 실행하지 않으며, 빈 컬럼은 운영에서 확인 후 DROP 합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReceiptImageMigrator {
+
+    private static final String LOCK_KEY = "RECEIPT_IMAGE_MIGRATE_LOCK";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(2); // 한 배치 처리 시간보다 충분히 길게
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G'};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReceiptBlobStore receiptBlobStore;
+    private final RedisLock redisLock;
+
+    @Value("${receipt.storage.migrate-batch-size:50}")
+    private int batchSize;
+
+    private volatile boolean done;
+
+    // 여러 인스턴스 중 하나만 실행되도록 Redis 락 사용
+    // 기본 스케줄러 스레드를 오래 잡지 않도록 한 번에 한 배치만 옮기고, 남은 행은 다음 실행에서 처리
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "${receipt.storage.migrate-interval:PT5S}")
+    public void scheduledMigrate() {
+        if (done) {
+            return;
+        }
+        String lockToken = redisLock.tryLock(LOCK_KEY, LOCK_TTL);
+        if (lockToken == null) {
+            return;
+        }
+        try {
+            int migrated = migrateBatch();
+            if (migrated > 0) {
+                log.info("영수증 이미지 이전: {}건", migrated);
+            }
+        } catch (Exception e) {
+            log.error("영수증 이미지 이전 실패", e);
+        } finally {
+            redisLock.unlock(LOCK_KEY, lockToken);
+        }
+    }
+
+    /**
+     * 남은 이미지를 최대 batchSize 건 옮깁니다. 더 옮길 행이 없으면 이후 실행을 멈춥니다.
+     * 파일을 먼저 쓰고 행을 갱신하므로, 중간에 실패해도 다음 실행에서 같은 해시로 다시 처리됩니다.
+     * @return 옮긴 행 수
+     */
+    public int migrateBatch() throws IOException {
+        if (!hasLegacyColumn()) {
+            done = true;
+            return 0;
+        }
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, image FROM receipts WHERE image IS NOT NULL ORDER BY id LIMIT ?", batchSize);
+        if (rows.isEmpty()) {
+            done = true;
+            log.info("영수증 이미지 이전 완료");
+            return 0;
+        }
+        for (Map<String, Object> row : rows) {
+            byte[] image = (byte[]) row.get("image");
+            ReceiptBlobStore.StoredBlob blob = receiptBlobStore.store(new ByteArrayInputStream(image));
+            jdbcTemplate.update("UPDATE receipts SET image_hash = ?, image_size = ?, "
+                            + "content_type = COALESCE(content_type, ?), image = NULL WHERE id = ?",
+                    blob.hash(), blob.size(), contentTypeOf(image), row.get("id"));
+        }
+        return rows.size();
+    }
+
+    private boolean hasLegacyColumn() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'receipts' AND column_name = 'image'",
+                Integer.class);
+        return count != null && count > 0;
+    }
+
+    // 기존 행에는 Content-Type 이 없어서 시그니처로 판별 (업로드는 jpeg/png 만 사용)
+    private static String contentTypeOf(byte[] image) {
+        if (image.length >= PNG_SIGNATURE.length) {
+            boolean png = true;
+            for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+                png &= image[i] == PNG_SIGNATURE[i];
+            }
+            if (png) {
+                return "image/png";
+            }
+        }
+        return "image/jpeg";
+    }
+}
@@ -5,9 +5,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.deepflow.settlementsystem.expense.entity.Receipt;
 import com.deepflow.settlementsystem.expense.repository.ReceiptRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,34 +19,110 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ReceiptOcrAsyncService {
 
+    private static final String OCR_STATUS_PENDING = "PENDING";
+    private static final String OCR_STATUS_ERROR = "ERROR";
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final OcrClient ocrClient;
     private final ReceiptRepository receiptRepository;
+    private final ReceiptBlobStore receiptBlobStore;
+    private final ReceiptOcrCache receiptOcrCache;
 
-    @Async
-    @Transactional
-    public void processReceipt(Long receiptId, String format, String name, byte[] imageBytes) {
-        try {
-            ReceiptOcrResult result = ocrClient.extract(format, name, imageBytes);
-            saveOcrResult(receiptId, result);
+    /**
+     * 영수증 1건 OCR 처리 (ReceiptOcrWorker 가 Redis Stream 작업마다 호출)
+     * 이미 처리된 영수증(중복 전달)은 건너뛰고, 일시적인 실패는 예외를 그대로 던져 워커가 재시도하게 합니다.
+     * OCR 호출 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 조회 -> 호출 -> 저장 순으로 처리합니다.
+     */
+    public void processReceipt(Long receiptId) {
+        Receipt receipt = receiptRepository.findById(receiptId).orElse(null);
+        if (receipt == null || !isProcessable(receipt)) {
+            return;
+        }
+        String imageHash = receipt.getImageHash();
+
+        // 대기 중에 같은 이미지의 OCR 이 먼저 끝났으면 그 결과를 사용
+        Optional<String> cachedResult = receiptOcrCache.find(imageHash);
+        if (cachedResult.isPresent()) {
+            saveCachedResult(receipt, cachedResult.get());
+            receiptRepository.save(receipt);
+            return;
+        }
 
-        } catch (Exception ex) {
-            log.warn("OCR processing failed. receiptId={}", receiptId, ex);
+        // 이미지가 없으면 재시도해도 소용없으므로 바로 ERROR
+        Optional<Resource> image = receiptBlobStore.open(imageHash);
+        if (image.isEmpty()) {
+            log.warn("OCR 대상 이미지 없음. receiptId={}, imageHash={}", receiptId, imageHash);
+            setError(receipt, "receipt image not found", false);
+            receiptRepository.save(receipt);
+            return;
         }
+
+        // OCR API 는 base64 본문을 요구하므로 워커 스레드에서만 이미지를 메모리로 읽음
+        byte[] imageBytes;
+        try {
+            imageBytes = image.get().getContentAsByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ReceiptOcrResult result = ocrClient.extract(formatOf(receipt), String.valueOf(receiptId), imageBytes);
+        saveOcrResult(receipt, result);
+        receiptRepository.save(receipt);
     }
 
-    // OCR 결과를 DB에 저장 (receipt.ocrResult)
-    private void saveOcrResult(Long receiptId, ReceiptOcrResult ocrResult) {
-      Receipt receipt = receiptRepository.findById(receiptId)
-              .orElseThrow(() -> new IllegalStateException("Receipt not found: " + receiptId));
+    /**
+     * OCR 실패를 영수증에 기록합니다. (아직 결과가 없는 경우만)
+     * @param retryable 일시적인 실패라 다시 시도할 수 있는지 (POST /api/receipts/{receiptId}/ocr/retry)
+     */
+    @Transactional
+    public void markError(Long receiptId, String reason, boolean retryable) {
+        receiptRepository.findById(receiptId)
+                .filter(this::isProcessable)
+                .ifPresent(receipt -> setError(receipt, reason, retryable));
+    }
 
+    // 결과가 아직 없거나, 일시적인 실패로 ERROR 가 된 영수증
+    private boolean isProcessable(Receipt receipt) {
+        return OCR_STATUS_PENDING.equals(receipt.getOcrStatus())
+                || (OCR_STATUS_ERROR.equals(receipt.getOcrStatus()) && Boolean.TRUE.equals(receipt.getOcrRetryable()));
+    }
+
+    private void setError(Receipt receipt, String reason, boolean retryable) {
+        receipt.setOcrStatus(OCR_STATUS_ERROR);
+        receipt.setOcrErrorReason(reason != null && reason.length() > 255 ? reason.substring(0, 255) : reason);
+        receipt.setOcrRetryable(retryable);
+    }
+
+    // OCR 결과를 DB에 저장 (receipt.ocrResult)
+    private void saveOcrResult(Receipt receipt, ReceiptOcrResult ocrResult) {
       // OCR 결과(상태) 저장
       String inferResult = ocrResult.images().get(0).inferResult();
       receipt.setOcrStatus(inferResult);
+      clearError(receipt);
 
       // OCR 반환 값 저장 (ReceiptOcrResult JSON 그대로)
       receipt.setOcrResult(toJson(ocrResult));
+
+      // 성공 결과만 캐시 (같은 이미지 재업로드 시 재사용)
+      if (ReceiptOcrCache.OCR_STATUS_SUCCESS.equals(inferResult)) {
+          receiptOcrCache.put(receipt.getImageHash(), receipt.getOcrResult());
+      }
+    }
+
+    private void saveCachedResult(Receipt receipt, String resultJson) {
+      receipt.setOcrStatus(ReceiptOcrCache.OCR_STATUS_SUCCESS);
+      receipt.setOcrResult(resultJson);
+      clearError(receipt);
+    }
+
+    private void clearError(Receipt receipt) {
+      receipt.setOcrErrorReason(null);
+      receipt.setOcrRetryable(null);
+    }
+
+    // OCR API 이미지 형식 (업로드는 jpeg/png 만 저장)
+    private String formatOf(Receipt receipt) {
+      return "image/png".equals(receipt.getContentType()) ? "png" : "jpeg";
     }
 
     private String toJson(ReceiptOcrResult ocrResult) {
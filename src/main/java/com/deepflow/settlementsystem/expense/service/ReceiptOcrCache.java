@@ -0,0 +1,88 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.entity.Receipt;
+import com.deepflow.settlementsystem.expense.repository.ReceiptRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 이미지 해시별 OCR 결과 캐시
+ * 같은 영수증 사진이 다시 올라오면(재시도, 여러 멤버가 각자 업로드) 유료 OCR 을 다시 호출하지 않고 성공 결과를 재사용합니다.
+ * Redis(RECEIPT_OCR:{hash})를 먼저 보고, 없으면 같은 해시로 OCR 에 성공한 receipts 행을 찾아 Redis 에 다시 채웁니다.
+ * 조회 결과는 receipt.ocr.cache 카운터(result=hit|miss)로 노출됩니다.
+ */
+@Slf4j
+@Service
+public class ReceiptOcrCache {
+
+    private static final String CACHE_PREFIX = "RECEIPT_OCR:";
+    static final String OCR_STATUS_SUCCESS = "SUCCESS";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ReceiptRepository receiptRepository;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Value("${receipt.ocr.cache-ttl-hours:720}")
+    private long cacheTtlHours;
+
+    public ReceiptOcrCache(RedisTemplate<String, String> redisTemplate, ReceiptRepository receiptRepository,
+                           MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.receiptRepository = receiptRepository;
+        this.hitCounter = Counter.builder("receipt.ocr.cache").tag("result", "hit")
+                .description("OCR 결과 캐시 적중 (OCR API 호출 생략)").register(meterRegistry);
+        this.missCounter = Counter.builder("receipt.ocr.cache").tag("result", "miss")
+                .description("OCR 결과 캐시 미스").register(meterRegistry);
+    }
+
+    /**
+     * 같은 이미지의 성공한 OCR 결과 JSON (ReceiptOcrResult)
+     */
+    public Optional<String> find(String imageHash) {
+        if (imageHash == null) {
+            return Optional.empty();
+        }
+
+        String cached = null;
+        try {
+            cached = redisTemplate.opsForValue().get(CACHE_PREFIX + imageHash);
+        } catch (DataAccessException e) {
+            log.warn("OCR 결과 캐시 조회 실패. imageHash: {}", imageHash, e);
+        }
+        if (cached == null) {
+            cached = receiptRepository
+                    .findFirstByImageHashAndOcrStatusAndOcrResultIsNotNullOrderByIdDesc(imageHash, OCR_STATUS_SUCCESS)
+                    .map(Receipt::getOcrResult)
+                    .orElse(null);
+            if (cached != null) {
+                put(imageHash, cached);
+            }
+        }
+
+        (cached != null ? hitCounter : missCounter).increment();
+        return Optional.ofNullable(cached);
+    }
+
+    /**
+     * 성공한 OCR 결과를 캐시합니다. (실패 결과는 다시 시도할 수 있도록 넣지 않음)
+     */
+    public void put(String imageHash, String resultJson) {
+        if (imageHash == null || resultJson == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(CACHE_PREFIX + imageHash, resultJson, Duration.ofHours(cacheTtlHours));
+        } catch (DataAccessException e) {
+            log.warn("OCR 결과 캐시 저장 실패. imageHash: {}", imageHash, e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 영수증 OCR 작업 큐 (Redis Stream + consumer group)
+ * - RECEIPT_OCR_JOBS: 작업 스트림 (receiptId, attempt). 처리가 끝난 항목은 XACK 후 XDEL 하므로 길이 = 미처리 + 처리 중
+ * - RECEIPT_OCR_RETRY: 재시도 대기 ZSET (score = 실행 시각 ms, member = "receiptId:attempt")
+ * - RECEIPT_OCR_DLQ: 재시도를 모두 소진한 작업 (receiptId, attempt, error)
+ * 어느 인스턴스에서 업로드했든 그룹에 속한 모든 워커가 나눠서 처리하며, 죽은 워커가 잡고 있던 작업은 XCLAIM 으로 회수합니다.
+ */
+@Component
+public class ReceiptOcrJobQueue {
+
+    private static final String STREAM_KEY = "RECEIPT_OCR_JOBS";
+    private static final String RETRY_KEY = "RECEIPT_OCR_RETRY";
+    private static final String DLQ_KEY = "RECEIPT_OCR_DLQ";
+    private static final String GROUP = "receipt-ocr-workers";
+
+    private static final String FIELD_RECEIPT_ID = "receiptId";
+    private static final String FIELD_ATTEMPT = "attempt";
+    private static final String FIELD_ERROR = "error";
+    private static final long DLQ_MAX_LENGTH = 10_000;
+    private static final long PENDING_SCAN_SIZE = 100;
+
+    // 실행 시각이 된 재시도 작업을 ZSET 에서 꺼내 스트림에 다시 넣음 (여러 인스턴스가 동시에 실행해도 한 번만 이동)
+    private static final RedisScript<Long> PROMOTE_DUE_RETRIES = new DefaultRedisScript<>("""
+            local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            for _, member in ipairs(due) do
+                redis.call('ZREM', KEYS[1], member)
+                local sep = string.find(member, ':', 1, true)
+                redis.call('XADD', KEYS[2], '*', 'receiptId', string.sub(member, 1, sep - 1), 'attempt', string.sub(member, sep + 1))
+            end
+            return #due
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public ReceiptOcrJobQueue(RedisTemplate<String, String> redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        Gauge.builder("receipt.ocr.queue.backlog", this, ReceiptOcrJobQueue::backlogOrNaN)
+                .description("OCR 작업 스트림 길이 (미처리 + 처리 중)").register(meterRegistry);
+    }
+
+    // 스트림이 없으면 함께 만들고, 이미 그룹이 있으면(BUSYGROUP) 그대로 사용
+    @PostConstruct
+    public void createGroup() {
+        try {
+            redisTemplate.execute(connection -> connection.streamCommands().xGroupCreate(
+                    STREAM_KEY.getBytes(StandardCharsets.UTF_8), GROUP, ReadOffset.from("0"), true), true);
+        } catch (DataAccessException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    public void publish(Long receiptId) {
+        add(STREAM_KEY, Map.of(FIELD_RECEIPT_ID, String.valueOf(receiptId), FIELD_ATTEMPT, "1"));
+    }
+
+    /**
+     * 아직 어느 워커에도 전달되지 않은 작업을 최대 count 건 가져옵니다. (가져온 작업은 ack 전까지 이 consumer 의 pending)
+     */
+    public List<Job> read(String consumer, int count) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                Consumer.from(GROUP, consumer),
+                StreamReadOptions.empty().count(count),
+                StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+        return records != null ? records.stream().map(record -> Job.of(record, 1)).toList() : List.of();
+    }
+
+    /**
+     * minIdle 이상 ack 되지 않은 작업을 최대 limit 건 이 consumer 로 가져옵니다. (처리 중 종료된 워커의 작업 회수)
+     * Spring Data Redis 에 XAUTOCLAIM 이 없어 XPENDING 으로 후보를 찾고 XCLAIM 합니다.
+     * XCLAIM 도 minIdle 을 다시 검사하므로, 여러 인스턴스가 같은 후보를 보더라도 한 곳만 가져갑니다.
+     */
+    public List<Job> reclaim(String consumer, Duration minIdle, int limit) {
+        PendingMessages pending = redisTemplate.opsForStream()
+                .pending(STREAM_KEY, GROUP, Range.unbounded(), PENDING_SCAN_SIZE);
+        Map<RecordId, Long> deliveryCounts = new HashMap<>();
+        for (PendingMessage message : pending) {
+            if (deliveryCounts.size() >= limit) {
+                break;
+            }
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                deliveryCounts.put(message.getId(), message.getTotalDeliveryCount());
+            }
+        }
+        if (deliveryCounts.isEmpty()) {
+            return List.of();
+        }
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .claim(STREAM_KEY, GROUP, consumer, minIdle, deliveryCounts.keySet().toArray(RecordId[]::new));
+        if (records == null) {
+            return List.of();
+        }
+        // XCLAIM 으로 전달 횟수가 1 늘어남
+        return records.stream()
+                .map(record -> Job.of(record, Math.toIntExact(deliveryCounts.getOrDefault(record.getId(), 0L) + 1)))
+                .toList();
+    }
+
+    // 처리가 끝난 작업 제거 (성공, 재시도 예약, DLQ 이동 후 공통)
+    public void complete(Job job) {
+        redisTemplate.opsForStream().acknowledge(STREAM_KEY, GROUP, job.recordId());
+        redisTemplate.opsForStream().delete(STREAM_KEY, job.recordId());
+    }
+
+    /**
+     * delay 후 다음 시도로 다시 넣고 현재 작업을 완료 처리합니다.
+     * (예약을 먼저 기록하므로 중간에 종료되어도 작업이 사라지지 않고, 최악의 경우 한 번 더 실행됨)
+     */
+    public void retryLater(Job job, Duration delay) {
+        long dueAt = System.currentTimeMillis() + delay.toMillis();
+        redisTemplate.opsForZSet().add(RETRY_KEY, job.receiptId() + ":" + (job.attempt() + 1), dueAt);
+        complete(job);
+    }
+
+    public void deadLetter(Job job, String error) {
+        add(DLQ_KEY, Map.of(FIELD_RECEIPT_ID, String.valueOf(job.receiptId()),
+                FIELD_ATTEMPT, String.valueOf(job.attempt()),
+                FIELD_ERROR, error != null ? error : ""));
+        redisTemplate.opsForStream().trim(DLQ_KEY, DLQ_MAX_LENGTH, true);
+        complete(job);
+    }
+
+    /**
+     * @return 스트림으로 옮긴 재시도 작업 수
+     */
+    public long promoteDueRetries(int limit) {
+        Long promoted = redisTemplate.execute(PROMOTE_DUE_RETRIES, List.of(RETRY_KEY, STREAM_KEY),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(limit));
+        return promoted != null ? promoted : 0L;
+    }
+
+    // 미처리 + 처리 중 작업 수 (업로드 backpressure 기준)
+    public long backlog() {
+        Long size = redisTemplate.opsForStream().size(STREAM_KEY);
+        return size != null ? size : 0L;
+    }
+
+    private double backlogOrNaN() {
+        try {
+            return backlog();
+        } catch (DataAccessException e) {
+            return Double.NaN;
+        }
+    }
+
+    private void add(String key, Map<String, String> fields) {
+        redisTemplate.opsForStream().add(StreamRecords.newRecord().in(key).ofMap(fields));
+    }
+
+    /**
+     * 스트림에서 꺼낸 OCR 작업 1건
+     * @param attempt       몇 번째 시도인지 (재시도 예약 때마다 1 증가)
+     * @param deliveryCount 같은 스트림 항목이 워커에 전달된 횟수 (새로 읽은 작업은 1, 회수할 때마다 증가)
+     */
+    public record Job(RecordId recordId, Long receiptId, int attempt, int deliveryCount) {
+
+        static Job of(MapRecord<String, Object, Object> record, int deliveryCount) {
+            Map<Object, Object> value = record.getValue();
+            return new Job(record.getId(),
+                    Long.valueOf(String.valueOf(value.get(FIELD_RECEIPT_ID))),
+                    Integer.parseInt(String.valueOf(value.getOrDefault(FIELD_ATTEMPT, "1"))),
+                    deliveryCount);
+        }
+    }
+}
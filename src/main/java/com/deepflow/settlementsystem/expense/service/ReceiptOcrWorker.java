@@ -0,0 +1,160 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 영수증 OCR 워커 (ReceiptOcrJobQueue 의 consumer group 구성원)
+ * 인스턴스마다 하나의 consumer 로 등록되어 처리할 수 있는 만큼만 스트림에서 가져오고, ocrTaskExecutor 에서 실행합니다.
+ * 실패하면 지수 백오프로 재시도하고, 재시도를 모두 소진하거나 반복해서 회수되는 작업은 DLQ 로 옮긴 뒤 영수증을 ERROR 로 표시합니다.
+ * 워커 인스턴스를 늘리면 처리량이 함께 늘어납니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReceiptOcrWorker {
+
+    private final ReceiptOcrJobQueue receiptOcrJobQueue;
+    private final ReceiptOcrAsyncService receiptOcrAsyncService;
+    private final ThreadPoolTaskExecutor ocrTaskExecutor;
+
+    private final String consumerName = resolveConsumerName();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${receipt.ocr.worker.batch-size:10}")
+    private int batchSize;
+
+    @Value("${receipt.ocr.worker.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${receipt.ocr.worker.base-backoff-ms:5000}")
+    private long baseBackoffMs;
+
+    @Value("${receipt.ocr.worker.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Value("${receipt.ocr.worker.claim-idle-ms:300000}")
+    private long claimIdleMs;
+
+    @Value("${receipt.ocr.worker.max-deliveries:3}")
+    private int maxDeliveries;
+
+    @Scheduled(fixedDelayString = "${receipt.ocr.worker.poll-interval-ms:500}")
+    public void poll() {
+        int capacity = capacity();
+        if (capacity <= 0) {
+            return;
+        }
+        try {
+            dispatch(receiptOcrJobQueue.read(consumerName, capacity));
+        } catch (DataAccessException e) {
+            log.warn("OCR 작업 조회 실패", e);
+        }
+    }
+
+    // 실행 시각이 된 재시도 작업을 스트림으로 옮기고, 오래 ack 되지 않은 작업(종료된 워커가 잡고 있던 작업)을 회수
+    @Scheduled(fixedDelayString = "${receipt.ocr.worker.maintenance-interval-ms:5000}")
+    public void maintain() {
+        try {
+            long promoted = receiptOcrJobQueue.promoteDueRetries(batchSize * 10);
+            if (promoted > 0) {
+                log.debug("OCR 재시도 작업 {}건을 다시 대기열에 넣었습니다.", promoted);
+            }
+
+            int capacity = capacity();
+            if (capacity > 0) {
+                dispatch(receiptOcrJobQueue.reclaim(consumerName, Duration.ofMillis(claimIdleMs), capacity));
+            }
+        } catch (DataAccessException e) {
+            log.warn("OCR 작업 큐 정리 실패", e);
+        }
+    }
+
+    private int capacity() {
+        return Math.min(batchSize, ocrTaskExecutor.getCorePoolSize() - inFlight.get());
+    }
+
+    private void dispatch(List<ReceiptOcrJobQueue.Job> jobs) {
+        for (ReceiptOcrJobQueue.Job job : jobs) {
+            inFlight.incrementAndGet();
+            try {
+                ocrTaskExecutor.execute(() -> {
+                    try {
+                        handle(job);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // ack 하지 않았으므로 claim-idle 이후 회수되어 다시 처리됨
+                inFlight.decrementAndGet();
+                log.warn("OCR 작업 실행 거부됨. receiptId: {}", job.receiptId());
+            }
+        }
+    }
+
+    private void handle(ReceiptOcrJobQueue.Job job) {
+        try {
+            // 처리 도중 워커가 계속 죽는 작업은 더 돌리지 않음
+            if (job.deliveryCount() > maxDeliveries) {
+                giveUp(job, "delivered " + job.deliveryCount() + " times without ack", false);
+                return;
+            }
+
+            try {
+                receiptOcrAsyncService.processReceipt(job.receiptId());
+            } catch (Exception e) {
+                String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+                boolean ocrUnavailable = e instanceof OcrUnavailableException;
+                if (job.attempt() >= maxAttempts) {
+                    // OCR 서버 장애로 소진한 경우는 나중에 수동으로 다시 시도할 수 있음
+                    giveUp(job, error, ocrUnavailable);
+                } else {
+                    if (ocrUnavailable) {
+                        // OCR 서버 장애(서킷 오픈 등)는 다음 시도 전까지 재시도 가능한 ERROR 로 보여줌
+                        receiptOcrAsyncService.markError(job.receiptId(), error, true);
+                    }
+                    // base * 2^(attempt-1), 최대 maxBackoffMs
+                    long backoffMs = Math.min(maxBackoffMs, baseBackoffMs << Math.min(job.attempt() - 1, 20));
+                    receiptOcrJobQueue.retryLater(job, Duration.ofMillis(backoffMs));
+                    log.warn("OCR 처리 실패, {}ms 후 재시도. receiptId: {}, attempt: {}",
+                            backoffMs, job.receiptId(), job.attempt(), e);
+                }
+                return;
+            }
+            receiptOcrJobQueue.complete(job);
+        } catch (RuntimeException e) {
+            // ack 하지 못한 작업은 pending 으로 남아 회수됨
+            log.warn("OCR 작업 상태 갱신 실패. receiptId: {}", job.receiptId(), e);
+        }
+    }
+
+    private void giveUp(ReceiptOcrJobQueue.Job job, String error, boolean retryable) {
+        receiptOcrAsyncService.markError(job.receiptId(), error, retryable);
+        receiptOcrJobQueue.deadLetter(job, error);
+        log.warn("OCR 처리 포기 (DLQ 이동). receiptId: {}, attempt: {}, error: {}", job.receiptId(), job.attempt(), error);
+    }
+
+    private static String resolveConsumerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -5,4 +5,6 @@ import org.springframework.web.multipart.MultipartFile;
 public interface ReceiptService {
 
     Long uploadReceipt(MultipartFile image);
+
+    void retryOcr(Long receiptId);
 }
@@ -3,50 +3,125 @@ package com.deepflow.settlementsystem.expense.service;
 import com.deepflow.settlementsystem.expense.entity.Receipt;
 import com.deepflow.settlementsystem.expense.repository.ReceiptRepository;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @RequiredArgsConstructor
-// 사용자로부터 받은 영수증 이미지 db저장 후, 비동기 OCR 호출
+// 사용자로부터 받은 영수증 이미지를 저장소에 저장(db에는 해시만) 후, 비동기 OCR 호출
 public class ReceiptServiceImpl implements ReceiptService {
 
     private static final String OCR_STATUS_PENDING = "PENDING";
+    private static final String OCR_STATUS_ERROR = "ERROR";
+    private static final long MAX_IMAGE_SIZE = 3 * 1024 * 1024; // 3MB (multipart 한도는 지출 가져오기 파일 기준)
 
     private final ReceiptRepository receiptRepository;
-    private final ReceiptOcrAsyncService receiptOcrAsyncService;
+    private final ReceiptOcrJobQueue receiptOcrJobQueue;
+    private final ReceiptBlobStore receiptBlobStore;
+    private final ReceiptOcrCache receiptOcrCache;
+
+    @Value("${receipt.ocr.queue.max-backlog:1000}")
+    private long maxBacklog;
+
+    @Value("${receipt.ocr.queue.retry-after-seconds:5}")
+    private long retryAfterSeconds;
 
     @Override
-    @Transactional
+    // 트랜잭션 없이 저장(즉시 커밋) 후 OCR 작업 발행 (워커가 커밋 전 행을 조회하지 않도록)
     // 사용자가 영수증 이미지를 업로드하면, OCR로 결과 반환 후 receipt 테이블 저장(OCR 결과포함)
     public Long uploadReceipt(MultipartFile image) {
         if (image == null || image.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Receipt image is required");
         }
-        Receipt receipt = new Receipt();
+        if (image.getSize() > MAX_IMAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Receipt image must be 3MB or smaller");
+        }
+        String format = resolveFormat(image);
 
-        try {
-            receipt.setImage(image.getBytes());
+        // 업로드 스트림을 그대로 파일로 흘려보내며 해시 계산 (byte[] 로 올리지 않음)
+        // DB 저장이 실패하면 파일만 남지만, 내용 주소 기반이라 같은 이미지 재업로드 시 그대로 재사용됨
+        ReceiptBlobStore.StoredBlob blob;
+        try (InputStream content = image.getInputStream()) {
+            blob = receiptBlobStore.store(content);
         } catch (IOException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Failed to read image");
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store image");
+        }
+
+        Receipt receipt = new Receipt();
+        receipt.setImageHash(blob.hash());
+        receipt.setImageSize(blob.size());
+        receipt.setContentType(resolveContentType(format));
+
+        // 같은 이미지를 이미 OCR 했으면 결과를 바로 재사용 (OCR API 호출 생략)
+        Optional<String> cachedResult = receiptOcrCache.find(blob.hash());
+        if (cachedResult.isPresent()) {
+            receipt.setOcrStatus(ReceiptOcrCache.OCR_STATUS_SUCCESS);
+            receipt.setOcrResult(cachedResult.get());
+            return receiptRepository.save(receipt).getId();
+        }
+
+        // 밀린 OCR 작업이 많으면 받지 않음
+        if (receiptOcrJobQueue.backlog() >= maxBacklog) {
+            throw ocrBusy();
         }
 
         // OCR 요청 전 상태
         receipt.setOcrStatus(OCR_STATUS_PENDING);
         receipt = receiptRepository.save(receipt);
 
-        String format = resolveFormat(image);
-        String imageName = String.valueOf(receipt.getId());
-
-        // 비동기 OCR 호출 (현재는 Stub)
-        receiptOcrAsyncService.processReceipt(receipt.getId(), format, imageName, receipt.getImage());
+        // OCR 작업 발행 (Redis Stream, 워커 인스턴스가 처리). 발행하지 못하면 PENDING 으로 남지 않도록 영수증 삭제
+        try {
+            receiptOcrJobQueue.publish(receipt.getId());
+        } catch (DataAccessException e) {
+            receiptRepository.delete(receipt);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Failed to queue OCR job");
+        }
         return receipt.getId();
     }
 
+    @Override
+    // OCR 서버 장애 등으로 재시도 가능한 ERROR 가 된 영수증을 다시 OCR 작업으로 발행
+    public void retryOcr(Long receiptId) {
+        Receipt receipt = receiptRepository.findById(receiptId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Receipt not found"));
+        if (!OCR_STATUS_ERROR.equals(receipt.getOcrStatus()) || !Boolean.TRUE.equals(receipt.getOcrRetryable())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "OCR is not retryable");
+        }
+        if (receiptOcrJobQueue.backlog() >= maxBacklog) {
+            throw ocrBusy();
+        }
+
+        // 발행 실패 시 ERROR(재시도 가능) 상태를 그대로 유지
+        try {
+            receiptOcrJobQueue.publish(receiptId);
+        } catch (DataAccessException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Failed to queue OCR job");
+        }
+    }
+
+    private ResponseStatusException ocrBusy() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "too many receipts in OCR queue, retry later") {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private String resolveContentType(String format) {
+        return "png".equals(format) ? "image/png" : "image/jpeg";
+    }
+
     private String resolveFormat(MultipartFile image) {
         String contentType = image.getContentType();
         if (contentType != null) {
@@ -103,5 +103,14 @@ public class Group {
 
     @OneToMany(mappedBy = "group")  // 현재 그룹이 가진, 송금 내역들
     private List<ExpenseAllocation> expenseAllocations = new ArrayList<>();
+
+    // 그룹 지출 합계 카운터 (null 이면 아직 초기화 전)
+    // 지출 등록/수정/삭제 시 GroupRepository 의 원자적 UPDATE 로만 갱신하므로 엔티티 저장 시에는 쓰지 않음
+    @Column(name = "expense_total", insertable = false, updatable = false)
+    private Long expenseTotal;
+
+    // 그룹 지출 집계(group_spending_rollups)를 처음 만든 시각 (null 이면 아직 기존 지출로 재계산 전)
+    @Column(name = "spending_rollups_built_at", insertable = false, updatable = false)
+    private LocalDateTime spendingRollupsBuiltAt;
     // ================================================================================================
 }
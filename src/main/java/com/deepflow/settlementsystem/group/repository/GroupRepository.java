@@ -2,9 +2,11 @@ package com.deepflow.settlementsystem.group.repository;
 
 import com.deepflow.settlementsystem.group.entity.Group;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +22,32 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
            "LEFT JOIN FETCH g.room " +
            "WHERE g.id = :groupId")
     Optional<Group> findByIdWithRoom(@Param("groupId") Long groupId);
+
+    @Query("SELECT g.expenseTotal FROM Group g WHERE g.id = :groupId")
+    Long findExpenseTotal(@Param("groupId") Long groupId);
+
+    // 카운터 초기화 전에 행 잠금 (같은 그룹의 지출 등록과 직렬화)
+    @Query(value = "SELECT expense_total FROM user_groups WHERE id = :groupId FOR UPDATE", nativeQuery = true)
+    Long lockExpenseTotal(@Param("groupId") Long groupId);
+
+    // 원자적 증감 (초기화 전이면 NULL + delta = NULL 로 그대로 유지, 행 잠금은 항상 잡힘)
+    @Modifying
+    @Query(value = "UPDATE user_groups SET expense_total = expense_total + :delta WHERE id = :groupId", nativeQuery = true)
+    int addExpenseTotal(@Param("groupId") Long groupId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE user_groups SET expense_total = :total WHERE id = :groupId", nativeQuery = true)
+    int setExpenseTotal(@Param("groupId") Long groupId, @Param("total") long total);
+
+    @Query("SELECT g.spendingRollupsBuiltAt FROM Group g WHERE g.id = :groupId")
+    LocalDateTime findSpendingRollupsBuiltAt(@Param("groupId") Long groupId);
+
+    // 지출 집계 재계산 전에 행 잠금 (1이면 이미 다른 요청이 재계산함)
+    @Query(value = "SELECT COUNT(*) FROM user_groups WHERE id = :groupId AND spending_rollups_built_at IS NOT NULL FOR UPDATE",
+           nativeQuery = true)
+    long lockSpendingRollupsBuilt(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query(value = "UPDATE user_groups SET spending_rollups_built_at = NOW() WHERE id = :groupId", nativeQuery = true)
+    int markSpendingRollupsBuilt(@Param("groupId") Long groupId);
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +20,12 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByRoomIdAndUserId(@Param("roomId") Long roomId, @Param("userId") Long userId);
 
     boolean existsByRoomIdAndUserId(Long roomId, Long userId);
+
+    @Query("SELECT CASE WHEN COUNT(m) > 0 THEN true ELSE false END FROM Member m " +
+           "WHERE m.room.group.id = :groupId AND m.user.id = :userId")
+    boolean existsByGroupIdAndUserId(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
+    // userIds 중 그룹 멤버인 사용자 ID
+    @Query("SELECT m.user.id FROM Member m WHERE m.room.group.id = :groupId AND m.user.id IN :userIds")
+    List<Long> findUserIdsByGroupIdAndUserIdIn(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
 }
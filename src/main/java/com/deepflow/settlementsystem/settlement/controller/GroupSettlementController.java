@@ -0,0 +1,83 @@
+package com.deepflow.settlementsystem.settlement.controller;
+
+import com.deepflow.settlementsystem.settlement.dto.request.GroupSettlementSendRequest;
+import com.deepflow.settlementsystem.settlement.dto.response.GroupBalanceResponse;
+import com.deepflow.settlementsystem.settlement.dto.response.GroupSettlementMessageResponse;
+import com.deepflow.settlementsystem.settlement.dto.response.SettlementPlanResponse;
+import com.deepflow.settlementsystem.settlement.service.GroupBalanceService;
+import com.deepflow.settlementsystem.settlement.service.SettlementPlanService;
+import com.deepflow.settlementsystem.settlement.service.SettlementService;
+import com.deepflow.settlementsystem.user.entity.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Group Settlement", description = "그룹 단위 정산 API")
+@RestController
+@RequestMapping("/api/groups")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Authorization")
+public class GroupSettlementController {
+
+    private final SettlementPlanService settlementPlanService;
+    private final SettlementService settlementService;
+    private final GroupBalanceService groupBalanceService;
+
+    @Operation(
+            summary = "그룹 정산 계획 조회",
+            description = "그룹의 미완료(UNSETTLED, REQUESTED) 정산 건을 멤버별 순잔액으로 합쳐, " +
+                    "송금 횟수가 최소가 되는 송금 목록을 계산합니다. 그룹 멤버만 조회 가능합니다."
+    )
+    @GetMapping("/{groupId}/settlement-plan")
+    public ResponseEntity<SettlementPlanResponse> getSettlementPlan(
+            @Parameter(description = "그룹 ID", required = true, example = "1")
+            @PathVariable Long groupId,
+            @Parameter(description = "현재 로그인한 사용자", required = true, hidden = true)
+            @AuthenticationPrincipal @NotNull User user) {
+        SettlementPlanResponse response = settlementPlanService.getSettlementPlan(groupId, user.getId());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "그룹 일괄 정산 요청",
+            description = "로그인한 사용자(receiver)가 그룹 내에서 받을 돈이 남은 모든 사용자에게 카카오톡 정산 요청 메시지를 보냅니다. " +
+                    "같은 내용의 메시지는 최대 5명씩 묶어 전송되며, 메시지는 비동기로 전송됩니다."
+    )
+    @PostMapping("/{groupId}/settlement-requests")
+    public ResponseEntity<GroupSettlementMessageResponse> sendGroupSettlementMessages(
+            @Parameter(description = "그룹 ID", required = true, example = "1")
+            @PathVariable Long groupId,
+            @Parameter(description = "요청할 정산 상태 (생략 시 UNSETTLED, REQUESTED)")
+            @RequestBody(required = false) GroupSettlementSendRequest request,
+            @Parameter(description = "현재 로그인한 사용자 (receiver)", required = true, hidden = true)
+            @AuthenticationPrincipal @NotNull User receiver) {
+        GroupSettlementMessageResponse response = settlementService.sendGroupSettlementMessages(
+                groupId,
+                request != null ? request.getStatuses() : null,
+                receiver.getId()
+        );
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @Operation(
+            summary = "그룹 정산 현황 조회",
+            description = "그룹 멤버 간 미완료 순금액 행렬(matrix[i][j]: i 가 j 에게 보낼 금액)과 멤버별 상태별 합계를 조회합니다. " +
+                    "그룹 멤버만 조회 가능합니다."
+    )
+    @GetMapping("/{groupId}/balances")
+    public ResponseEntity<GroupBalanceResponse> getGroupBalances(
+            @Parameter(description = "그룹 ID", required = true, example = "1")
+            @PathVariable Long groupId,
+            @Parameter(description = "현재 로그인한 사용자", required = true, hidden = true)
+            @AuthenticationPrincipal @NotNull User user) {
+        GroupBalanceResponse response = groupBalanceService.getGroupBalances(groupId, user.getId());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,8 +1,12 @@
 package com.deepflow.settlementsystem.settlement.controller;
 
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import com.deepflow.settlementsystem.settlement.dto.SettlementDirection;
 import com.deepflow.settlementsystem.settlement.dto.request.SettlementSendRequest;
 import com.deepflow.settlementsystem.settlement.dto.response.SettlementListResponse;
+import com.deepflow.settlementsystem.settlement.dto.response.SettlementMessageResponse;
 import com.deepflow.settlementsystem.settlement.dto.response.SettlementResponse;
+import com.deepflow.settlementsystem.settlement.dto.response.SettleUpResponse;
 import com.deepflow.settlementsystem.settlement.dto.response.SettlementSummaryResponse;
 import com.deepflow.settlementsystem.settlement.service.SettlementService;
 import com.deepflow.settlementsystem.user.entity.User;
@@ -13,9 +17,11 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Settlement", description = "정산 관련 API")
 @RestController
@@ -27,16 +33,43 @@ public class SettlementController {
 
     @Operation(
             summary = "정산 목록 조회",
-            description = "현재 로그인한 사용자와 관련된 모든 정산 목록을 조회합니다. (송금해야 할 내역과 받아야 할 내역 모두 포함)"
+            description = "현재 로그인한 사용자와 관련된 정산 목록을 최신순으로 조회합니다. (송금해야 할 내역과 받아야 할 내역 모두 포함) " +
+                    "응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 조회합니다. " +
+                    "(키셋 페이지네이션이라 전체 건수(totalCount)는 내려주지 않습니다)"
     )
     @GetMapping
     public ResponseEntity<SettlementListResponse> getSettlementList(
+            @Parameter(description = "정산 상태 필터", example = "UNSETTLED")
+            @RequestParam(required = false) SettlementStatus status,
+            @Parameter(description = "그룹 ID 필터", example = "1")
+            @RequestParam(required = false) Long groupId,
+            @Parameter(description = "방향 필터 (ALL: 전체, SEND: 보낼 돈, RECEIVE: 받을 돈)", example = "ALL")
+            @RequestParam(required = false) SettlementDirection direction,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (기본 20, 최대 100)", example = "20")
+            @RequestParam(required = false) Integer size,
             @Parameter(description = "현재 로그인한 사용자", required = true, hidden = true)
             @AuthenticationPrincipal @NotNull User user) {
-        SettlementListResponse response = settlementService.getSettlementList(user.getId());
+        SettlementListResponse response = settlementService.getSettlementList(
+                user.getId(), status, groupId, direction, cursor, size);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "정산 상태 실시간 구독 (SSE)",
+            description = "로그인한 사용자와 관련된 정산 상태 변경을 Server-Sent Events 로 받습니다. " +
+                    "groupId 를 지정하면 해당 그룹의 모든 정산 상태 변경도 받습니다. (그룹 멤버만 가능)"
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeSettlementEvents(
+            @Parameter(description = "구독할 그룹 ID", example = "1")
+            @RequestParam(required = false) Long groupId,
+            @Parameter(description = "현재 로그인한 사용자", required = true, hidden = true)
+            @AuthenticationPrincipal @NotNull User user) {
+        return settlementService.subscribeSettlementEvents(user.getId(), groupId);
+    }
+
     @Operation(
             summary = "정산 상태 조회",
             description = "특정 정산의 상세 상태를 조회합니다. sender 또는 receiver만 조회 가능합니다."
@@ -54,20 +87,35 @@ public class SettlementController {
     @Operation(
             summary = "정산 요청 메시지 전송",
             description = "카카오톡으로 정산 요청 메시지를 전송합니다. 돈을 받는 사람(receiver)만 요청할 수 있으며, " +
-                    "상태를 선택하여 요청하거나 통합적으로 한번에 요청할 수 있습니다."
+                    "상태를 선택하여 요청하거나 통합적으로 한번에 요청할 수 있습니다. " +
+                    "메시지는 비동기로 전송되며, 응답의 messageId 로 전송 상태를 조회할 수 있습니다."
     )
     @PostMapping("/send")
-    public ResponseEntity<Void> sendSettlementMessage(
+    public ResponseEntity<SettlementMessageResponse> sendSettlementMessage(
             @Parameter(description = "정산 요청 정보", required = true)
             @Valid @RequestBody SettlementSendRequest request,
             @Parameter(description = "현재 로그인한 사용자 (receiver)", required = true, hidden = true)
             @AuthenticationPrincipal @NotNull User receiver) {
-        settlementService.sendSettlementMessage(
+        SettlementMessageResponse response = settlementService.sendSettlementMessage(
                 request.getTargetUserId(),
                 request.getStatuses(),
                 receiver.getId()
         );
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @Operation(
+            summary = "정산 요청 메시지 전송 상태 조회",
+            description = "정산 요청 메시지의 전송 상태(PENDING, SENDING, SENT, FAILED)를 조회합니다. 요청한 사용자만 조회 가능합니다."
+    )
+    @GetMapping("/messages/{messageId}")
+    public ResponseEntity<SettlementMessageResponse> getSettlementMessage(
+            @Parameter(description = "메시지 ID", required = true, example = "1")
+            @PathVariable Long messageId,
+            @Parameter(description = "현재 로그인한 사용자", required = true, hidden = true)
+            @AuthenticationPrincipal @NotNull User user) {
+        SettlementMessageResponse response = settlementService.getSettlementMessage(messageId, user.getId());
+        return ResponseEntity.ok(response);
     }
     
     @Operation(
@@ -84,6 +132,23 @@ public class SettlementController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "특정 사용자와 일괄 정산 완료",
+            description = "로그인한 사용자(receiver)가 상대방에게 받을 REQUESTED 상태의 정산을 모두 COMPLETED로 변경합니다. " +
+                    "groupId 를 지정하면 해당 그룹의 정산만 처리합니다."
+    )
+    @PatchMapping("/settle-up/{targetUserId}")
+    public ResponseEntity<SettleUpResponse> settleUp(
+            @Parameter(description = "돈을 보낸 상대방 사용자 ID (sender)", required = true, example = "1")
+            @PathVariable Long targetUserId,
+            @Parameter(description = "그룹 ID (생략 시 전체 그룹)", example = "1")
+            @RequestParam(required = false) Long groupId,
+            @Parameter(description = "현재 로그인한 사용자 (receiver)", required = true, hidden = true)
+            @AuthenticationPrincipal @NotNull User receiver) {
+        SettleUpResponse response = settlementService.settleUp(targetUserId, groupId, receiver.getId());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "정산 완료 처리",
             description = "정산을 완료 처리합니다. 돈을 받는 사람(receiver)만 완료 처리할 수 있으며, " +
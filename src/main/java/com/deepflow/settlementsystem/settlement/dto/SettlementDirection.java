@@ -0,0 +1,8 @@
+package com.deepflow.settlementsystem.settlement.dto;
+
+// 정산 목록 방향 필터 (로그인한 사용자 기준)
+public enum SettlementDirection {
+    ALL,     // 보낼 돈 + 받을 돈
+    SEND,    // 내가 sender (보낼 돈)
+    RECEIVE  // 내가 receiver (받을 돈)
+}
@@ -0,0 +1,14 @@
+package com.deepflow.settlementsystem.settlement.dto.request;
+
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class GroupSettlementSendRequest {
+    
+    private List<SettlementStatus> statuses;
+}
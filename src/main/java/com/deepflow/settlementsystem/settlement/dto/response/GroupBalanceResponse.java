@@ -0,0 +1,32 @@
+package com.deepflow.settlementsystem.settlement.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Jacksonized // Redis 캐시에서 역직렬화
+public class GroupBalanceResponse {
+    private Long groupId;
+    private List<Long> memberIds;     // matrix 의 행/열 순서
+    private List<List<Long>> matrix;  // matrix[i][j]: memberIds[i] 가 memberIds[j] 에게 보낼 미완료 순금액 (상계 후)
+    private List<Member> members;
+
+    @Getter
+    @Builder
+    @Jacksonized
+    public static class Member {
+        private Long userId;
+        private String nickname;
+        private Long unsettledToSend;    // 보낼 금액 (UNSETTLED)
+        private Long requestedToSend;    // 보낼 금액 (REQUESTED)
+        private Long unsettledToReceive; // 받을 금액 (UNSETTLED)
+        private Long requestedToReceive; // 받을 금액 (REQUESTED)
+        private Long completedSent;      // 보낸 금액 (COMPLETED)
+        private Long completedReceived;  // 받은 금액 (COMPLETED)
+        private Long netBalance;         // 미완료 기준 받을 금액 - 보낼 금액
+    }
+}
@@ -0,0 +1,16 @@
+package com.deepflow.settlementsystem.settlement.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class GroupSettlementMessageResponse {
+    private Long groupId;
+    private Long debtorCount;       // 요청 대상 인원 수
+    private Long allocationCount;   // REQUESTED 로 변경된 정산 건 수
+    private Long totalAmount;
+    private List<SettlementMessageResponse> messages; // 전송 단위(같은 메시지 + 최대 5명)별 메시지
+}
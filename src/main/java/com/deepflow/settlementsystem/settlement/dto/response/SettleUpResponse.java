@@ -0,0 +1,13 @@
+package com.deepflow.settlementsystem.settlement.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SettleUpResponse {
+    private Long targetUserId;
+    private Long groupId;        // 그룹 범위로 정산한 경우에만
+    private Long settledCount;   // COMPLETED 로 변경된 정산 건 수
+    private Long settledAmount;  // COMPLETED 로 변경된 금액 합계
+}
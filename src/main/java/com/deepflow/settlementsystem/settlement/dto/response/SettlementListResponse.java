@@ -9,5 +9,6 @@ import java.util.List;
 @Builder
 public class SettlementListResponse {
     private List<SettlementResponse> settlements;
-    private Long totalCount;
+    private String nextCursor;   // 다음 페이지 커서 (없으면 null)
+    private boolean hasNext;
 }
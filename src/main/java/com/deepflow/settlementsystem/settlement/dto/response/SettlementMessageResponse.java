@@ -0,0 +1,22 @@
+package com.deepflow.settlementsystem.settlement.dto.response;
+
+import com.deepflow.settlementsystem.settlement.entity.SettlementMessageStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+public class SettlementMessageResponse {
+    private Long messageId;
+    private List<Long> targetUserIds;
+    private List<Long> unresolvedUserIds; // 카카오 친구 목록에 없어 보내지 못한 사람들
+    private SettlementMessageStatus status;
+    private Integer attempts;
+    private String lastError;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+}
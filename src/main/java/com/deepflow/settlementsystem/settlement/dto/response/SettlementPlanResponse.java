@@ -0,0 +1,26 @@
+package com.deepflow.settlementsystem.settlement.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class SettlementPlanResponse {
+    private Long groupId;
+    private Long allocationPairCount; // 정리 전 송금 쌍(sender -> receiver) 수
+    private Long transferCount;       // 정리 후 송금 횟수
+    private Long totalAmount;         // 정리 후 총 송금 금액
+    private List<Transfer> transfers;
+
+    @Getter
+    @Builder
+    public static class Transfer {
+        private Long senderId;
+        private String senderNickname;
+        private Long receiverId;
+        private String receiverNickname;
+        private Long amount;
+    }
+}
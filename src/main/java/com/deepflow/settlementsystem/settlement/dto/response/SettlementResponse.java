@@ -1,6 +1,7 @@
 package com.deepflow.settlementsystem.settlement.dto.response;
 
 import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@AllArgsConstructor // JPQL 생성자 프로젝션용 (필드 순서 유지)
 public class SettlementResponse {
     private Long allocationId;
     private Long groupId;
@@ -0,0 +1,57 @@
+package com.deepflow.settlementsystem.settlement.entity;
+
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 두 사용자 간 상태별 정산 금액 원장
+ * (userA, userB)는 항상 userA < userB 로 저장하고, 방향별 금액을 따로 가집니다.
+ * expense_allocations 가 바뀌는 트랜잭션 안에서 함께 갱신됩니다.
+ */
+@Entity
+@Table(name = "pair_balances", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_pair_balances_pair_status", columnNames = {"user_a_id", "user_b_id", "status"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PairBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_a_id", nullable = false)
+    private Long userAId;
+
+    @Column(name = "user_b_id", nullable = false)
+    private Long userBId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private SettlementStatus status;
+
+    @Column(name = "amount_a_to_b", nullable = false)
+    private Long amountAToB; // userA 가 userB 에게 보낼 금액
+
+    @Column(name = "amount_b_to_a", nullable = false)
+    private Long amountBToA; // userB 가 userA 에게 보낼 금액
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public PairBalance(Long userAId, Long userBId, SettlementStatus status, Long amountAToB, Long amountBToA) {
+        this.userAId = userAId;
+        this.userBId = userBId;
+        this.status = status;
+        this.amountAToB = amountAToB;
+        this.amountBToA = amountBToA;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
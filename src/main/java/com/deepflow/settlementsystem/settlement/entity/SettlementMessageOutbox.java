@@ -0,0 +1,148 @@
+package com.deepflow.settlementsystem.settlement.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 카카오 정산 요청 메시지 outbox
+ * 정산 상태 변경과 같은 트랜잭션에서 저장되고, SettlementMessageDispatcher 가 비동기로 전송합니다.
+ */
+@Entity
+@Table(name = "settlement_message_outbox", indexes = {
+    @Index(name = "idx_settlement_message_outbox_status_next", columnList = "status, next_attempt_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SettlementMessageOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "requester_user_id", nullable = false)
+    private Long requesterUserId; // 메시지를 보내는 사람 (돈을 받을 사람, 카카오 토큰 소유자)
+
+    @Column(name = "target_user_ids", nullable = false, length = 1000)
+    private String targetUserIds; // 메시지를 받는 사람들 (콤마 구분 userId)
+
+    @Column(name = "unresolved_user_ids", length = 1000)
+    private String unresolvedUserIds; // 카카오 친구 목록에서 찾지 못해 보내지 못한 사람들 (콤마 구분 userId)
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload; // 카카오 template_object JSON
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private SettlementMessageStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Builder
+    public SettlementMessageOutbox(Long requesterUserId, List<Long> targetUserIds, String payload) {
+        LocalDateTime now = LocalDateTime.now();
+        this.requesterUserId = requesterUserId;
+        this.targetUserIds = toIdString(targetUserIds);
+        this.payload = payload;
+        this.status = SettlementMessageStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = now;
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    public List<Long> getTargetUserIdList() {
+        return toIdList(targetUserIds);
+    }
+
+    public List<Long> getUnresolvedUserIdList() {
+        return toIdList(unresolvedUserIds);
+    }
+
+    // 일부 수신자에게만 전송된 경우 남은 수신자만 재시도
+    public void retainTargets(List<Long> userIds) {
+        this.targetUserIds = toIdString(userIds);
+    }
+
+    // 친구 목록에 없는 수신자는 대상에서 빼고 따로 기록 (나머지 수신자 전송은 계속)
+    public void markUnresolved(List<Long> userIds) {
+        Set<Long> unresolved = new LinkedHashSet<>(getUnresolvedUserIdList());
+        unresolved.addAll(userIds);
+        this.unresolvedUserIds = toIdString(new ArrayList<>(unresolved));
+        this.targetUserIds = toIdString(getTargetUserIdList().stream().filter(id -> !unresolved.contains(id)).toList());
+    }
+
+    public void markSending(LocalDateTime now) {
+        this.status = SettlementMessageStatus.SENDING;
+        this.attempts++;
+        this.updatedAt = now;
+    }
+
+    public void markSent(LocalDateTime now) {
+        this.status = SettlementMessageStatus.SENT;
+        this.lastError = null;
+        this.sentAt = now;
+        this.updatedAt = now;
+    }
+
+    public void markRetry(String error, LocalDateTime nextAttemptAt, LocalDateTime now) {
+        this.status = SettlementMessageStatus.PENDING;
+        this.lastError = truncate(error);
+        this.nextAttemptAt = nextAttemptAt;
+        this.updatedAt = now;
+    }
+
+    public void markFailed(String error, LocalDateTime now) {
+        this.status = SettlementMessageStatus.FAILED;
+        this.lastError = truncate(error);
+        this.updatedAt = now;
+    }
+
+    private static List<Long> toIdList(String ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        return Arrays.stream(ids.split(","))
+                .filter(id -> !id.isBlank())
+                .map(Long::valueOf)
+                .toList();
+    }
+
+    private static String toIdString(List<Long> ids) {
+        return String.join(",", ids.stream().map(String::valueOf).toList());
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,8 @@
+package com.deepflow.settlementsystem.settlement.entity;
+
+public enum SettlementMessageStatus { // 정산 요청 메시지 전송 상태
+    PENDING,  // 전송 대기 (재시도 대기 포함)
+    SENDING,  // 디스패처가 전송 중
+    SENT,     // 전송 완료
+    FAILED    // 재시도 초과 또는 재시도 불가 오류
+}
@@ -0,0 +1,23 @@
+package com.deepflow.settlementsystem.settlement.event;
+
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 정산 건 상태 변경 이벤트 (그룹, sender -> receiver 쌍 단위)
+ * 커밋 후 Redis pub/sub 으로 모든 인스턴스에 전달되어 SSE 구독자에게 push 됩니다.
+ * @param allocationIds 변경된 정산 건 ID
+ * @param deleted       true 면 allocationIds 의 정산 건이 삭제됨 (지출 수정/삭제, status 는 삭제 직전 상태)
+ */
+public record SettlementStatusChangedEvent(
+        Long groupId,
+        Long senderId,
+        Long receiverId,
+        List<Long> allocationIds,
+        SettlementStatus status,
+        LocalDateTime occurredAt,
+        boolean deleted
+) {
+}
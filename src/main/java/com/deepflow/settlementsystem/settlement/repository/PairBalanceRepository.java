@@ -0,0 +1,32 @@
+package com.deepflow.settlementsystem.settlement.repository;
+
+import com.deepflow.settlementsystem.settlement.entity.PairBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PairBalanceRepository extends JpaRepository<PairBalance, Long> {
+
+    @Query("SELECT pb FROM PairBalance pb WHERE pb.userAId = :userAId AND pb.userBId = :userBId")
+    List<PairBalance> findByPair(@Param("userAId") Long userAId, @Param("userBId") Long userBId);
+
+    // 행이 없으면 만들고, 있으면 금액을 더함 (원자적 증감)
+    @Modifying
+    @Query(value = "INSERT INTO pair_balances (user_a_id, user_b_id, status, amount_a_to_b, amount_b_to_a, updated_at) " +
+                   "VALUES (:userAId, :userBId, :status, :amountAToB, :amountBToA, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "amount_a_to_b = amount_a_to_b + VALUES(amount_a_to_b), " +
+                   "amount_b_to_a = amount_b_to_a + VALUES(amount_b_to_a), " +
+                   "updated_at = NOW()",
+           nativeQuery = true)
+    int addAmounts(
+            @Param("userAId") Long userAId,
+            @Param("userBId") Long userBId,
+            @Param("status") String status,
+            @Param("amountAToB") long amountAToB,
+            @Param("amountBToA") long amountBToA
+    );
+}
@@ -0,0 +1,33 @@
+package com.deepflow.settlementsystem.settlement.repository;
+
+import com.deepflow.settlementsystem.settlement.entity.SettlementMessageOutbox;
+import com.deepflow.settlementsystem.settlement.entity.SettlementMessageStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SettlementMessageOutboxRepository extends JpaRepository<SettlementMessageOutbox, Long> {
+
+    // 전송할 메시지 선점 (다른 인스턴스가 잡고 있는 행은 건너뜀)
+    @Query(value = "SELECT * FROM settlement_message_outbox " +
+                   "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<SettlementMessageOutbox> findDispatchableForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 전송 중에 인스턴스가 죽어 SENDING 으로 남은 메시지를 다시 대기 상태로
+    @Modifying
+    @Query("UPDATE SettlementMessageOutbox o " +
+           "SET o.status = :pending, o.nextAttemptAt = :now, o.updatedAt = :now " +
+           "WHERE o.status = :sending AND o.updatedAt < :staleBefore")
+    int releaseStale(
+            @Param("pending") SettlementMessageStatus pending,
+            @Param("sending") SettlementMessageStatus sending,
+            @Param("staleBefore") LocalDateTime staleBefore,
+            @Param("now") LocalDateTime now
+    );
+}
@@ -0,0 +1,198 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.common.code.ErrorCode;
+import com.deepflow.settlementsystem.common.exception.CustomException;
+import com.deepflow.settlementsystem.expense.repository.ExpenseItemAllocationRepository;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationPairStatusAmount;
+import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import com.deepflow.settlementsystem.group.repository.MemberRepository;
+import com.deepflow.settlementsystem.settlement.dto.response.GroupBalanceResponse;
+import com.deepflow.settlementsystem.settlement.event.SettlementStatusChangedEvent;
+import com.deepflow.settlementsystem.user.entity.User;
+import com.deepflow.settlementsystem.user.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 그룹 정산 현황 (멤버 x 멤버 순금액 행렬, 멤버별 합계)
+ * 그룹 내 정산 건을 (sender, receiver, status) 로 한 번에 집계하고, 결과는 Redis 에 캐시합니다.
+ * 캐시 키에 그룹 버전을 넣고, 정산 건이 바뀌면 커밋 후 버전을 올려 이전 캐시를 무효화합니다.
+ * (버전을 올리기 전에 조회를 시작한 요청이 이전 값을 다시 캐시해도 새 버전 키에는 쓰지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GroupBalanceService {
+
+    private static final String CACHE_PREFIX = "GROUP_BALANCES:";
+    private static final String VERSION_PREFIX = "GROUP_BALANCES_VERSION:";
+
+    private final GroupRepository groupRepository;
+    private final MemberRepository memberRepository;
+    private final ExpenseItemAllocationRepository expenseAllocationRepository;
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${settlement.balances.cache-ttl-minutes:10}")
+    private long cacheTtlMinutes;
+
+    /**
+     * 버전 키는 트랜잭션의 첫 조회(스냅샷 시작) 전에 읽어야 합니다.
+     * 스냅샷 이후에 읽으면, 그 사이 커밋된 변경의 새 버전 키에 변경 전 스냅샷으로 계산한 값이 TTL 동안 남을 수 있음
+     * 그래서 이 메서드는 트랜잭션 없이 버전을 먼저 읽고, 조회는 읽기 전용 TransactionTemplate 안에서 합니다.
+     */
+    public GroupBalanceResponse getGroupBalances(Long groupId, Long userId) {
+        String version = redisTemplate.opsForValue().get(VERSION_PREFIX + groupId);
+        String cacheKey = CACHE_PREFIX + groupId + ":" + (version != null ? version : "0");
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> {
+            if (!groupRepository.existsById(groupId)) {
+                throw new CustomException(ErrorCode.GROUP_NOT_FOUND);
+            }
+            if (!memberRepository.existsByGroupIdAndUserId(groupId, userId)) {
+                throw new CustomException(ErrorCode.NO_ACCESS_PERMISSION);
+            }
+
+            String cached = redisTemplate.opsForValue().get(cacheKey);
+            if (cached != null) {
+                try {
+                    return objectMapper.readValue(cached, GroupBalanceResponse.class);
+                } catch (JsonProcessingException e) {
+                    log.warn("그룹 정산 현황 캐시 역직렬화 실패. groupId: {}", groupId, e);
+                }
+            }
+
+            GroupBalanceResponse response = computeGroupBalances(groupId);
+            try {
+                redisTemplate.opsForValue().set(cacheKey, objectMapper.writeValueAsString(response),
+                        Duration.ofMinutes(cacheTtlMinutes));
+            } catch (JsonProcessingException e) {
+                log.warn("그룹 정산 현황 캐시 저장 실패. groupId: {}", groupId, e);
+            }
+            return response;
+        });
+    }
+
+    // 그룹 정산 건이 바뀐 트랜잭션이 커밋된 뒤 캐시 무효화
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void evict(SettlementStatusChangedEvent event) {
+        if (event.groupId() == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().increment(VERSION_PREFIX + event.groupId());
+        } catch (Exception e) {
+            log.warn("그룹 정산 현황 캐시 무효화 실패. groupId: {}", event.groupId(), e);
+        }
+    }
+
+    private GroupBalanceResponse computeGroupBalances(Long groupId) {
+        List<AllocationPairStatusAmount> rows = expenseAllocationRepository
+                .sumAmountByGroupIdGroupByPairAndStatus(groupId);
+
+        // userId <-> 인덱스
+        Map<Long, Integer> indexByUserId = new HashMap<>();
+        List<Long> memberIds = new ArrayList<>();
+        for (AllocationPairStatusAmount row : rows) {
+            if (row.getSenderId() == null || row.getReceiverId() == null) {
+                continue;
+            }
+            indexByUserId.computeIfAbsent(row.getSenderId(), id -> { memberIds.add(id); return memberIds.size() - 1; });
+            indexByUserId.computeIfAbsent(row.getReceiverId(), id -> { memberIds.add(id); return memberIds.size() - 1; });
+        }
+
+        int n = memberIds.size();
+        long[][] open = new long[n][n]; // 미완료(UNSETTLED + REQUESTED) i -> j
+        long[] unsettledToSend = new long[n];
+        long[] requestedToSend = new long[n];
+        long[] unsettledToReceive = new long[n];
+        long[] requestedToReceive = new long[n];
+        long[] completedSent = new long[n];
+        long[] completedReceived = new long[n];
+
+        for (AllocationPairStatusAmount row : rows) {
+            if (row.getSenderId() == null || row.getReceiverId() == null
+                    || row.getStatus() == null || row.getAmount() == null) {
+                continue;
+            }
+            int sender = indexByUserId.get(row.getSenderId());
+            int receiver = indexByUserId.get(row.getReceiverId());
+            long amount = row.getAmount();
+            switch (row.getStatus()) {
+                case UNSETTLED -> {
+                    open[sender][receiver] += amount;
+                    unsettledToSend[sender] += amount;
+                    unsettledToReceive[receiver] += amount;
+                }
+                case REQUESTED -> {
+                    open[sender][receiver] += amount;
+                    requestedToSend[sender] += amount;
+                    requestedToReceive[receiver] += amount;
+                }
+                case COMPLETED -> {
+                    completedSent[sender] += amount;
+                    completedReceived[receiver] += amount;
+                }
+            }
+        }
+
+        // 양방향 금액은 상계해서 한쪽에만 남김
+        List<List<Long>> matrix = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            List<Long> matrixRow = new ArrayList<>(n);
+            for (int j = 0; j < n; j++) {
+                matrixRow.add(Math.max(0L, open[i][j] - open[j][i]));
+            }
+            matrix.add(matrixRow);
+        }
+
+        Map<Long, User> users = userRepository.findAllById(memberIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<GroupBalanceResponse.Member> members = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            User user = users.get(memberIds.get(i));
+            long toSend = unsettledToSend[i] + requestedToSend[i];
+            long toReceive = unsettledToReceive[i] + requestedToReceive[i];
+            members.add(GroupBalanceResponse.Member.builder()
+                    .userId(memberIds.get(i))
+                    .nickname(user != null ? user.getNickname() : null)
+                    .unsettledToSend(unsettledToSend[i])
+                    .requestedToSend(requestedToSend[i])
+                    .unsettledToReceive(unsettledToReceive[i])
+                    .requestedToReceive(requestedToReceive[i])
+                    .completedSent(completedSent[i])
+                    .completedReceived(completedReceived[i])
+                    .netBalance(toReceive - toSend)
+                    .build());
+        }
+
+        return GroupBalanceResponse.builder()
+                .groupId(groupId)
+                .memberIds(memberIds)
+                .matrix(matrix)
+                .members(members)
+                .build();
+    }
+}
@@ -0,0 +1,216 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.common.RedisLock;
+import com.deepflow.settlementsystem.settlement.dto.response.KakaoFriendsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 카카오 친구 디렉터리 (카카오 회원번호 -> 친구 UUID)
+ * Redis 해시 KAKAO_FRIENDS:{userId} 에 TTL 과 함께 저장합니다.
+ * - 처음 조회할 때 전체 친구 목록을 읽어 채우고
+ * - 오래된 디렉터리는 조회 시 백그라운드에서 미리 갱신하며
+ * - 디렉터리에 없는 친구는 일정 간격으로 한 번만, 찾을 때까지만 다시 읽습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KakaoFriendDirectory {
+
+    private static final String FRIENDS_PREFIX = "KAKAO_FRIENDS:";
+    private static final String REFRESH_LOCK_PREFIX = "KAKAO_FRIENDS_REFRESH:";
+    private static final String MISS_REFRESH_PREFIX = "KAKAO_FRIENDS_MISS:";
+    private static final String LOADED_AT_FIELD = "_loadedAt"; // 카카오 회원번호(숫자)와 겹치지 않는 필드
+    private static final int MAX_FRIEND_PAGES = 1000;
+    private static final Duration REFRESH_LOCK_TTL = Duration.ofMinutes(1); // 페이지 1건 조회보다 충분히 길게
+    private static final Duration REFRESH_WAIT = Duration.ofSeconds(3);     // 다른 요청의 전체 적재를 기다리는 최대 시간
+    private static final long REFRESH_POLL_MILLIS = 100;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisLock redisLock;
+    private final KakaoMessageClient kakaoMessageClient;
+    private final ThreadPoolTaskExecutor kakaoFriendRefreshExecutor;
+
+    @Value("${settlement.friends.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${settlement.friends.refresh-after-minutes:60}")
+    private long refreshAfterMinutes;
+
+    @Value("${settlement.friends.miss-refresh-interval-seconds:60}")
+    private long missRefreshIntervalSeconds;
+
+    /**
+     * 친구 UUID 조회
+     * @param userId 친구 목록 소유자 (카카오 토큰 소유자)
+     * @param accessToken userId 의 카카오 Access Token
+     * @param kakaoId 찾을 친구의 카카오 회원번호
+     * @return 친구 UUID, 친구가 아니면 null
+     */
+    public String findUuid(Long userId, String accessToken, Long kakaoId) {
+        String key = FRIENDS_PREFIX + userId;
+        String field = String.valueOf(kakaoId);
+
+        // HMGET 한 번으로 UUID 와 적재 시각을 같이 확인
+        List<String> values = redisTemplate.<String, String>opsForHash().multiGet(key, List.of(field, LOADED_AT_FIELD));
+        String uuid = values.get(0);
+        String loadedAt = values.get(1);
+
+        if (loadedAt == null) {
+            // 디렉터리가 없음 -> 전체 적재 후 다시 조회 (다른 요청이 적재 중이면 잠시 기다림)
+            if (refresh(userId, accessToken) || awaitRefresh(key)) {
+                return redisTemplate.<String, String>opsForHash().get(key, field);
+            }
+            // 적재가 늦어지면 미스와 같은 간격 제한 안에서만 직접 찾음 (대기 중인 요청마다 전체 목록을 읽지 않도록)
+            return uuid != null ? uuid : scanIfMissAllowed(userId, key, accessToken, kakaoId);
+        }
+
+        if (isStale(loadedAt)) {
+            refreshAsync(userId, accessToken);
+        }
+
+        if (uuid != null) {
+            return uuid;
+        }
+
+        // 최근에 추가된 친구일 수 있으므로, 일정 간격으로 한 번만 찾을 때까지 다시 읽음
+        return scanIfMissAllowed(userId, key, accessToken, kakaoId);
+    }
+
+    // 사용자별로 miss-refresh-interval 마다 한 번만 카카오 친구 목록을 다시 읽음 (나머지는 친구가 아닌 것으로 처리)
+    private String scanIfMissAllowed(Long userId, String key, String accessToken, Long kakaoId) {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(
+                MISS_REFRESH_PREFIX + userId, "1", Duration.ofSeconds(missRefreshIntervalSeconds));
+        if (!Boolean.TRUE.equals(acquired)) {
+            return null;
+        }
+        return scanUntilFound(key, accessToken, kakaoId);
+    }
+
+    // 다른 요청이 적재 중인 디렉터리가 REFRESH_WAIT 안에 준비되는지 기다림
+    private boolean awaitRefresh(String key) {
+        long deadline = System.currentTimeMillis() + REFRESH_WAIT.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(REFRESH_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (Boolean.TRUE.equals(redisTemplate.opsForHash().hasKey(key, LOADED_AT_FIELD))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 친구 목록 전체를 다시 읽어 디렉터리를 교체합니다. (임시 키에 채운 뒤 RENAME 으로 원자적 교체)
+     * @return 다른 요청이 이미 갱신 중이라 건너뛰었으면 false
+     */
+    public boolean refresh(Long userId, String accessToken) {
+        String key = FRIENDS_PREFIX + userId;
+        String lockKey = REFRESH_LOCK_PREFIX + userId;
+        String lockToken = redisLock.tryLock(lockKey, REFRESH_LOCK_TTL);
+        if (lockToken == null) {
+            return false; // 다른 요청이 이미 갱신 중
+        }
+
+        String tempKey = key + ":tmp:" + System.nanoTime();
+        try {
+            String afterUrl = null;
+            int pageCount = 0;
+            do {
+                KakaoFriendsResponse response = kakaoMessageClient.getFriends(accessToken, afterUrl);
+                Map<String, String> page = toEntries(response);
+                if (!page.isEmpty()) {
+                    redisTemplate.opsForHash().putAll(tempKey, page);
+                }
+                afterUrl = response.getAfterUrl();
+                pageCount++;
+                // 최대 MAX_FRIEND_PAGES 페이지까지 읽으므로 락은 페이지마다 연장 (락을 잃었으면 새 갱신이 덮어쓰지 않도록 중단)
+                if (afterUrl != null && !redisLock.extend(lockKey, lockToken, REFRESH_LOCK_TTL)) {
+                    throw new IllegalStateException("카카오 친구 디렉터리 갱신 락이 만료되었습니다. userId: " + userId);
+                }
+            } while (afterUrl != null && pageCount < MAX_FRIEND_PAGES);
+
+            // 친구가 없어도 적재 시각은 남겨서 다시 전체 조회하지 않도록 함
+            redisTemplate.opsForHash().put(tempKey, LOADED_AT_FIELD, String.valueOf(System.currentTimeMillis()));
+            redisTemplate.rename(tempKey, key);
+            redisTemplate.expire(key, Duration.ofMinutes(ttlMinutes));
+            return true;
+        } finally {
+            redisTemplate.delete(tempKey); // 중간에 실패한 경우 정리 (RENAME 후에는 없음)
+            redisLock.unlock(lockKey, lockToken);
+        }
+    }
+
+    // 오래된 디렉터리는 응답을 막지 않고 백그라운드에서 갱신
+    private void refreshAsync(Long userId, String accessToken) {
+        try {
+            kakaoFriendRefreshExecutor.execute(() -> {
+                try {
+                    refresh(userId, accessToken);
+                } catch (Exception e) {
+                    log.warn("카카오 친구 디렉터리 갱신 실패. userId: {}", userId, e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.debug("카카오 친구 디렉터리 갱신 작업이 많아 건너뜁니다. userId: {}", userId);
+        }
+    }
+
+    // 찾는 친구가 나올 때까지만 페이지를 읽으며 디렉터리에 추가
+    private String scanUntilFound(String key, String accessToken, Long kakaoId) {
+        String field = String.valueOf(kakaoId);
+        String afterUrl = null;
+        int pageCount = 0;
+        do {
+            KakaoFriendsResponse response = kakaoMessageClient.getFriends(accessToken, afterUrl);
+            Map<String, String> page = toEntries(response);
+            if (!page.isEmpty()) {
+                redisTemplate.opsForHash().putAll(key, page);
+                redisTemplate.expire(key, Duration.ofMinutes(ttlMinutes));
+            }
+            if (page.containsKey(field)) {
+                return page.get(field);
+            }
+            afterUrl = response.getAfterUrl();
+            pageCount++;
+        } while (afterUrl != null && pageCount < MAX_FRIEND_PAGES);
+
+        return null;
+    }
+
+    private boolean isStale(String loadedAt) {
+        try {
+            long ageMillis = System.currentTimeMillis() - Long.parseLong(loadedAt);
+            return ageMillis > Duration.ofMinutes(refreshAfterMinutes).toMillis();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private Map<String, String> toEntries(KakaoFriendsResponse response) {
+        Map<String, String> entries = new HashMap<>();
+        if (response.getElements() == null) {
+            return entries;
+        }
+        for (KakaoFriendsResponse.Friend friend : response.getElements()) {
+            if (friend.getId() != null && friend.getUuid() != null && !friend.getUuid().isEmpty()) {
+                entries.put(String.valueOf(friend.getId()), friend.getUuid());
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,93 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.auth.config.KakaoApiUrl;
+import com.deepflow.settlementsystem.common.code.ErrorCode;
+import com.deepflow.settlementsystem.common.exception.CustomException;
+import com.deepflow.settlementsystem.settlement.dto.response.KakaoFriendsResponse;
+import com.deepflow.settlementsystem.settlement.dto.response.KakaoSendMessageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 카카오 친구 목록 / 친구에게 기본 템플릿 메시지 보내기 API 호출
+ * DB 트랜잭션 밖(디스패처 스레드)에서만 호출합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KakaoMessageClient {
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 카카오 친구 목록 한 페이지 조회
+     * @param afterUrl 이전 응답의 after_url, 첫 페이지면 null
+     */
+    public KakaoFriendsResponse getFriends(String accessToken, String afterUrl) {
+        String url = afterUrl != null
+            ? afterUrl
+            : KakaoApiUrl.FRIENDS.getUrl();
+
+        KakaoFriendsResponse response = restClient.get()
+                .uri(UriComponentsBuilder.fromUriString(url).build().toUri())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, (request, httpResponse) -> {
+                    log.error("카카오 친구 목록 API 호출 실패: {}", httpResponse.getStatusCode());
+                    throw new CustomException(ErrorCode.EXTERNAL_SERVER_ERROR);
+                })
+                .body(KakaoFriendsResponse.class);
+
+        return Objects.requireNonNull(response);
+    }
+
+    /**
+     * 같은 템플릿 메시지를 여러 친구에게 전송합니다. (receiver_uuids 최대 5명)
+     * @param templateObjectJson 카카오 template_object JSON
+     */
+    public KakaoSendMessageResponse sendMessage(String accessToken, List<String> receiverUuids, String templateObjectJson) {
+        if (accessToken == null || accessToken.isEmpty() || receiverUuids.isEmpty()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT);
+        }
+
+        String receiverUuidsJson;
+        try {
+            receiverUuidsJson = objectMapper.writeValueAsString(receiverUuids);
+        } catch (JsonProcessingException e) {
+            log.error("JSON 직렬화 중 오류 발생", e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+
+        String requestBody = "receiver_uuids=" + URLEncoder.encode(receiverUuidsJson, StandardCharsets.UTF_8)
+                + "&template_object=" + URLEncoder.encode(templateObjectJson, StandardCharsets.UTF_8);
+
+        KakaoSendMessageResponse response = restClient.post()
+                .uri(KakaoApiUrl.SEND_MESSAGE.getUrl())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .body(requestBody)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, (request, httpResponse) -> {
+                    log.error("카카오 메시지 전송 API 호출 실패: {}", httpResponse.getStatusCode());
+                    throw new CustomException(ErrorCode.EXTERNAL_SERVER_ERROR);
+                })
+                .body(KakaoSendMessageResponse.class);
+
+        return Objects.requireNonNull(response);
+    }
+}
@@ -0,0 +1,104 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.expense.entity.ExpenseAllocation;
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import com.deepflow.settlementsystem.settlement.entity.PairBalance;
+import com.deepflow.settlementsystem.settlement.repository.PairBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사용자 쌍별 정산 원장(pair_balances) 갱신/조회
+ * 갱신 메서드는 expense_allocations 를 바꾸는 호출자의 트랜잭션 안에서만 호출해야 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PairBalanceLedger {
+
+    private final PairBalanceRepository pairBalanceRepository;
+
+    /**
+     * sender -> receiver 송금 금액을 status 에 더합니다. (음수면 차감)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long senderId, Long receiverId, SettlementStatus status, long amount) {
+        if (amount == 0 || senderId == null || receiverId == null || senderId.equals(receiverId)) {
+            return;
+        }
+        if (senderId < receiverId) {
+            pairBalanceRepository.addAmounts(senderId, receiverId, status.name(), amount, 0L);
+        } else {
+            pairBalanceRepository.addAmounts(receiverId, senderId, status.name(), 0L, amount);
+        }
+    }
+
+    /**
+     * sender -> receiver 금액을 from 상태에서 to 상태로 옮깁니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(Long senderId, Long receiverId, SettlementStatus from, SettlementStatus to, long amount) {
+        if (from == to) {
+            return;
+        }
+        add(senderId, receiverId, from, -amount);
+        add(senderId, receiverId, to, amount);
+    }
+
+    /**
+     * 새로 생성된 정산 건들을 원장에 반영합니다. (쌍/상태별로 합쳐서 한 번씩 갱신)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Collection<ExpenseAllocation> allocations) {
+        for (Map.Entry<Key, Long> entry : sumByKey(allocations).entrySet()) {
+            Key key = entry.getKey();
+            add(key.senderId(), key.receiverId(), key.status(), entry.getValue());
+        }
+    }
+
+    /**
+     * 정산 건들의 상태가 to 로 바뀌기 전에 호출해 원장을 옮깁니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moveAll(Collection<ExpenseAllocation> allocations, SettlementStatus to) {
+        for (Map.Entry<Key, Long> entry : sumByKey(allocations).entrySet()) {
+            Key key = entry.getKey();
+            move(key.senderId(), key.receiverId(), key.status(), to, entry.getValue());
+        }
+    }
+
+    /**
+     * 두 사용자 간(양방향) 상태별 금액 합계
+     */
+    @Transactional(readOnly = true)
+    public Map<SettlementStatus, Long> sumByStatus(Long userId, Long targetUserId) {
+        Map<SettlementStatus, Long> sums = new EnumMap<>(SettlementStatus.class);
+        for (PairBalance balance : pairBalanceRepository.findByPair(
+                Math.min(userId, targetUserId), Math.max(userId, targetUserId))) {
+            sums.merge(balance.getStatus(), balance.getAmountAToB() + balance.getAmountBToA(), Long::sum);
+        }
+        return sums;
+    }
+
+    private Map<Key, Long> sumByKey(Collection<ExpenseAllocation> allocations) {
+        Map<Key, Long> sums = new LinkedHashMap<>();
+        for (ExpenseAllocation allocation : allocations) {
+            if (allocation.getSender() == null || allocation.getReceiver() == null
+                    || allocation.getShareAmount() == null || allocation.getStatus() == null) {
+                continue;
+            }
+            Key key = new Key(allocation.getSender().getId(), allocation.getReceiver().getId(), allocation.getStatus());
+            sums.merge(key, allocation.getShareAmount().longValue(), Long::sum);
+        }
+        return sums;
+    }
+
+    private record Key(Long senderId, Long receiverId, SettlementStatus status) {
+    }
+}
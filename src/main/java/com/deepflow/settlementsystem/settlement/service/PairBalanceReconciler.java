@@ -0,0 +1,123 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.common.RedisLock;
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import com.deepflow.settlementsystem.expense.repository.ExpenseItemAllocationRepository;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationPairStatusAmount;
+import com.deepflow.settlementsystem.settlement.entity.PairBalance;
+import com.deepflow.settlementsystem.settlement.repository.PairBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 정산 원장(pair_balances) 재계산 / drift 검사
+ * expense_allocations 를 다시 집계해 원장과 비교하고, 필요하면 차이만큼 보정합니다.
+ * 원장이 비어 있는 상태에서 실행하면 전체 backfill 이 됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PairBalanceReconciler {
+
+    private static final String LOCK_KEY = "PAIR_BALANCE_RECONCILE_LOCK";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(10);
+
+    private final ExpenseItemAllocationRepository expenseAllocationRepository;
+    private final PairBalanceRepository pairBalanceRepository;
+    private final RedisLock redisLock;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${settlement.ledger.repair-on-drift:true}")
+    private boolean repairOnDrift;
+
+    // 여러 인스턴스 중 하나만 실행되도록 Redis 락 사용
+    @Scheduled(cron = "${settlement.ledger.reconcile-cron:0 0 4 * * *}", zone = "${app.timezone:Asia/Seoul}")
+    public void scheduledReconcile() {
+        String lockToken = redisLock.tryLock(LOCK_KEY, LOCK_TTL);
+        if (lockToken == null) {
+            return;
+        }
+        try {
+            reconcile(repairOnDrift);
+        } catch (Exception e) {
+            log.error("정산 원장 재계산 실패", e);
+        } finally {
+            redisLock.unlock(LOCK_KEY, lockToken);
+        }
+    }
+
+    /**
+     * 원장과 expense_allocations 집계를 비교합니다.
+     * 두 값을 같은 트랜잭션(같은 스냅샷)에서 읽고 차이만큼 원자적으로 더하므로,
+     * 실행 중에 다른 트랜잭션이 원장을 갱신해도 이중 반영되지 않습니다.
+     * @param repair true 면 차이를 원장에 반영
+     * @return 차이가 난 (사용자 쌍, 상태) 수
+     */
+    public int reconcile(boolean repair) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        Integer driftCount = transactionTemplate.execute(status -> {
+            Map<Key, long[]> expected = new HashMap<>();
+            for (AllocationPairStatusAmount row : expenseAllocationRepository.sumAmountGroupByPairAndStatus()) {
+                if (row.getSenderId() == null || row.getReceiverId() == null
+                        || row.getStatus() == null || row.getAmount() == null
+                        || row.getSenderId().equals(row.getReceiverId())) {
+                    continue;
+                }
+                boolean forward = row.getSenderId() < row.getReceiverId();
+                Key key = forward
+                        ? new Key(row.getSenderId(), row.getReceiverId(), row.getStatus())
+                        : new Key(row.getReceiverId(), row.getSenderId(), row.getStatus());
+                expected.computeIfAbsent(key, k -> new long[2])[forward ? 0 : 1] += row.getAmount();
+            }
+
+            Map<Key, long[]> actual = new HashMap<>();
+            for (PairBalance balance : pairBalanceRepository.findAll()) {
+                actual.put(new Key(balance.getUserAId(), balance.getUserBId(), balance.getStatus()),
+                        new long[]{balance.getAmountAToB(), balance.getAmountBToA()});
+            }
+
+            Set<Key> keys = new HashSet<>(expected.keySet());
+            keys.addAll(actual.keySet());
+
+            int drift = 0;
+            for (Key key : keys) {
+                long[] want = expected.getOrDefault(key, new long[2]);
+                long[] have = actual.getOrDefault(key, new long[2]);
+                long diffAToB = want[0] - have[0];
+                long diffBToA = want[1] - have[1];
+                if (diffAToB == 0 && diffBToA == 0) {
+                    continue;
+                }
+
+                drift++;
+                log.warn("정산 원장 drift: userA={}, userB={}, status={}, diffAToB={}, diffBToA={}",
+                        key.userAId(), key.userBId(), key.status(), diffAToB, diffBToA);
+                if (repair) {
+                    pairBalanceRepository.addAmounts(key.userAId(), key.userBId(), key.status().name(),
+                            diffAToB, diffBToA);
+                }
+            }
+            return drift;
+        });
+
+        log.info("정산 원장 재계산 완료: drift={}, repaired={}", driftCount, repair);
+        return driftCount != null ? driftCount : 0;
+    }
+
+    private record Key(Long userAId, Long userBId, SettlementStatus status) {
+    }
+}
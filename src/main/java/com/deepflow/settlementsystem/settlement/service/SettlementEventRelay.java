@@ -0,0 +1,61 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.settlement.event.SettlementStatusChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 정산 상태 변경 이벤트를 Redis pub/sub 으로 모든 인스턴스에 전달
+ * 커밋된 변경만 발행하고, 수신한 인스턴스는 자신에게 연결된 SSE 구독자에게 push 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementEventRelay {
+
+    public static final String CHANNEL = "SETTLEMENT_STATUS_EVENTS";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final SettlementSseHub settlementSseHub;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL)
+        );
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publish(SettlementStatusChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.error("정산 상태 이벤트 직렬화 실패: {}", event, e);
+        } catch (Exception e) {
+            // push 실패가 이미 커밋된 요청을 실패시키지 않도록 로그만 남김
+            log.warn("정산 상태 이벤트 발행 실패: {}", event, e);
+        }
+    }
+
+    private void onMessage(String body) {
+        try {
+            settlementSseHub.dispatch(objectMapper.readValue(body, SettlementStatusChangedEvent.class));
+        } catch (Exception e) {
+            log.warn("정산 상태 이벤트 처리 실패: {}", body, e);
+        }
+    }
+}
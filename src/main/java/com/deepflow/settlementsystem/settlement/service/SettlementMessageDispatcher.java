@@ -0,0 +1,213 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.auth.service.KakaoTokenService;
+import com.deepflow.settlementsystem.settlement.dto.response.KakaoSendMessageResponse;
+import com.deepflow.settlementsystem.settlement.entity.SettlementMessageOutbox;
+import com.deepflow.settlementsystem.settlement.entity.SettlementMessageStatus;
+import com.deepflow.settlementsystem.settlement.repository.SettlementMessageOutboxRepository;
+import com.deepflow.settlementsystem.user.entity.User;
+import com.deepflow.settlementsystem.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 정산 요청 메시지 outbox 디스패처
+ * PENDING 메시지를 SKIP LOCKED 로 선점해 settlementMessageExecutor 에서 전송하고,
+ * 실패하면 지수 백오프로 재시도합니다. 동시에 처리하는 메시지 수는 settlement.outbox.concurrency 로 제한됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementMessageDispatcher {
+
+    private final SettlementMessageOutboxRepository outboxRepository;
+    private final KakaoTokenService kakaoTokenService;
+    private final KakaoMessageClient kakaoMessageClient;
+    private final KakaoFriendDirectory kakaoFriendDirectory;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor settlementMessageExecutor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${settlement.outbox.concurrency:4}")
+    private int concurrency;
+
+    @Value("${settlement.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${settlement.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${settlement.outbox.base-backoff-ms:2000}")
+    private long baseBackoffMs;
+
+    @Value("${settlement.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Value("${settlement.outbox.stale-timeout-ms:300000}")
+    private long staleTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${settlement.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        int capacity = Math.min(batchSize, concurrency - inFlight.get());
+        if (capacity <= 0) {
+            return;
+        }
+
+        for (Long messageId : claim(capacity)) {
+            inFlight.incrementAndGet();
+            try {
+                settlementMessageExecutor.execute(() -> {
+                    try {
+                        deliver(messageId);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // SENDING 으로 남은 메시지는 releaseStale 에서 다시 대기 상태로 돌아감
+                inFlight.decrementAndGet();
+                log.warn("정산 메시지 전송 작업 거부됨. messageId: {}", messageId);
+            }
+        }
+    }
+
+    // 전송 중 종료된 인스턴스가 남긴 메시지 회수
+    @Scheduled(fixedDelayString = "${settlement.outbox.stale-check-interval-ms:60000}")
+    public void releaseStale() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer released = new TransactionTemplate(transactionManager).execute(status ->
+                outboxRepository.releaseStale(
+                        SettlementMessageStatus.PENDING,
+                        SettlementMessageStatus.SENDING,
+                        now.minusNanos(staleTimeoutMs * 1_000_000L),
+                        now
+                ));
+        if (released != null && released > 0) {
+            log.warn("전송 중 상태로 남은 정산 메시지 {}건을 다시 대기 상태로 변경했습니다.", released);
+        }
+    }
+
+    // 짧은 트랜잭션으로 선점만 하고 커밋 (전송은 트랜잭션 밖에서)
+    private List<Long> claim(int limit) {
+        List<Long> claimed = new TransactionTemplate(transactionManager).execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<SettlementMessageOutbox> messages = outboxRepository.findDispatchableForUpdate(now, limit);
+            messages.forEach(message -> message.markSending(now));
+            return messages.stream().map(SettlementMessageOutbox::getId).toList();
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void deliver(Long messageId) {
+        SettlementMessageOutbox message = outboxRepository.findById(messageId).orElse(null);
+        if (message == null || message.getStatus() != SettlementMessageStatus.SENDING) {
+            return;
+        }
+
+        LocalDateTime now;
+        try {
+            List<Long> failedUserIds = send(message);
+            now = LocalDateTime.now();
+            if (failedUserIds.isEmpty()) {
+                message.markSent(now);
+                log.info("카카오 메시지 전송 성공. messageId: {}", messageId);
+            } else {
+                // 성공한 수신자에게 중복 전송하지 않도록 실패한 수신자만 남김
+                message.retainTargets(failedUserIds);
+                scheduleRetry(message, "일부 수신자 전송 실패: " + failedUserIds, now);
+            }
+        } catch (PermanentFailureException e) {
+            now = LocalDateTime.now();
+            message.markFailed(e.getMessage(), now);
+            log.warn("카카오 메시지 전송 실패 (재시도 안 함). messageId: {}, reason: {}", messageId, e.getMessage());
+        } catch (Exception e) {
+            now = LocalDateTime.now();
+            scheduleRetry(message, e.getClass().getSimpleName() + ": " + e.getMessage(), now);
+            log.warn("카카오 메시지 전송 실패. messageId: {}, attempts: {}", messageId, message.getAttempts(), e);
+        }
+
+        outboxRepository.save(message);
+    }
+
+    private void scheduleRetry(SettlementMessageOutbox message, String error, LocalDateTime now) {
+        if (message.getAttempts() >= maxAttempts) {
+            message.markFailed(error, now);
+            return;
+        }
+        // base * 2^(attempts-1), 최대 maxBackoffMs
+        long backoffMs = Math.min(maxBackoffMs, baseBackoffMs << Math.min(message.getAttempts() - 1, 20));
+        message.markRetry(error, now.plusNanos(backoffMs * 1_000_000L), now);
+    }
+
+    /**
+     * 메시지를 전송합니다.
+     * 카카오 친구 목록에서 찾지 못한 수신자는 message 에 따로 기록하고 나머지에게만 보내며,
+     * 아무도 찾지 못한 경우에만 전체를 실패 처리합니다.
+     * @return 전송에 실패한 수신자 userId 목록 (모두 성공하면 빈 목록)
+     */
+    private List<Long> send(SettlementMessageOutbox message) {
+        String accessToken = kakaoTokenService.getKakaoAccessToken(message.getRequesterUserId());
+        if (accessToken == null || accessToken.isEmpty()) {
+            // 요청자가 다시 로그인하면 토큰이 생기므로 재시도 대상
+            throw new IllegalStateException("카카오 Access Token이 없습니다. requesterUserId: " + message.getRequesterUserId());
+        }
+
+        List<Long> targetUserIds = message.getTargetUserIdList();
+        Map<String, Long> userIdByUuid = new HashMap<>();
+        for (User target : userRepository.findAllById(targetUserIds)) {
+            String uuid = kakaoFriendDirectory.findUuid(message.getRequesterUserId(), accessToken, target.getKakaoId());
+            if (uuid != null) {
+                userIdByUuid.put(uuid, target.getId());
+            }
+        }
+
+        // 탈퇴했거나 친구 목록에 없는 수신자
+        List<Long> unresolvedUserIds = targetUserIds.stream()
+                .filter(userId -> !userIdByUuid.containsValue(userId))
+                .toList();
+        if (!unresolvedUserIds.isEmpty()) {
+            message.markUnresolved(unresolvedUserIds);
+            log.warn("카카오 친구 목록에 없는 수신자는 제외합니다. messageId: {}, userIds: {}", message.getId(), unresolvedUserIds);
+        }
+        if (userIdByUuid.isEmpty()) {
+            throw new PermanentFailureException("카카오 친구 목록에서 수신자를 찾지 못했습니다. userIds: " + unresolvedUserIds);
+        }
+
+        KakaoSendMessageResponse response = kakaoMessageClient.sendMessage(
+                accessToken, new ArrayList<>(userIdByUuid.keySet()), message.getPayload());
+
+        List<String> successfulUuids = response.getSuccessfulReceiverUuids() != null
+                ? response.getSuccessfulReceiverUuids()
+                : List.of();
+        List<Long> failedUserIds = new ArrayList<>();
+        userIdByUuid.forEach((uuid, userId) -> {
+            if (!successfulUuids.contains(uuid)) {
+                failedUserIds.add(userId);
+            }
+        });
+        return failedUserIds;
+    }
+
+    // 재시도해도 성공할 수 없는 오류 (친구가 아님 등)
+    private static class PermanentFailureException extends RuntimeException {
+        PermanentFailureException(String message) {
+            super(message);
+        }
+    }
+}
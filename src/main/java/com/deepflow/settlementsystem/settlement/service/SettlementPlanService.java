@@ -0,0 +1,120 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.common.code.ErrorCode;
+import com.deepflow.settlementsystem.common.exception.CustomException;
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import com.deepflow.settlementsystem.expense.repository.ExpenseItemAllocationRepository;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationPairAmount;
+import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import com.deepflow.settlementsystem.group.repository.MemberRepository;
+import com.deepflow.settlementsystem.settlement.dto.response.SettlementPlanResponse;
+import com.deepflow.settlementsystem.user.entity.User;
+import com.deepflow.settlementsystem.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SettlementPlanService {
+
+    private static final List<SettlementStatus> OPEN_STATUSES =
+            List.of(SettlementStatus.UNSETTLED, SettlementStatus.REQUESTED);
+
+    private final GroupRepository groupRepository;
+    private final MemberRepository memberRepository;
+    private final ExpenseItemAllocationRepository expenseAllocationRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * 그룹 정산 계획 조회
+     * 미완료(UNSETTLED, REQUESTED) 정산 건을 멤버별 순잔액으로 합친 뒤,
+     * 송금 횟수가 최소가 되도록 정리한 송금 목록을 반환합니다.
+     */
+    public SettlementPlanResponse getSettlementPlan(Long groupId, Long userId) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new CustomException(ErrorCode.GROUP_NOT_FOUND);
+        }
+        if (!memberRepository.existsByGroupIdAndUserId(groupId, userId)) {
+            throw new CustomException(ErrorCode.NO_ACCESS_PERMISSION);
+        }
+
+        // 쌍별 합계는 DB에서 집계 (allocation 수와 무관하게 최대 멤버^2 행)
+        List<AllocationPairAmount> pairs = expenseAllocationRepository
+                .sumAmountByGroupIdGroupByPair(groupId, OPEN_STATUSES);
+
+        // userId <-> 배열 인덱스 매핑
+        Map<Long, Integer> indexByUserId = new HashMap<>();
+        List<Long> userIds = new ArrayList<>();
+        int[] senders = new int[pairs.size()];
+        int[] receivers = new int[pairs.size()];
+        long[] amounts = new long[pairs.size()];
+        int count = 0;
+        for (AllocationPairAmount pair : pairs) {
+            if (pair.getSenderId() == null || pair.getReceiverId() == null || pair.getAmount() == null) {
+                continue;
+            }
+            senders[count] = indexOf(pair.getSenderId(), indexByUserId, userIds);
+            receivers[count] = indexOf(pair.getReceiverId(), indexByUserId, userIds);
+            amounts[count] = pair.getAmount();
+            count++;
+        }
+
+        long[] balances = SettlementPlanner.netBalances(
+                userIds.size(),
+                Arrays.copyOf(senders, count),
+                Arrays.copyOf(receivers, count),
+                Arrays.copyOf(amounts, count)
+        );
+        SettlementPlanner.Plan plan = SettlementPlanner.plan(balances);
+
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<SettlementPlanResponse.Transfer> transfers = new ArrayList<>(plan.size());
+        long totalAmount = 0;
+        for (int i = 0; i < plan.size(); i++) {
+            Long senderId = userIds.get(plan.from(i));
+            Long receiverId = userIds.get(plan.to(i));
+            transfers.add(SettlementPlanResponse.Transfer.builder()
+                    .senderId(senderId)
+                    .senderNickname(nicknameOf(users.get(senderId)))
+                    .receiverId(receiverId)
+                    .receiverNickname(nicknameOf(users.get(receiverId)))
+                    .amount(plan.amount(i))
+                    .build());
+            totalAmount += plan.amount(i);
+        }
+
+        return SettlementPlanResponse.builder()
+                .groupId(groupId)
+                .allocationPairCount((long) count)
+                .transferCount((long) transfers.size())
+                .totalAmount(totalAmount)
+                .transfers(transfers)
+                .build();
+    }
+
+    private int indexOf(Long userId, Map<Long, Integer> indexByUserId, List<Long> userIds) {
+        Integer index = indexByUserId.get(userId);
+        if (index == null) {
+            index = userIds.size();
+            indexByUserId.put(userId, index);
+            userIds.add(userId);
+        }
+        return index;
+    }
+
+    private String nicknameOf(User user) {
+        return user != null ? user.getNickname() : null;
+    }
+}
@@ -0,0 +1,193 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+/**
+ * 그룹 정산 계획 계산기
+ * 멤버별 순잔액(받을 돈 - 보낼 돈)을 구한 뒤, 송금 횟수가 최소가 되도록 송금 목록을 만듭니다.
+ * 엔티티 없이 멤버 인덱스(0 ~ memberCount-1)와 primitive 배열만 사용합니다.
+ */
+public final class SettlementPlanner {
+
+    private SettlementPlanner() {
+    }
+
+    /**
+     * 송금 건(sender -> receiver, amount)들을 멤버별 순잔액으로 합산합니다.
+     * @return 양수면 받을 금액, 음수면 보낼 금액
+     */
+    public static long[] netBalances(int memberCount, int[] senders, int[] receivers, long[] amounts) {
+        if (senders.length != receivers.length || senders.length != amounts.length) {
+            throw new IllegalArgumentException("senders, receivers, amounts must have the same length");
+        }
+
+        long[] balances = new long[memberCount];
+        for (int i = 0; i < senders.length; i++) {
+            balances[senders[i]] -= amounts[i];
+            balances[receivers[i]] += amounts[i];
+        }
+        return balances;
+    }
+
+    /**
+     * 순잔액으로 송금 계획을 계산합니다. (잔액 합은 0이어야 합니다)
+     * 1) 금액이 정확히 같은 채무자/채권자는 한 번에 정리하고
+     * 2) 남은 인원은 금액이 큰 순서대로 맞춰 정리합니다.
+     * 송금 횟수는 항상 (잔액이 0이 아닌 인원 - 1) 이하입니다.
+     */
+    public static Plan plan(long[] balances) {
+        int n = balances.length;
+        long sum = 0;
+        int debtorCount = 0;
+        int creditorCount = 0;
+        for (long balance : balances) {
+            sum += balance;
+            if (balance < 0) {
+                debtorCount++;
+            } else if (balance > 0) {
+                creditorCount++;
+            }
+        }
+        if (sum != 0) {
+            throw new IllegalArgumentException("balances must sum to zero");
+        }
+
+        int[] debtors = new int[debtorCount];
+        int[] creditors = new int[creditorCount];
+        long[] remaining = new long[n]; // 남은 금액 (절댓값)
+        int d = 0;
+        int c = 0;
+        for (int i = 0; i < n; i++) {
+            if (balances[i] < 0) {
+                debtors[d++] = i;
+                remaining[i] = -balances[i];
+            } else if (balances[i] > 0) {
+                creditors[c++] = i;
+                remaining[i] = balances[i];
+            }
+        }
+
+        sortByAmountDesc(debtors, remaining);
+        sortByAmountDesc(creditors, remaining);
+
+        Plan plan = new Plan(Math.max(0, debtorCount + creditorCount - 1));
+
+        // 1) 금액이 같은 쌍은 송금 1번으로 두 명이 동시에 정리됨
+        int di = 0;
+        int ci = 0;
+        while (di < debtorCount && ci < creditorCount) {
+            long debt = remaining[debtors[di]];
+            long credit = remaining[creditors[ci]];
+            if (debt == credit) {
+                plan.add(debtors[di], creditors[ci], debt);
+                remaining[debtors[di]] = 0;
+                remaining[creditors[ci]] = 0;
+                di++;
+                ci++;
+            } else if (debt > credit) {
+                di++;
+            } else {
+                ci++;
+            }
+        }
+
+        // 2) 남은 인원은 큰 금액부터 맞춰서 정리
+        di = 0;
+        ci = 0;
+        while (true) {
+            while (di < debtorCount && remaining[debtors[di]] == 0) {
+                di++;
+            }
+            while (ci < creditorCount && remaining[creditors[ci]] == 0) {
+                ci++;
+            }
+            if (di == debtorCount || ci == creditorCount) {
+                break;
+            }
+
+            int debtor = debtors[di];
+            int creditor = creditors[ci];
+            long amount = Math.min(remaining[debtor], remaining[creditor]);
+            plan.add(debtor, creditor, amount);
+            remaining[debtor] -= amount;
+            remaining[creditor] -= amount;
+        }
+
+        return plan;
+    }
+
+    // 인덱스 배열을 amounts 기준 내림차순으로 정렬 (힙 정렬, 박싱 없음)
+    private static void sortByAmountDesc(int[] indexes, long[] amounts) {
+        int n = indexes.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(indexes, amounts, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(indexes, 0, end);
+            siftDown(indexes, amounts, 0, end);
+        }
+    }
+
+    // 최소 힙 기준으로 내려보냄 -> 정렬 결과가 내림차순
+    private static void siftDown(int[] indexes, long[] amounts, int node, int size) {
+        while (true) {
+            int left = node * 2 + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && amounts[indexes[right]] < amounts[indexes[left]]) {
+                smallest = right;
+            }
+            if (amounts[indexes[node]] <= amounts[indexes[smallest]]) {
+                return;
+            }
+            swap(indexes, node, smallest);
+            node = smallest;
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /**
+     * 송금 계획 (from[i] -> to[i], amounts[i])
+     */
+    public static final class Plan {
+        private final int[] from;
+        private final int[] to;
+        private final long[] amounts;
+        private int size;
+
+        private Plan(int capacity) {
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.amounts = new long[capacity];
+        }
+
+        private void add(int fromIndex, int toIndex, long amount) {
+            from[size] = fromIndex;
+            to[size] = toIndex;
+            amounts[size] = amount;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int from(int i) {
+            return from[i];
+        }
+
+        public int to(int i) {
+            return to[i];
+        }
+
+        public long amount(int i) {
+            return amounts[i];
+        }
+    }
+}
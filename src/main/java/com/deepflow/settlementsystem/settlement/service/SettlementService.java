@@ -1,40 +1,53 @@
 package com.deepflow.settlementsystem.settlement.service;
 
-import com.deepflow.settlementsystem.auth.config.KakaoApiUrl;
 import com.deepflow.settlementsystem.auth.service.KakaoTokenService;
 import com.deepflow.settlementsystem.common.code.ErrorCode;
 import com.deepflow.settlementsystem.common.exception.CustomException;
+import com.deepflow.settlementsystem.common.pagination.KeysetCursor;
 import com.deepflow.settlementsystem.expense.entity.Expense;
 import com.deepflow.settlementsystem.expense.entity.ExpenseAllocation;
 import com.deepflow.settlementsystem.expense.entity.ExpenseItem;
 import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
 import com.deepflow.settlementsystem.expense.entity.SettlementType;
 import com.deepflow.settlementsystem.expense.repository.ExpenseItemAllocationRepository;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationGroupAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationPairAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationStatusAmount;
+import com.deepflow.settlementsystem.group.entity.Group;
+import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import com.deepflow.settlementsystem.group.repository.MemberRepository;
+import com.deepflow.settlementsystem.settlement.dto.SettlementDirection;
 import com.deepflow.settlementsystem.settlement.dto.SettlementItem;
 import com.deepflow.settlementsystem.settlement.dto.request.KakaoMessageRequest;
-import com.deepflow.settlementsystem.settlement.dto.response.KakaoFriendsResponse;
-import com.deepflow.settlementsystem.settlement.dto.response.KakaoSendMessageResponse;
+import com.deepflow.settlementsystem.settlement.dto.response.GroupSettlementMessageResponse;
 import com.deepflow.settlementsystem.settlement.dto.response.SettlementListResponse;
+import com.deepflow.settlementsystem.settlement.dto.response.SettlementMessageResponse;
 import com.deepflow.settlementsystem.settlement.dto.response.SettlementResponse;
+import com.deepflow.settlementsystem.settlement.dto.response.SettleUpResponse;
 import com.deepflow.settlementsystem.settlement.dto.response.SettlementSummaryResponse;
+import com.deepflow.settlementsystem.settlement.entity.SettlementMessageOutbox;
+import com.deepflow.settlementsystem.settlement.event.SettlementStatusChangedEvent;
+import com.deepflow.settlementsystem.settlement.repository.SettlementMessageOutboxRepository;
 import com.deepflow.settlementsystem.user.entity.User;
 import com.deepflow.settlementsystem.user.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatusCode;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
@@ -43,19 +56,38 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional(readOnly = true)
 public class SettlementService {
-    private final RestClient restClient;
     private final KakaoTokenService kakaoTokenService;
     private final ObjectMapper objectMapper;
     private final ExpenseItemAllocationRepository expenseAllocationRepository;
     private final UserRepository userRepository;
+    private final PairBalanceLedger pairBalanceLedger;
+    private final SettlementMessageOutboxRepository settlementMessageOutboxRepository;
+    private final GroupRepository groupRepository;
+    private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SettlementSseHub settlementSseHub;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_MESSAGE_RECEIVERS = 5; // 카카오 친구에게 메시지 보내기 API 최대 수신자 수
+    private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+    private static final Comparator<SettlementResponse> SETTLEMENT_ORDER = Comparator
+            .comparing(SettlementResponse::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(SettlementResponse::getAllocationId, Comparator.reverseOrder());
+
+    // 원장 backfill(PairBalanceReconciler) 이후에 켜야 합니다.
+    @Value("${settlement.ledger.read-enabled:false}")
+    private boolean ledgerReadEnabled;
     
     /**
      * 정산 요청 메시지 전송
      * 돈을 받는 사람(receiver)이 돈을 보낼 사람(sender)에게 카카오톡 메시지를 전송합니다.
      * 상태를 선택하여 요청하거나 통합적으로 한번에 요청할 수 있습니다.
+     * 메시지는 outbox 에 저장되고 SettlementMessageDispatcher 가 트랜잭션 밖에서 전송합니다.
+     * @return 전송 상태 조회용 메시지 정보
      */
     @Transactional
-    public void sendSettlementMessage(Long targetUserId, List<SettlementStatus> statuses, Long receiverUserId) {
+    public SettlementMessageResponse sendSettlementMessage(Long targetUserId, List<SettlementStatus> statuses, Long receiverUserId) {
         validateNotNull(targetUserId, "targetUserId");
         validateNotNull(receiverUserId, "receiverUserId");
         
@@ -109,9 +141,6 @@ public class SettlementService {
             throw new CustomException(ErrorCode.INVALID_TOKEN);
         }
         
-        // sender의 UUID 찾기
-        String senderUuid = findUserUuidByUserId(accessToken, sender.getId());
-        
         // 송금 링크 생성
         String paymentLink = generatePaymentLink(receiver.getKakaoPaySuffix(), totalAmount);
         String groupName = firstAllocation.getGroup().getName();
@@ -127,80 +156,242 @@ public class SettlementService {
                 totalAmount
         );
         
-        // 카카오 메시지 전송
-        sendKakaoMessage(accessToken, senderUuid, message);
+        // 전송은 디스패처가 담당 (정산 상태 변경과 같은 트랜잭션에 저장)
+        SettlementMessageOutbox outbox = settlementMessageOutboxRepository.save(SettlementMessageOutbox.builder()
+                .requesterUserId(receiverUserId)
+                .targetUserIds(List.of(sender.getId()))
+                .payload(toJson(message))
+                .build());
         
-        // 모든 allocation의 상태를 REQUESTED로 변경
-        allocations.forEach(allocation -> {
-            allocation.setStatus(SettlementStatus.REQUESTED);
-            expenseAllocationRepository.save(allocation);
-        });
+        // 모든 allocation의 상태를 REQUESTED로 일괄 변경 (조회 후 다른 요청이 상태를 바꿨으면 SETTLEMENT_CONFLICT 로 롤백)
+        updateStatusByIds(allocations, SettlementStatus.REQUESTED);
+
+        // 원장 반영 (조회 시점 상태 기준으로 옮김)
+        pairBalanceLedger.moveAll(allocations, SettlementStatus.REQUESTED);
+        publishStatusChanged(allocations, SettlementStatus.REQUESTED);
+
+        return toSettlementMessageResponse(outbox);
     }
-    
+
     /**
-     * 카카오 친구 목록에서 특정 사용자의 UUID를 찾습니다.
-     * @param accessToken 카카오 Access Token
-     * @param targetUserId 찾을 사용자의 ID
-     * @return 사용자의 UUID
+     * 그룹 일괄 정산 요청
+     * 돈을 받는 사람(receiver)이 그룹 내 미완료 정산이 있는 모든 sender 에게 한 번에 요청합니다.
+     * 메시지 내용(항목, 금액)이 같은 sender 들은 같은 메시지로 묶어 최대 5명씩 한 번에 전송하고,
+     * 정산 건 상태는 일괄 UPDATE 로 변경합니다.
      */
-    private String findUserUuidByUserId(String accessToken, Long targetUserId) {
-        String currentAfterUrl = null;
-        int maxPages = 1000;
-        int pageCount = 0;
-        
-        do {
-            KakaoFriendsResponse friendsResponse = getKakaoFriends(accessToken, currentAfterUrl);
-            
-            String userUuid = findUserUuidInFriends(friendsResponse, targetUserId);
-            if (userUuid != null) {
-                return userUuid;
+    @Transactional
+    public GroupSettlementMessageResponse sendGroupSettlementMessages(Long groupId, List<SettlementStatus> statuses,
+                                                                      Long receiverUserId) {
+        validateNotNull(groupId, "groupId");
+        validateNotNull(receiverUserId, "receiverUserId");
+
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new CustomException(ErrorCode.GROUP_NOT_FOUND));
+        if (!memberRepository.existsByGroupIdAndUserId(groupId, receiverUserId)) {
+            throw new CustomException(ErrorCode.NO_ACCESS_PERMISSION);
+        }
+
+        // 상태 필터 설정: null이면 UNSETTLED, REQUESTED 모두 포함 (COMPLETED 는 제외)
+        List<SettlementStatus> targetStatuses = ((statuses == null || statuses.isEmpty())
+                ? List.of(SettlementStatus.UNSETTLED, SettlementStatus.REQUESTED)
+                : statuses).stream()
+                .filter(status -> status != SettlementStatus.COMPLETED)
+                .toList();
+        if (targetStatuses.isEmpty()) {
+            throw new CustomException(ErrorCode.NO_SETTLEMENT);
+        }
+
+        List<ExpenseAllocation> allocations = expenseAllocationRepository
+                .findByGroupIdAndReceiverIdAndStatusIn(groupId, receiverUserId, targetStatuses);
+        if (allocations.isEmpty()) {
+            throw new CustomException(ErrorCode.NO_SETTLEMENT);
+        }
+
+        User receiver = userRepository.findById(receiverUserId)
+                .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
+        if (receiver.getKakaoPaySuffix() == null || receiver.getKakaoPaySuffix().isEmpty()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT);
+        }
+        if (!kakaoTokenService.hasKey(receiverUserId)) {
+            log.warn("카카오 Access Token이 없습니다. receiverUserId: {}", receiverUserId);
+            throw new CustomException(ErrorCode.INVALID_TOKEN);
+        }
+
+        // sender 별 정산 건 (sender, 지출 순으로 정렬되어 있음)
+        Map<Long, List<ExpenseAllocation>> allocationsBySender = new LinkedHashMap<>();
+        for (ExpenseAllocation allocation : allocations) {
+            allocationsBySender.computeIfAbsent(allocation.getSender().getId(), id -> new ArrayList<>()).add(allocation);
+        }
+
+        // 항목과 총액이 같은 sender 끼리 같은 메시지를 받음
+        Map<String, List<Long>> senderIdsByTemplate = new LinkedHashMap<>();
+        Map<String, List<SettlementItem>> itemsByTemplate = new HashMap<>();
+        Map<String, Long> totalAmountByTemplate = new HashMap<>();
+        long totalAmount = 0;
+        for (Map.Entry<Long, List<ExpenseAllocation>> entry : allocationsBySender.entrySet()) {
+            List<SettlementItem> items = getAllocationItems(entry.getValue());
+            long senderTotal = entry.getValue().stream()
+                    .mapToLong(allocation -> allocation.getShareAmount().longValue())
+                    .sum();
+            totalAmount += senderTotal;
+
+            String templateKey = templateKey(items, senderTotal);
+            senderIdsByTemplate.computeIfAbsent(templateKey, key -> new ArrayList<>()).add(entry.getKey());
+            itemsByTemplate.putIfAbsent(templateKey, items);
+            totalAmountByTemplate.putIfAbsent(templateKey, senderTotal);
+        }
+
+        List<SettlementMessageOutbox> outboxes = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : senderIdsByTemplate.entrySet()) {
+            Long senderTotal = totalAmountByTemplate.get(entry.getKey());
+            // 같은 메시지를 받는 사람들은 송금 링크도 같음
+            String payload = toJson(createSettlementMessage(
+                    generatePaymentLink(receiver.getKakaoPaySuffix(), senderTotal),
+                    group.getName(),
+                    itemsByTemplate.get(entry.getKey()),
+                    senderTotal
+            ));
+
+            List<Long> senderIds = entry.getValue();
+            for (int from = 0; from < senderIds.size(); from += MAX_MESSAGE_RECEIVERS) {
+                outboxes.add(SettlementMessageOutbox.builder()
+                        .requesterUserId(receiverUserId)
+                        .targetUserIds(senderIds.subList(from, Math.min(from + MAX_MESSAGE_RECEIVERS, senderIds.size())))
+                        .payload(payload)
+                        .build());
             }
-            
-            currentAfterUrl = friendsResponse.getAfterUrl();
-            pageCount++;
-            
-        } while (currentAfterUrl != null && pageCount < maxPages);
-        
-        log.warn("카카오 친구 목록에서 사용자를 찾지 못했습니다. targetUserId: {}", targetUserId);
-        throw new CustomException(ErrorCode.USER_NOT_FOUND);
+        }
+        settlementMessageOutboxRepository.saveAll(outboxes);
+
+        // 상태 일괄 변경 후 원장 반영 (상태가 바뀌지 않았으면 원장도 옮기지 않음)
+        updateStatusByIds(allocations, SettlementStatus.REQUESTED);
+        pairBalanceLedger.moveAll(allocations, SettlementStatus.REQUESTED);
+        publishStatusChanged(allocations, SettlementStatus.REQUESTED);
+
+        return GroupSettlementMessageResponse.builder()
+                .groupId(groupId)
+                .debtorCount((long) allocationsBySender.size())
+                .allocationCount((long) allocations.size())
+                .totalAmount(totalAmount)
+                .messages(outboxes.stream().map(this::toSettlementMessageResponse).toList())
+                .build();
     }
-    
-    private KakaoFriendsResponse getKakaoFriends(String accessToken, String afterUrl) {
-        String url = afterUrl != null 
-            ? afterUrl 
-            : KakaoApiUrl.FRIENDS.getUrl();
-        
-        KakaoFriendsResponse response = restClient.get()
-                .uri(UriComponentsBuilder.fromUriString(url).build().toUri())
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, (request, httpResponse) -> {
-                    log.error("카카오 친구 목록 API 호출 실패: {}", httpResponse.getStatusCode());
-                    throw new CustomException(ErrorCode.EXTERNAL_SERVER_ERROR);
-                })
-                .body(KakaoFriendsResponse.class);
-        
-        return Objects.requireNonNull(response);
+
+    // 상태가 바뀐 정산 건을 (그룹, sender, receiver) 단위로 묶어 이벤트 발행 (커밋 후 SSE push)
+    private void publishStatusChanged(List<ExpenseAllocation> allocations, SettlementStatus status) {
+        Map<List<Long>, List<Long>> allocationIdsByKey = new LinkedHashMap<>();
+        for (ExpenseAllocation allocation : allocations) {
+            List<Long> key = List.of(allocation.getGroup().getId(),
+                    allocation.getSender().getId(), allocation.getReceiver().getId());
+            allocationIdsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(allocation.getAllocationId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        allocationIdsByKey.forEach((key, allocationIds) -> eventPublisher.publishEvent(
+                new SettlementStatusChangedEvent(key.get(0), key.get(1), key.get(2), allocationIds, status, now, false)));
     }
-    
+
     /**
-     * 카카오 친구 목록 응답에서 특정 사용자 ID의 UUID를 찾습니다.
-     * @param response 카카오 친구 목록 응답
-     * @param targetUserId 찾을 사용자의 ID
-     * @return 사용자의 UUID, 없으면 null
+     * 정산 상태 실시간 구독 (SSE)
+     * 로그인한 사용자가 sender/receiver 인 정산 건의 상태 변경을 받고,
+     * groupId 를 지정하면 해당 그룹의 모든 정산 상태 변경도 받습니다. (그룹 멤버만)
      */
-    private String findUserUuidInFriends(KakaoFriendsResponse response, Long targetUserId) {
-        if (response.getElements() == null || response.getElements().isEmpty()) {
-            return null;
+    public SseEmitter subscribeSettlementEvents(Long userId, Long groupId) {
+        validateNotNull(userId, "userId");
+        if (groupId != null && !memberRepository.existsByGroupIdAndUserId(groupId, userId)) {
+            throw new CustomException(ErrorCode.NO_ACCESS_PERMISSION);
+        }
+        return settlementSseHub.subscribe(userId, groupId);
+    }
+
+    // 정산 건 상태 일괄 변경 (행마다 UPDATE 하지 않도록 조회 시점 상태별로 IN 절로 묶음)
+    // 조회한 상태 그대로인 건만 바꾸고, 상태별 건수가 다르면 그 사이 다른 요청이 상태를 바꾼 것이므로 롤백 (원장이 두 번 옮겨지지 않도록)
+    // 바꾼 행의 금액을 쌍별로 다시 읽어 조회 시점과 다르면(그 사이 지출 수정) 역시 롤백 (원장/메시지 금액이 어긋나지 않도록)
+    private void updateStatusByIds(List<ExpenseAllocation> allocations, SettlementStatus status) {
+        Map<SettlementStatus, List<Long>> allocationIdsByStatus = new EnumMap<>(SettlementStatus.class);
+        Map<List<Long>, Long> readAmounts = new HashMap<>();
+        for (ExpenseAllocation allocation : allocations) {
+            allocationIdsByStatus.computeIfAbsent(allocation.getStatus(), s -> new ArrayList<>())
+                    .add(allocation.getAllocationId());
+            readAmounts.merge(List.of(allocation.getSender().getId(), allocation.getReceiver().getId()),
+                    allocation.getShareAmount().longValue(), Long::sum);
+        }
+        allocationIdsByStatus.forEach((expectedStatus, allocationIds) ->
+                updateStatusByIds(allocationIds, expectedStatus, status));
+
+        List<Long> allocationIds = allocations.stream().map(ExpenseAllocation::getAllocationId).toList();
+        Map<List<Long>, Long> currentAmounts = new HashMap<>();
+        for (int from = 0; from < allocationIds.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+            for (AllocationPairAmount pairAmount : expenseAllocationRepository.sumAmountByIdsGroupByPair(
+                    allocationIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, allocationIds.size())))) {
+                currentAmounts.merge(List.of(pairAmount.getSenderId(), pairAmount.getReceiverId()),
+                        pairAmount.getAmount(), Long::sum);
+            }
+        }
+        if (!currentAmounts.equals(readAmounts)) {
+            throw new CustomException(ErrorCode.SETTLEMENT_CONFLICT);
+        }
+    }
+
+    private void updateStatusByIds(List<Long> allocationIds, SettlementStatus expectedStatus, SettlementStatus status) {
+        int updated = 0;
+        for (int from = 0; from < allocationIds.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+            updated += expenseAllocationRepository.updateStatusByIds(
+                    allocationIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, allocationIds.size())),
+                    expectedStatus,
+                    status
+            );
+        }
+        if (updated != allocationIds.size()) {
+            throw new CustomException(ErrorCode.SETTLEMENT_CONFLICT);
+        }
+    }
+
+    // 메시지 본문을 결정하는 값(항목, 총액)으로 만든 키
+    private String templateKey(List<SettlementItem> items, long totalAmount) {
+        StringBuilder key = new StringBuilder().append(totalAmount);
+        for (SettlementItem item : items) {
+            key.append('\u0000').append(item.getDescription()).append('\u0001').append(item.getAmount());
+        }
+        return key.toString();
+    }
+
+    /**
+     * 정산 요청 메시지 전송 상태 조회
+     * 메시지를 요청한 사용자만 조회할 수 있습니다.
+     */
+    public SettlementMessageResponse getSettlementMessage(Long messageId, Long userId) {
+        SettlementMessageOutbox outbox = settlementMessageOutboxRepository.findById(messageId)
+                .orElseThrow(() -> new CustomException(ErrorCode.SETTLEMENT_MESSAGE_NOT_FOUND));
+
+        if (!outbox.getRequesterUserId().equals(userId)) {
+            throw new CustomException(ErrorCode.NO_ACCESS_PERMISSION);
+        }
+
+        return toSettlementMessageResponse(outbox);
+    }
+
+    private SettlementMessageResponse toSettlementMessageResponse(SettlementMessageOutbox outbox) {
+        return SettlementMessageResponse.builder()
+                .messageId(outbox.getId())
+                .targetUserIds(outbox.getTargetUserIdList())
+                .unresolvedUserIds(outbox.getUnresolvedUserIdList())
+                .status(outbox.getStatus())
+                .attempts(outbox.getAttempts())
+                .lastError(outbox.getLastError())
+                .nextAttemptAt(outbox.getNextAttemptAt())
+                .createdAt(outbox.getCreatedAt())
+                .sentAt(outbox.getSentAt())
+                .build();
+    }
+
+    private String toJson(KakaoMessageRequest message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            log.error("JSON 직렬화 중 오류 발생", e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
         }
-        
-        return response.getElements().stream()
-                .filter(friend -> friend.getId() != null && friend.getId().equals(targetUserId))
-                .map(KakaoFriendsResponse.Friend::getUuid)
-                .filter(uuid -> uuid != null && !uuid.isEmpty())
-                .findFirst()
-                .orElse(null);
     }
     
     private String generatePaymentLink(String kakaoPaySuffix, Long amount) {
@@ -274,47 +465,6 @@ public class SettlementService {
         return String.format("%,d원", amount);
     }
     
-    private void sendKakaoMessage(String accessToken, String receiverUuid, KakaoMessageRequest message) {
-        validateNotBlank(accessToken, "accessToken");
-        validateNotBlank(receiverUuid, "receiverUuid");
-        
-        try {
-            String receiverUuidsJson = objectMapper.writeValueAsString(List.of(receiverUuid));
-            String templateObjectJson = objectMapper.writeValueAsString(message);
-            String requestBody = "receiver_uuids=" + URLEncoder.encode(receiverUuidsJson, StandardCharsets.UTF_8)
-                    + "&template_object=" + URLEncoder.encode(templateObjectJson, StandardCharsets.UTF_8);
-            
-            KakaoSendMessageResponse response = restClient.post()
-                    .uri(KakaoApiUrl.SEND_MESSAGE.getUrl())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-                    .body(requestBody)
-                    .retrieve()
-                    .onStatus(HttpStatusCode::isError, (request, httpResponse) -> {
-                        log.error("카카오 메시지 전송 API 호출 실패: {}", httpResponse.getStatusCode());
-                        throw new CustomException(ErrorCode.EXTERNAL_SERVER_ERROR);
-                    })
-                    .body(KakaoSendMessageResponse.class);
-            
-            // successful_receiver_uuids에 receiverUuid가 포함되어 있는지 확인
-            if (response.getSuccessfulReceiverUuids() == null || 
-                response.getSuccessfulReceiverUuids().isEmpty() ||
-                !response.getSuccessfulReceiverUuids().contains(receiverUuid)) {
-                log.error("카카오 메시지 전송 실패 - receiverUuid가 성공 목록에 없습니다. receiverUuid: {}", receiverUuid);
-                throw new CustomException(ErrorCode.EXTERNAL_SERVER_ERROR);
-            }
-            
-            log.info("카카오 메시지 전송 성공. receiverUuid: {}", receiverUuid);
-            
-        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-            log.error("JSON 직렬화 중 오류 발생", e);
-            throw new CustomException(ErrorCode.EXTERNAL_SERVER_ERROR);
-        } catch (Exception e) {
-            log.error("카카오 메시지 전송 중 오류 발생", e);
-            throw new CustomException(ErrorCode.EXTERNAL_SERVER_ERROR);
-        }
-    }
-    
     // 정산 상태 조회
     public SettlementResponse getSettlementStatus(Long allocationId, Long userId) {
         ExpenseAllocation allocation = expenseAllocationRepository.findByIdWithRelations(allocationId)
@@ -349,24 +499,132 @@ public class SettlementService {
             throw new CustomException(ErrorCode.INVALID_INPUT);
         }
         
-        // 상태를 COMPLETED로 변경
-        allocation.setStatus(SettlementStatus.COMPLETED);
-        expenseAllocationRepository.save(allocation);
+        // 상태를 COMPLETED로 변경 (아직 REQUESTED 일 때만, 동시 완료/일괄 정산이 먼저 바꿨으면 원장을 옮기지 않고 롤백)
+        updateStatusByIds(List.of(allocationId), SettlementStatus.REQUESTED, SettlementStatus.COMPLETED);
+
+        pairBalanceLedger.move(allocation.getSender().getId(), allocation.getReceiver().getId(),
+                SettlementStatus.REQUESTED, SettlementStatus.COMPLETED, allocation.getShareAmount().longValue());
+        publishStatusChanged(List.of(allocation), SettlementStatus.COMPLETED);
     }
     
-    // 정산 목록 조회
-    public SettlementListResponse getSettlementList(Long userId) {
-        List<ExpenseAllocation> allocations = expenseAllocationRepository.findByUserId(userId);
-        
-        List<SettlementResponse> settlements = allocations.stream()
-                .map(this::toSettlementResponse)
-                .collect(Collectors.toList());
-        
+    /**
+     * 특정 사용자와 일괄 정산 완료 처리
+     * 돈을 받는 사람(receiver)이 targetUserId 에게 받을 REQUESTED 정산 건을 IN 절 UPDATE 로 모두 COMPLETED 로 변경합니다.
+     * groupId 를 지정하면 해당 그룹의 정산 건만 처리합니다.
+     */
+    @Transactional
+    public SettleUpResponse settleUp(Long targetUserId, Long groupId, Long receiverUserId) {
+        validateNotNull(targetUserId, "targetUserId");
+        validateNotNull(receiverUserId, "receiverUserId");
+
+        // 바꿀 정산 건 ID/금액 조회 후 그 ID 들만 REQUESTED 조건으로 UPDATE
+        // (REQUESTED 건의 금액은 바뀌지 않으므로 UPDATE 건수가 같으면 옮길 금액도 조회한 합계와 같음)
+        List<AllocationGroupAmount> requested = expenseAllocationRepository.findGroupAmountsByPairAndStatus(
+                targetUserId, receiverUserId, SettlementStatus.REQUESTED, groupId);
+        if (requested.isEmpty()) {
+            throw new CustomException(ErrorCode.NO_SETTLEMENT);
+        }
+
+        long settledAmount = 0;
+        List<Long> allocationIds = new ArrayList<>(requested.size());
+        Map<Long, List<Long>> allocationIdsByGroup = new LinkedHashMap<>();
+        for (AllocationGroupAmount allocation : requested) {
+            settledAmount += allocation.getAmount();
+            allocationIds.add(allocation.getAllocationId());
+            allocationIdsByGroup.computeIfAbsent(allocation.getGroupId(), id -> new ArrayList<>())
+                    .add(allocation.getAllocationId());
+        }
+
+        // 조회와 UPDATE 사이에 다른 요청이 완료 처리한 건이 있으면 롤백 (그 사이 새로 요청된 건은 대상이 아님)
+        updateStatusByIds(allocationIds, SettlementStatus.REQUESTED, SettlementStatus.COMPLETED);
+
+        pairBalanceLedger.move(targetUserId, receiverUserId,
+                SettlementStatus.REQUESTED, SettlementStatus.COMPLETED, settledAmount);
+
+        LocalDateTime now = LocalDateTime.now();
+        allocationIdsByGroup.forEach((id, ids) -> eventPublisher.publishEvent(new SettlementStatusChangedEvent(
+                id, targetUserId, receiverUserId, ids, SettlementStatus.COMPLETED, now, false)));
+
+        return SettleUpResponse.builder()
+                .targetUserId(targetUserId)
+                .groupId(groupId)
+                .settledCount((long) allocationIds.size())
+                .settledAmount(settledAmount)
+                .build();
+    }
+    
+    /**
+     * 정산 목록 조회 (키셋 페이지네이션)
+     * createdAt DESC, allocationId DESC 순으로 size 건씩 조회하며, 응답의 nextCursor 로 다음 페이지를 요청합니다.
+     * 보낼/받을 방향을 각각 인덱스로 size+1 건만 읽어 병합하므로 정산 이력 길이와 무관합니다.
+     */
+    public SettlementListResponse getSettlementList(Long userId, SettlementStatus status, Long groupId,
+                                                    SettlementDirection direction, String cursor, Integer size) {
+        validateNotNull(userId, "userId");
+
+        int pageSize = (size == null) ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new CustomException(ErrorCode.INVALID_INPUT);
+        }
+        SettlementDirection targetDirection = (direction == null) ? SettlementDirection.ALL : direction;
+
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        // created_at 은 NOT NULL 이므로 시각이 없는 커서(created_at NULL 행이 있던 이전 버전에서 발급)는 받지 않음
+        if (keysetCursor != null && keysetCursor.timestamp() == null) {
+            throw new CustomException(ErrorCode.INVALID_INPUT);
+        }
+        LocalDateTime cursorCreatedAt = keysetCursor != null ? keysetCursor.timestamp() : null;
+        Long cursorId = keysetCursor != null ? keysetCursor.id() : null;
+        Limit limit = Limit.of(pageSize + 1); // 다음 페이지 존재 여부 확인용 +1
+
+        List<SettlementResponse> sent = targetDirection == SettlementDirection.RECEIVE
+                ? List.of()
+                : expenseAllocationRepository.findSettlementPageBySender(
+                        userId, status, groupId, cursorCreatedAt, cursorId, limit);
+        List<SettlementResponse> received = targetDirection == SettlementDirection.SEND
+                ? List.of()
+                : expenseAllocationRepository.findSettlementPageByReceiver(
+                        userId, status, groupId, cursorCreatedAt, cursorId, limit);
+
+        List<SettlementResponse> settlements = mergeByCreatedAtDesc(sent, received, pageSize + 1);
+
+        boolean hasNext = settlements.size() > pageSize;
+        if (hasNext) {
+            settlements = settlements.subList(0, pageSize);
+        }
+        SettlementResponse last = settlements.isEmpty() ? null : settlements.get(settlements.size() - 1);
+        String nextCursor = hasNext
+                ? new KeysetCursor(last.getCreatedAt(), last.getAllocationId()).encode()
+                : null;
+
         return SettlementListResponse.builder()
                 .settlements(settlements)
-                .totalCount((long) settlements.size())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
                 .build();
     }
+
+    // 이미 (createdAt DESC, allocationId DESC) 로 정렬된 두 목록을 병합
+    private List<SettlementResponse> mergeByCreatedAtDesc(List<SettlementResponse> left,
+                                                          List<SettlementResponse> right, int limit) {
+        List<SettlementResponse> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int l = 0;
+        int r = 0;
+        while (merged.size() < limit && (l < left.size() || r < right.size())) {
+            SettlementResponse next;
+            if (r == right.size() || (l < left.size() && SETTLEMENT_ORDER.compare(left.get(l), right.get(r)) <= 0)) {
+                next = left.get(l++);
+            } else {
+                next = right.get(r++);
+            }
+            // 자기 자신과의 정산 건은 양쪽 목록에 모두 나올 수 있음
+            if (!merged.isEmpty() && merged.get(merged.size() - 1).getAllocationId().equals(next.getAllocationId())) {
+                continue;
+            }
+            merged.add(next);
+        }
+        return merged;
+    }
     
     // ExpenseAllocation에서 SettlementItem 리스트 생성
     private List<SettlementItem> getSettlementItems(ExpenseAllocation allocation) {
@@ -416,52 +674,18 @@ public class SettlementService {
         validateNotNull(userId, "userId");
         validateNotNull(targetUserId, "targetUserId");
         
-        // 두 사용자 간의 모든 정산 건 조회 (양방향)
-        List<ExpenseAllocation> allocations = expenseAllocationRepository
-                .findBySenderIdAndReceiverId(targetUserId, userId);
-        
-        List<ExpenseAllocation> reverseAllocations = expenseAllocationRepository
-                .findBySenderIdAndReceiverId(userId, targetUserId);
-        
-        // 두 방향 모두 합치기
-        List<ExpenseAllocation> allAllocations = new ArrayList<>();
-        allAllocations.addAll(allocations);
-        allAllocations.addAll(reverseAllocations);
-        
         // 상대방 사용자 정보 조회
         User targetUser = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
         
-        if (allAllocations.isEmpty()) {
-            return SettlementSummaryResponse.builder()
-                    .targetUserId(targetUserId)
-                    .targetUserNickname(targetUser.getNickname())
-                    .totalUnsettledAmount(0L)
-                    .totalRequestedAmount(0L)
-                    .totalCompletedAmount(0L)
-                    .totalAmount(0L)
-                    .build();
-        }
-        
-        // 상태별 금액 계산
-        Long totalUnsettledAmount = allAllocations.stream()
-                .filter(a -> a.getStatus() == SettlementStatus.UNSETTLED)
-                .mapToLong(a -> a.getShareAmount().longValue())
-                .sum();
+        // 상태별 금액 합계: 원장이 켜져 있으면 원장에서, 아니면 DB에서 상태별로 집계 (양방향)
+        Map<SettlementStatus, Long> sums = ledgerReadEnabled
+                ? pairBalanceLedger.sumByStatus(userId, targetUserId)
+                : sumAmountByStatus(userId, targetUserId);
         
-        Long totalRequestedAmount = allAllocations.stream()
-                .filter(a -> a.getStatus() == SettlementStatus.REQUESTED)
-                .mapToLong(a -> a.getShareAmount().longValue())
-                .sum();
-        
-        Long totalCompletedAmount = allAllocations.stream()
-                .filter(a -> a.getStatus() == SettlementStatus.COMPLETED)
-                .mapToLong(a -> a.getShareAmount().longValue())
-                .sum();
-        
-        Long totalAmount = allAllocations.stream()
-                .mapToLong(a -> a.getShareAmount().longValue())
-                .sum();
+        long totalUnsettledAmount = sums.getOrDefault(SettlementStatus.UNSETTLED, 0L);
+        long totalRequestedAmount = sums.getOrDefault(SettlementStatus.REQUESTED, 0L);
+        long totalCompletedAmount = sums.getOrDefault(SettlementStatus.COMPLETED, 0L);
         
         return SettlementSummaryResponse.builder()
                 .targetUserId(targetUserId)
@@ -469,10 +693,22 @@ public class SettlementService {
                 .totalUnsettledAmount(totalUnsettledAmount)
                 .totalRequestedAmount(totalRequestedAmount)
                 .totalCompletedAmount(totalCompletedAmount)
-                .totalAmount(totalAmount)
+                .totalAmount(totalUnsettledAmount + totalRequestedAmount + totalCompletedAmount)
                 .build();
     }
     
+    // 정산 건을 엔티티로 불러오지 않고 상태별 합계만 조회 (최대 상태 수만큼의 행)
+    private Map<SettlementStatus, Long> sumAmountByStatus(Long userId, Long targetUserId) {
+        Map<SettlementStatus, Long> sums = new EnumMap<>(SettlementStatus.class);
+        for (AllocationStatusAmount row : expenseAllocationRepository
+                .sumAmountBetweenUsersGroupByStatus(userId, targetUserId)) {
+            if (row.getStatus() != null && row.getAmount() != null) {
+                sums.put(row.getStatus(), row.getAmount());
+            }
+        }
+        return sums;
+    }
+    
     // ExpenseAllocation을 SettlementResponse로 변환
     private SettlementResponse toSettlementResponse(ExpenseAllocation allocation) {
         validateAllocationNotNull(allocation);
@@ -0,0 +1,105 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.settlement.event.SettlementStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 인스턴스에 연결된 정산 상태 SSE 구독자 관리
+ * 사용자별(sender/receiver) / 그룹별로 emitter 를 보관하고, Redis 로 전달받은 이벤트를 push 합니다.
+ */
+@Slf4j
+@Component
+public class SettlementSseHub {
+
+    private static final String STATUS_EVENT_NAME = "settlement-status";
+    private static final String DELETED_EVENT_NAME = "settlement-deleted";
+
+    private final Map<Long, Set<SseEmitter>> emittersByUserId = new ConcurrentHashMap<>();
+    private final Map<Long, Set<SseEmitter>> emittersByGroupId = new ConcurrentHashMap<>();
+
+    @Value("${settlement.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    /**
+     * @param groupId 그룹 전체 이벤트도 받으려면 지정 (멤버 여부는 호출자가 확인)
+     */
+    public SseEmitter subscribe(Long userId, Long groupId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(emittersByUserId, userId, emitter);
+        if (groupId != null) {
+            register(emittersByGroupId, groupId, emitter);
+        }
+
+        Runnable cleanup = () -> {
+            unregister(emittersByUserId, userId, emitter);
+            if (groupId != null) {
+                unregister(emittersByGroupId, groupId, emitter);
+            }
+        };
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+
+        // 연결 직후 한 번 보내 응답 헤더를 내려보냄
+        send(emitter, SseEmitter.event().name("connected").data("ok"));
+        return emitter;
+    }
+
+    // sender, receiver, 그룹 구독자에게 한 번씩 전달
+    public void dispatch(SettlementStatusChangedEvent event) {
+        Set<SseEmitter> targets = new LinkedHashSet<>();
+        targets.addAll(emittersByUserId.getOrDefault(event.senderId(), Collections.emptySet()));
+        targets.addAll(emittersByUserId.getOrDefault(event.receiverId(), Collections.emptySet()));
+        if (event.groupId() != null) {
+            targets.addAll(emittersByGroupId.getOrDefault(event.groupId(), Collections.emptySet()));
+        }
+
+        // 삭제된 정산 건은 상태 변경과 구분되는 이벤트로 보냄
+        String eventName = event.deleted() ? DELETED_EVENT_NAME : STATUS_EVENT_NAME;
+        for (SseEmitter emitter : targets) {
+            send(emitter, SseEmitter.event().name(eventName).data(event));
+        }
+    }
+
+    // 프록시 / 로드밸런서 유휴 타임아웃 방지 및 끊어진 연결 정리
+    @Scheduled(fixedRateString = "${settlement.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Set<SseEmitter> emitters = new LinkedHashSet<>();
+        emittersByUserId.values().forEach(emitters::addAll);
+        for (SseEmitter emitter : emitters) {
+            send(emitter, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // 끊어진 연결: completeWithError 가 onError/onCompletion 정리를 호출함
+            log.debug("SSE 전송 실패, 연결을 종료합니다: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void register(Map<Long, Set<SseEmitter>> emitters, Long key, SseEmitter emitter) {
+        emitters.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(emitter);
+    }
+
+    private void unregister(Map<Long, Set<SseEmitter>> emitters, Long key, SseEmitter emitter) {
+        emitters.computeIfPresent(key, (k, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllocationCalculatorTest {
+
+    @Test
+    void splitGivesRemainderToOnePersonEach() {
+        // 10000원 / 3명 -> 3334, 3333, 3333 (기존처럼 모두에게 나머지를 더하지 않음)
+        AllocationCalculator.Shares shares = AllocationCalculator.split(10_000, new int[]{0, 1, 2});
+
+        assertEquals(3, shares.size());
+        assertArrayEquals(new long[]{3334, 3333, 3333}, amounts(shares));
+    }
+
+    @Test
+    void remainderRotatesAcrossLines() {
+        // 100원 항목 2개를 3명이 나누면 잔돈 1원씩이 다른 사람에게 감
+        AllocationCalculator.Shares shares = AllocationCalculator.calculate(
+                new long[]{100, 100}, new int[]{0, 3, 6}, new int[]{0, 1, 2, 0, 1, 2});
+
+        assertArrayEquals(new long[]{34, 33, 33, 33, 34, 33}, amounts(shares));
+    }
+
+    @Test
+    void lineWithoutParticipantsMustBeFree() {
+        AllocationCalculator.Shares shares = AllocationCalculator.calculate(
+                new long[]{0, 500}, new int[]{0, 0, 1}, new int[]{4});
+        assertEquals(1, shares.size());
+        assertEquals(1, shares.line(0));
+        assertEquals(4, shares.participant(0));
+        assertEquals(500, shares.amount(0));
+
+        assertThrows(IllegalArgumentException.class, () -> AllocationCalculator.calculate(
+                new long[]{500}, new int[]{0, 0}, new int[0]));
+    }
+
+    @Test
+    void randomLinesAreSplitExactlyAndEvenly() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            int members = 1 + random.nextInt(12);
+            int lineCount = 1 + random.nextInt(60);
+            long[] lineAmounts = new long[lineCount];
+            int[] lineStart = new int[lineCount + 1];
+            int[] participants = new int[lineCount * members];
+            int size = 0;
+            for (int line = 0; line < lineCount; line++) {
+                lineAmounts[line] = random.nextInt(10) == 0 ? -random.nextInt(5_000) : random.nextInt(200_000);
+                int count = 1 + random.nextInt(members);
+                for (int k = 0; k < count; k++) {
+                    participants[size++] = random.nextInt(members);
+                }
+                lineStart[line + 1] = size;
+            }
+            participants = Arrays.copyOf(participants, size);
+
+            AllocationCalculator.Shares shares = AllocationCalculator.calculate(lineAmounts, lineStart, participants);
+
+            assertEquals(size, shares.size());
+            long[] lineSums = new long[lineCount];
+            for (int i = 0; i < shares.size(); i++) {
+                int line = shares.line(i);
+                int count = lineStart[line + 1] - lineStart[line];
+                long baseShare = Math.floorDiv(lineAmounts[line], count);
+                // 행 순서와 참여자가 입력과 같고, 각 몫은 base 또는 base + 1
+                assertEquals(participants[i], shares.participant(i));
+                assertTrue(shares.amount(i) == baseShare || shares.amount(i) == baseShare + 1);
+                lineSums[line] += shares.amount(i);
+            }
+            assertArrayEquals(lineAmounts, lineSums);
+        }
+    }
+
+    @Test
+    void sameParticipantsOnEveryLineDifferByAtMostOne() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int members = 2 + random.nextInt(8);
+            int lineCount = 1 + random.nextInt(40);
+            long[] lineAmounts = new long[lineCount];
+            int[] lineStart = new int[lineCount + 1];
+            int[] participants = new int[lineCount * members];
+            for (int line = 0; line < lineCount; line++) {
+                lineAmounts[line] = 1 + random.nextInt(100_000);
+                for (int k = 0; k < members; k++) {
+                    participants[line * members + k] = k;
+                }
+                lineStart[line + 1] = (line + 1) * members;
+            }
+
+            AllocationCalculator.Shares shares = AllocationCalculator.calculate(lineAmounts, lineStart, participants);
+
+            // 잔돈을 돌아가며 배분하므로 사람별 잔돈 합의 차이는 1원 이하
+            long[] extras = new long[members];
+            for (int i = 0; i < shares.size(); i++) {
+                int line = shares.line(i);
+                extras[shares.participant(i)] += shares.amount(i) - lineAmounts[line] / members;
+            }
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (long extra : extras) {
+                min = Math.min(min, extra);
+                max = Math.max(max, extra);
+            }
+            assertTrue(max - min <= 1);
+        }
+    }
+
+    private long[] amounts(AllocationCalculator.Shares shares) {
+        long[] amounts = new long[shares.size()];
+        for (int i = 0; i < shares.size(); i++) {
+            amounts[i] = shares.amount(i);
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,65 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
+import com.deepflow.settlementsystem.expense.entity.SettlementType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvExpenseImportRowReaderTest {
+
+    @Test
+    void readsQuotedValuesAndParticipants() throws IOException {
+        String csv = "title,spentAt,payerUserId,totalAmount,participantUserIds\r\n"
+                + "\"Coffee, \"\"large\"\"\",2026-02-01,1,\"7,000\",1;2;3\r\n"
+                + "\r\n"
+                + "\"Lunch\nTeam\",2026-02-01T12:30:00,2,5000,2|3\n";
+
+        try (CsvExpenseImportRowReader reader = new CsvExpenseImportRowReader(new StringReader(csv))) {
+            ExpenseImportRowReader.Row first = reader.next();
+            CreateExpenseRequest request = first.request();
+            assertEquals(1, first.rowNumber());
+            assertEquals("Coffee, \"large\"", request.getTitle());
+            assertEquals(LocalDateTime.of(2026, 2, 1, 0, 0), request.getSpentAt());
+            assertEquals(1L, request.getPayerUserId());
+            assertEquals("7,000", request.getTotalAmount());
+            assertEquals(SettlementType.N_BBANG, request.getSettlementType());
+            assertEquals(List.of(1L, 2L, 3L), request.getParticipants().stream()
+                    .map(CreateExpenseRequest.Participant::getUserId).toList());
+
+            ExpenseImportRowReader.Row second = reader.next();
+            assertEquals(2, second.rowNumber());
+            assertEquals("Lunch\nTeam", second.request().getTitle());
+            assertEquals(List.of(2L, 3L), second.request().getParticipants().stream()
+                    .map(CreateExpenseRequest.Participant::getUserId).toList());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void invalidValueFailsOnlyThatRow() throws IOException {
+        String csv = "payerUserId,totalAmount,participantUserIds\nx,1000,1\n1,1000,1;2\n";
+
+        try (CsvExpenseImportRowReader reader = new CsvExpenseImportRowReader(new StringReader(csv))) {
+            ExpenseImportRowReader.Row invalid = reader.next();
+            assertNull(invalid.request());
+            assertEquals("invalid user id: x", invalid.error());
+
+            assertNull(reader.next().error());
+        }
+    }
+
+    @Test
+    void missingRequiredColumnIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsvExpenseImportRowReader(new StringReader("title,totalAmount\nx,1\n")));
+    }
+}
@@ -0,0 +1,91 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.entity.Expense;
+import com.deepflow.settlementsystem.expense.entity.ExpenseAllocation;
+import com.deepflow.settlementsystem.expense.entity.ExpenseItem;
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import com.deepflow.settlementsystem.user.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpenseAllocationDiffTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Expense expense = new Expense();
+    private final ExpenseItem item = new ExpenseItem();
+    private final User payer = User.builder().id(1L).build();
+    private final User alice = User.builder().id(2L).build();
+    private final User bob = User.builder().id(3L).build();
+
+    @Test
+    void newExpenseOnlyCreatesRows() {
+        ExpenseAllocationDiff diff = ExpenseAllocationDiff.compute(expense, List.of(
+                new ExpenseAllocationDiff.Desired(item, alice, payer, 3000),
+                new ExpenseAllocationDiff.Desired(item, bob, payer, 2000)), List.of(), now);
+
+        assertEquals(2, diff.created().size());
+        assertTrue(diff.updated().isEmpty());
+        assertTrue(diff.deleted().isEmpty());
+        assertEquals(Map.of(List.of(2L, 1L), 3000L, List.of(3L, 1L), 2000L), diff.unsettledDeltas());
+    }
+
+    @Test
+    void unchangedRowsAreLeftAlone() {
+        ExpenseAllocation existing = allocation(alice, payer, 3000, SettlementStatus.UNSETTLED);
+
+        ExpenseAllocationDiff diff = ExpenseAllocationDiff.compute(expense, List.of(
+                new ExpenseAllocationDiff.Desired(item, alice, payer, 3000)), List.of(existing), now);
+
+        assertTrue(diff.changed().isEmpty());
+        assertTrue(diff.unsettledDeltas().isEmpty());
+    }
+
+    @Test
+    void changedAmountUpdatesRowInPlaceAndRemovedPairIsDeleted() {
+        ExpenseAllocation aliceRow = allocation(alice, payer, 3000, SettlementStatus.UNSETTLED);
+        ExpenseAllocation bobRow = allocation(bob, payer, 2000, SettlementStatus.UNSETTLED);
+
+        ExpenseAllocationDiff diff = ExpenseAllocationDiff.compute(expense, List.of(
+                new ExpenseAllocationDiff.Desired(item, alice, payer, 5000)), List.of(aliceRow, bobRow), now);
+
+        assertTrue(diff.created().isEmpty());
+        assertEquals(List.of(aliceRow), diff.updated());
+        assertEquals(5000, aliceRow.getShareAmount());
+        assertEquals(List.of(bobRow), diff.deleted());
+        assertEquals(Map.of(List.of(2L, 1L), 2000L, List.of(3L, 1L), -2000L), diff.unsettledDeltas());
+    }
+
+    @Test
+    void completedRowIsKeptAndOverpaymentIsCompensated() {
+        ExpenseAllocation completed = allocation(alice, payer, 3000, SettlementStatus.COMPLETED);
+
+        ExpenseAllocationDiff diff = ExpenseAllocationDiff.compute(expense, List.of(
+                new ExpenseAllocationDiff.Desired(item, alice, payer, 1000)), List.of(completed), now);
+
+        assertEquals(3000, completed.getShareAmount());
+        assertEquals(1, diff.created().size());
+        ExpenseAllocation compensation = diff.created().get(0);
+        assertSame(payer, compensation.getSender());
+        assertSame(alice, compensation.getReceiver());
+        assertEquals(2000, compensation.getShareAmount());
+        assertEquals(SettlementStatus.UNSETTLED, compensation.getStatus());
+    }
+
+    private ExpenseAllocation allocation(User sender, User receiver, int amount, SettlementStatus status) {
+        ExpenseAllocation allocation = new ExpenseAllocation();
+        allocation.setExpense(expense);
+        allocation.setItem(item);
+        allocation.setSender(sender);
+        allocation.setReceiver(receiver);
+        allocation.setShareAmount(amount);
+        allocation.setStatus(status);
+        return allocation;
+    }
+}
@@ -0,0 +1,134 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
+import com.deepflow.settlementsystem.expense.entity.SettlementType;
+import com.deepflow.settlementsystem.group.entity.Group;
+import com.deepflow.settlementsystem.group.entity.Member;
+import com.deepflow.settlementsystem.group.entity.Room;
+import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import com.deepflow.settlementsystem.group.repository.MemberRepository;
+import com.deepflow.settlementsystem.group.repository.RoomRepository;
+import com.deepflow.settlementsystem.user.entity.User;
+import com.deepflow.settlementsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 큰 영수증(ITEMIZED, 40개 항목 x 6명) 지출 등록의 INSERT 수/지연시간 측정
+ * 실제 MySQL 이 필요하므로 기본 테스트에서는 제외됩니다.
+ * ./gradlew test --tests '*ExpenseCreateBenchmarkTest' -Pbenchmark
+ * 배치 없이 비교하려면 -Pbenchmark.batch-size=1 (Hibernate 는 1 이하면 배치를 쓰지 않음)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=${benchmark.batch-size:50}"
+})
+class ExpenseCreateBenchmarkTest {
+
+    private static final int ITEM_COUNT = 40;
+    private static final int MEMBER_COUNT = 6;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURE_RUNS = 10;
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createLargeItemizedExpense() {
+        List<User> users = new ArrayList<>();
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            users.add(userRepository.save(User.builder()
+                    .kakaoId(System.nanoTime())
+                    .username("bench-" + suffix + "-" + i)
+                    .nickname("bench" + i)
+                    .password("-")
+                    .build()));
+        }
+        Group group = groupRepository.save(Group.builder().name("bench-" + suffix).build());
+        Room room = roomRepository.save(Room.builder().group(group).build());
+        for (User user : users) {
+            memberRepository.save(Member.builder().room(room).user(user).build());
+        }
+
+        CreateExpenseRequest request = largeItemizedRequest(users);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            expenseService.createExpense(group.getId(), request);
+        }
+
+        statistics.clear();
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURE_RUNS; i++) {
+            expenseService.createExpense(group.getId(), request);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+
+        // 지출 1 + 항목 40 + 항목 참여자 240 + 지출 참여자 6 + 정산 건 200 (결제자 제외)
+        long expectedInserts = 1 + ITEM_COUNT + ITEM_COUNT * MEMBER_COUNT + MEMBER_COUNT
+                + (long) ITEM_COUNT * (MEMBER_COUNT - 1);
+        assertEquals(expectedInserts * MEASURE_RUNS, statistics.getEntityInsertCount());
+
+        System.out.printf("[benchmark] batch_size=%s, entity inserts/run=%d, statements/run=%.1f, avg=%.2fms%n",
+                System.getProperty("benchmark.batch-size", "50"),
+                statistics.getEntityInsertCount() / MEASURE_RUNS,
+                (double) statistics.getPrepareStatementCount() / MEASURE_RUNS,
+                elapsedNanos / 1_000_000.0 / MEASURE_RUNS);
+    }
+
+    private CreateExpenseRequest largeItemizedRequest(List<User> users) {
+        List<CreateExpenseRequest.Participant> participants = new ArrayList<>();
+        for (User user : users) {
+            CreateExpenseRequest.Participant participant = new CreateExpenseRequest.Participant();
+            participant.setUserId(user.getId());
+            participants.add(participant);
+        }
+
+        List<CreateExpenseRequest.Item> items = new ArrayList<>();
+        int total = 0;
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            int price = 1_000 + i * 137;
+            CreateExpenseRequest.Item item = new CreateExpenseRequest.Item();
+            item.setItemName("item-" + i);
+            item.setPrice(String.valueOf(price));
+            item.setItemParticipants(participants);
+            items.add(item);
+            total += price;
+        }
+
+        CreateExpenseRequest request = new CreateExpenseRequest();
+        request.setTitle("benchmark receipt");
+        request.setSpentAt(LocalDateTime.now());
+        request.setPayerUserId(users.get(0).getId());
+        request.setSettlementType(SettlementType.ITEMIZED);
+        request.setItems(items);
+        request.setParticipants(participants);
+        request.setTotalAmount(String.valueOf(total));
+        return request;
+    }
+}
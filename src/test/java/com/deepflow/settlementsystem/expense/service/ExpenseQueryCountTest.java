@@ -0,0 +1,118 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import com.deepflow.settlementsystem.expense.dto.CreateExpenseRequest;
+import com.deepflow.settlementsystem.expense.dto.GroupExpenseResponse;
+import com.deepflow.settlementsystem.expense.entity.SettlementType;
+import com.deepflow.settlementsystem.group.entity.Group;
+import com.deepflow.settlementsystem.group.entity.Member;
+import com.deepflow.settlementsystem.group.entity.Room;
+import com.deepflow.settlementsystem.group.repository.GroupRepository;
+import com.deepflow.settlementsystem.group.repository.MemberRepository;
+import com.deepflow.settlementsystem.group.repository.RoomRepository;
+import com.deepflow.settlementsystem.user.entity.User;
+import com.deepflow.settlementsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 그룹 지출내역 조회 쿼리 수가 지출/품목 수와 무관한지 확인 (Hibernate Statistics)
+ */
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ExpenseQueryCountTest {
+
+    // 그룹 확인 + 지출 목록 + 지출 참여자 + 품목 참여자 + 품목
+    private static final long EXPECTED_QUERIES = 5;
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void groupExpensesUseFixedNumberOfQueries() {
+        assertEquals(EXPECTED_QUERIES, countQueriesForGroupWith(2));
+        assertEquals(EXPECTED_QUERIES, countQueriesForGroupWith(30));
+    }
+
+    private long countQueriesForGroupWith(int expenseCount) {
+        List<User> users = new ArrayList<>();
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < 4; i++) {
+            users.add(userRepository.save(User.builder()
+                    .kakaoId(System.nanoTime())
+                    .username("query-count-" + suffix + "-" + i)
+                    .nickname("user" + i)
+                    .password("-")
+                    .build()));
+        }
+        Group group = groupRepository.save(Group.builder().name("query-count-" + suffix).build());
+        Room room = roomRepository.save(Room.builder().group(group).build());
+        for (User user : users) {
+            memberRepository.save(Member.builder().room(room).user(user).build());
+        }
+
+        for (int i = 0; i < expenseCount; i++) {
+            expenseService.createExpense(group.getId(), request(users, i % 2 == 0 ? SettlementType.ITEMIZED : SettlementType.N_BBANG));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        GroupExpenseResponse response = expenseService.getGroupExpenses(group.getId(), null, null);
+        long queries = statistics.getPrepareStatementCount();
+
+        assertEquals(expenseCount, response.getExpenses().size());
+        return queries;
+    }
+
+    private CreateExpenseRequest request(List<User> users, SettlementType settlementType) {
+        List<CreateExpenseRequest.Participant> participants = new ArrayList<>();
+        for (User user : users) {
+            CreateExpenseRequest.Participant participant = new CreateExpenseRequest.Participant();
+            participant.setUserId(user.getId());
+            participants.add(participant);
+        }
+
+        List<CreateExpenseRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CreateExpenseRequest.Item item = new CreateExpenseRequest.Item();
+            item.setItemName("item-" + i);
+            item.setPrice("1000");
+            item.setItemParticipants(participants);
+            items.add(item);
+        }
+
+        CreateExpenseRequest request = new CreateExpenseRequest();
+        request.setTitle("query count");
+        request.setSpentAt(LocalDateTime.now());
+        request.setPayerUserId(users.get(0).getId());
+        request.setSettlementType(settlementType);
+        request.setItems(items);
+        request.setParticipants(participants);
+        request.setTotalAmount("5000");
+        return request;
+    }
+}
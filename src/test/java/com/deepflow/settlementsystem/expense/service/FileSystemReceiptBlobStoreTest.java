@@ -0,0 +1,48 @@
+package com.deepflow.settlementsystem.expense.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSystemReceiptBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void storesByHashInShardedDirectoryOnce() throws IOException {
+        FileSystemReceiptBlobStore store = new FileSystemReceiptBlobStore(root);
+        byte[] image = "hello".getBytes(StandardCharsets.UTF_8);
+
+        ReceiptBlobStore.StoredBlob first = store.store(new ByteArrayInputStream(image));
+        ReceiptBlobStore.StoredBlob second = store.store(new ByteArrayInputStream(image));
+
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824", first.hash());
+        assertEquals(5, first.size());
+        assertEquals(first, second);
+        Path path = root.resolve("2c").resolve("f2").resolve(first.hash());
+        assertArrayEquals(image, Files.readAllBytes(path));
+        try (Stream<Path> temps = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, temps.count());
+        }
+    }
+
+    @Test
+    void unknownOrMalformedHashIsEmpty() throws IOException {
+        FileSystemReceiptBlobStore store = new FileSystemReceiptBlobStore(root);
+
+        assertTrue(store.open("0".repeat(64)).isEmpty());
+        assertTrue(store.open("../../etc/passwd").isEmpty());
+        assertTrue(store.open(null).isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SettlementPlannerTest {
+
+    @Test
+    void netBalancesSumsBothDirections() {
+        // 0 -> 1 : 3000, 1 -> 0 : 1000, 2 -> 1 : 500
+        long[] balances = SettlementPlanner.netBalances(3,
+                new int[]{0, 1, 2}, new int[]{1, 0, 1}, new long[]{3000, 1000, 500});
+
+        assertArrayEquals(new long[]{-2000, 2500, -500}, balances);
+    }
+
+    @Test
+    void chainOfDebtsCollapsesToSingleTransfer() {
+        // 0 -> 1 -> 2 -> 3 (각 1000원) 는 0 -> 3 한 번이면 충분
+        long[] balances = SettlementPlanner.netBalances(4,
+                new int[]{0, 1, 2}, new int[]{1, 2, 3}, new long[]{1000, 1000, 1000});
+
+        SettlementPlanner.Plan plan = SettlementPlanner.plan(balances);
+
+        assertEquals(1, plan.size());
+        assertEquals(0, plan.from(0));
+        assertEquals(3, plan.to(0));
+        assertEquals(1000, plan.amount(0));
+    }
+
+    @Test
+    void emptyGroupHasNoTransfers() {
+        assertEquals(0, SettlementPlanner.plan(new long[0]).size());
+        assertEquals(0, SettlementPlanner.plan(new long[]{0, 0, 0}).size());
+    }
+
+    @Test
+    void randomPlansSettleEveryBalanceWithinBound() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int members = 2 + random.nextInt(50);
+            int allocations = random.nextInt(500);
+            int[] senders = new int[allocations];
+            int[] receivers = new int[allocations];
+            long[] amounts = new long[allocations];
+            for (int i = 0; i < allocations; i++) {
+                senders[i] = random.nextInt(members);
+                receivers[i] = random.nextInt(members);
+                amounts[i] = 1 + random.nextInt(100_000);
+            }
+            long[] balances = SettlementPlanner.netBalances(members, senders, receivers, amounts);
+
+            SettlementPlanner.Plan plan = SettlementPlanner.plan(balances);
+
+            long[] settled = balances.clone();
+            int nonZero = 0;
+            for (long balance : balances) {
+                if (balance != 0) {
+                    nonZero++;
+                }
+            }
+            for (int i = 0; i < plan.size(); i++) {
+                assertTrue(plan.amount(i) > 0);
+                settled[plan.from(i)] += plan.amount(i);
+                settled[plan.to(i)] -= plan.amount(i);
+            }
+            assertArrayEquals(new long[members], settled);
+            assertTrue(plan.size() <= Math.max(0, nonZero - 1));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.deepflow.settlementsystem.settlement.service;
+
+import com.deepflow.settlementsystem.auth.service.KakaoTokenService;
+import com.deepflow.settlementsystem.common.code.ErrorCode;
+import com.deepflow.settlementsystem.common.exception.CustomException;
+import com.deepflow.settlementsystem.expense.entity.ExpenseAllocation;
+import com.deepflow.settlementsystem.expense.entity.SettlementStatus;
+import com.deepflow.settlementsystem.expense.repository.ExpenseItemAllocationRepository;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationGroupAmount;
+import com.deepflow.settlementsystem.expense.repository.projection.AllocationPairAmount;
+import com.deepflow.settlementsystem.group.entity.Group;
+import com.deepflow.settlementsystem.settlement.event.SettlementStatusChangedEvent;
+import com.deepflow.settlementsystem.settlement.repository.SettlementMessageOutboxRepository;
+import com.deepflow.settlementsystem.user.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementServiceTest {
+
+    private static final Long RECEIVER_ID = 1L;
+    private static final Long SENDER_ID = 2L;
+
+    @Mock
+    private KakaoTokenService kakaoTokenService;
+    @Mock
+    private ObjectMapper objectMapper;
+    @Mock
+    private ExpenseItemAllocationRepository expenseAllocationRepository;
+    @Mock
+    private PairBalanceLedger pairBalanceLedger;
+    @Mock
+    private SettlementMessageOutboxRepository settlementMessageOutboxRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SettlementService settlementService;
+
+    private final User receiver = User.builder().id(RECEIVER_ID).kakaoPaySuffix("pay").build();
+    private final User sender = User.builder().id(SENDER_ID).build();
+    private final Group group = Group.builder().name("여행").build();
+
+    @Test
+    void settleUpFailsWhenRowsChangedBetweenReadAndUpdate() {
+        stubRequested(ref(20L, 100L, 3000L), ref(21L, 100L, 3000L), ref(22L, 101L, 3000L));
+        // 조회 이후 다른 요청이 1건을 먼저 완료 처리
+        when(expenseAllocationRepository.updateStatusByIds(
+                List.of(20L, 21L, 22L), SettlementStatus.REQUESTED, SettlementStatus.COMPLETED)).thenReturn(2);
+
+        CustomException e = assertThrows(CustomException.class,
+                () -> settlementService.settleUp(SENDER_ID, null, RECEIVER_ID));
+
+        assertEquals(ErrorCode.SETTLEMENT_CONFLICT, e.getErrorCode());
+        verify(pairBalanceLedger, never()).move(anyLong(), anyLong(), any(), any(), anyLong());
+    }
+
+    @Test
+    void settleUpMovesLedgerOnceByUpdatedRowsAndPublishesTheirIds() {
+        stubRequested(ref(20L, 100L, 3000L), ref(21L, 100L, 4000L), ref(22L, 101L, 2000L));
+        when(expenseAllocationRepository.updateStatusByIds(
+                List.of(20L, 21L, 22L), SettlementStatus.REQUESTED, SettlementStatus.COMPLETED)).thenReturn(3);
+
+        settlementService.settleUp(SENDER_ID, null, RECEIVER_ID);
+
+        verify(pairBalanceLedger).move(SENDER_ID, RECEIVER_ID, SettlementStatus.REQUESTED, SettlementStatus.COMPLETED, 9000L);
+        verifyNoMoreInteractions(pairBalanceLedger);
+        ArgumentCaptor<SettlementStatusChangedEvent> events = ArgumentCaptor.forClass(SettlementStatusChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(20L, 21L), events.getAllValues().get(0).allocationIds());
+        assertEquals(List.of(22L), events.getAllValues().get(1).allocationIds());
+    }
+
+    @Test
+    void completeSettlementDoesNotMoveLedgerWhenAlreadyCompletedConcurrently() {
+        ExpenseAllocation allocation = allocation(10L, 3000, SettlementStatus.REQUESTED);
+        when(expenseAllocationRepository.findByIdWithRelations(10L)).thenReturn(Optional.of(allocation));
+        // 조회 후 다른 요청(완료/일괄 정산)이 먼저 COMPLETED 로 바꿈
+        when(expenseAllocationRepository.updateStatusByIds(
+                List.of(10L), SettlementStatus.REQUESTED, SettlementStatus.COMPLETED)).thenReturn(0);
+
+        CustomException e = assertThrows(CustomException.class,
+                () -> settlementService.completeSettlement(10L, RECEIVER_ID));
+
+        assertEquals(ErrorCode.SETTLEMENT_CONFLICT, e.getErrorCode());
+        verify(pairBalanceLedger, never()).move(anyLong(), anyLong(), any(), any(), anyLong());
+    }
+
+    @Test
+    void settlementRequestFailsWhenAllocationWasSettledConcurrently() {
+        List<ExpenseAllocation> allocations = List.of(
+                allocation(10L, 3000, SettlementStatus.UNSETTLED),
+                allocation(11L, 2000, SettlementStatus.REQUESTED));
+        stubSettlementRequest(allocations);
+        when(expenseAllocationRepository.updateStatusByIds(
+                List.of(10L), SettlementStatus.UNSETTLED, SettlementStatus.REQUESTED)).thenReturn(1);
+        // 조회 후 11번이 COMPLETED 로 바뀌어 가드 조건에 걸리지 않음
+        when(expenseAllocationRepository.updateStatusByIds(
+                List.of(11L), SettlementStatus.REQUESTED, SettlementStatus.REQUESTED)).thenReturn(0);
+
+        CustomException e = assertThrows(CustomException.class,
+                () -> settlementService.sendSettlementMessage(SENDER_ID, null, RECEIVER_ID));
+
+        assertEquals(ErrorCode.SETTLEMENT_CONFLICT, e.getErrorCode());
+        verify(pairBalanceLedger, never()).moveAll(anyCollection(), any());
+    }
+
+    @Test
+    void settlementRequestFailsWhenUnsettledRowMovedToRequestedConcurrently() {
+        List<ExpenseAllocation> allocations = List.of(
+                allocation(10L, 3000, SettlementStatus.UNSETTLED),
+                allocation(11L, 2000, SettlementStatus.REQUESTED));
+        stubSettlementRequest(allocations);
+        // 조회 후 다른 요청이 10번을 REQUESTED 로 바꿈 -> UNSETTLED 기준 UPDATE 에 걸리지 않아야 함
+        when(expenseAllocationRepository.updateStatusByIds(
+                List.of(10L), SettlementStatus.UNSETTLED, SettlementStatus.REQUESTED)).thenReturn(0);
+
+        CustomException e = assertThrows(CustomException.class,
+                () -> settlementService.sendSettlementMessage(SENDER_ID, null, RECEIVER_ID));
+
+        assertEquals(ErrorCode.SETTLEMENT_CONFLICT, e.getErrorCode());
+        verify(pairBalanceLedger, never()).moveAll(anyCollection(), any());
+    }
+
+    @Test
+    void settlementRequestFailsWhenAmountChangedByExpenseEdit() {
+        List<ExpenseAllocation> allocations = List.of(allocation(10L, 3000, SettlementStatus.UNSETTLED));
+        stubSettlementRequest(allocations);
+        when(expenseAllocationRepository.updateStatusByIds(
+                List.of(10L), SettlementStatus.UNSETTLED, SettlementStatus.REQUESTED)).thenReturn(1);
+        // 조회 후 지출 수정으로 금액이 3500 으로 바뀜
+        stubPairAmount(List.of(10L), 3500L);
+
+        CustomException e = assertThrows(CustomException.class,
+                () -> settlementService.sendSettlementMessage(SENDER_ID, null, RECEIVER_ID));
+
+        assertEquals(ErrorCode.SETTLEMENT_CONFLICT, e.getErrorCode());
+        verify(pairBalanceLedger, never()).moveAll(anyCollection(), any());
+    }
+
+    @Test
+    void settlementRequestUpdatesEachReadStatusBeforeMovingLedger() {
+        ReflectionTestUtils.setField(group, "id", 100L);
+        List<ExpenseAllocation> allocations = List.of(
+                allocation(10L, 3000, SettlementStatus.UNSETTLED),
+                allocation(11L, 2000, SettlementStatus.REQUESTED));
+        stubSettlementRequest(allocations);
+        when(expenseAllocationRepository.updateStatusByIds(
+                List.of(10L), SettlementStatus.UNSETTLED, SettlementStatus.REQUESTED)).thenReturn(1);
+        when(expenseAllocationRepository.updateStatusByIds(
+                List.of(11L), SettlementStatus.REQUESTED, SettlementStatus.REQUESTED)).thenReturn(1);
+        stubPairAmount(List.of(10L, 11L), 5000L);
+
+        settlementService.sendSettlementMessage(SENDER_ID, null, RECEIVER_ID);
+
+        InOrder order = inOrder(expenseAllocationRepository, pairBalanceLedger);
+        order.verify(expenseAllocationRepository)
+                .updateStatusByIds(List.of(10L), SettlementStatus.UNSETTLED, SettlementStatus.REQUESTED);
+        order.verify(expenseAllocationRepository)
+                .updateStatusByIds(List.of(11L), SettlementStatus.REQUESTED, SettlementStatus.REQUESTED);
+        order.verify(pairBalanceLedger).moveAll(allocations, SettlementStatus.REQUESTED);
+    }
+
+    private void stubRequested(AllocationGroupAmount... requested) {
+        when(expenseAllocationRepository.findGroupAmountsByPairAndStatus(
+                SENDER_ID, RECEIVER_ID, SettlementStatus.REQUESTED, null)).thenReturn(List.of(requested));
+    }
+
+    private AllocationGroupAmount ref(Long allocationId, Long groupId, Long amount) {
+        AllocationGroupAmount ref = mock(AllocationGroupAmount.class);
+        when(ref.getAllocationId()).thenReturn(allocationId);
+        when(ref.getGroupId()).thenReturn(groupId);
+        when(ref.getAmount()).thenReturn(amount);
+        return ref;
+    }
+
+    private void stubPairAmount(List<Long> allocationIds, Long amount) {
+        AllocationPairAmount pairAmount = mock(AllocationPairAmount.class);
+        when(pairAmount.getSenderId()).thenReturn(SENDER_ID);
+        when(pairAmount.getReceiverId()).thenReturn(RECEIVER_ID);
+        when(pairAmount.getAmount()).thenReturn(amount);
+        when(expenseAllocationRepository.sumAmountByIdsGroupByPair(allocationIds)).thenReturn(List.of(pairAmount));
+    }
+
+    private void stubSettlementRequest(List<ExpenseAllocation> allocations) {
+        when(expenseAllocationRepository.findBySenderIdAndReceiverIdAndStatusIn(
+                SENDER_ID, RECEIVER_ID, List.of(SettlementStatus.UNSETTLED, SettlementStatus.REQUESTED)))
+                .thenReturn(allocations);
+        when(kakaoTokenService.getKakaoAccessToken(RECEIVER_ID)).thenReturn("token");
+        when(settlementMessageOutboxRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private ExpenseAllocation allocation(Long allocationId, int amount, SettlementStatus status) {
+        ExpenseAllocation allocation = new ExpenseAllocation();
+        allocation.setAllocationId(allocationId);
+        allocation.setGroup(group);
+        allocation.setSender(sender);
+        allocation.setReceiver(receiver);
+        allocation.setShareAmount(amount);
+        allocation.setStatus(status);
+        return allocation;
+    }
+}